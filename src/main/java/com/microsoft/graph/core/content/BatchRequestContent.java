@@ -1,6 +1,8 @@
 package com.microsoft.graph.core.content;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 import com.microsoft.graph.core.CoreConstants;
 import com.microsoft.graph.core.ErrorConstants;
@@ -12,6 +14,8 @@ import com.microsoft.kiota.RequestInformation;
 
 import okhttp3.*;
 import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
@@ -19,13 +23,17 @@ import jakarta.annotation.Nullable;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 /**
  * A class representing the content of a batch request.
  */
 public class BatchRequestContent {
-    private HashMap<String, BatchRequestStep> batchRequestSteps;
+    private LinkedHashMap<String, BatchRequestStep> batchRequestSteps;
+    private Supplier<String> requestIdGenerator = BatchRequestContent::generateRequestId;
     private RequestAdapter requestAdapter;
+    private boolean jsonBodyValidationEnabled = true;
     private final String maxStepsExceededMessage = String.format(Locale.US,ErrorConstants.Messages.MAXIMUM_VALUE_EXCEEDED, "Number of request steps", CoreConstants.BatchRequest.MAX_REQUESTS);
 
     /**
@@ -49,26 +57,86 @@ public class BatchRequestContent {
      * @param batchRequestSteps The list of BatchRequestSteps to add to the batch request.
      */
     public BatchRequestContent(@Nonnull RequestAdapter requestAdapter, @Nonnull List<BatchRequestStep> batchRequestSteps) {
-        this.requestAdapter = Objects.requireNonNull(requestAdapter, ErrorConstants.Messages.NULL_PARAMETER + "requestAdapter");
+        this(batchRequestSteps, Objects.requireNonNull(requestAdapter, ErrorConstants.Messages.NULL_PARAMETER + "requestAdapter"));
+    }
+    /**
+     * Creates a new BatchRequestContent object holding native requests only, for callers which sit below the request adapter such as interceptors.
+     * Steps can't be added from a RequestInformation without a request adapter.
+     * @param batchRequestSteps The list of BatchRequestSteps to add to the batch request.
+     */
+    public BatchRequestContent(@Nonnull List<BatchRequestStep> batchRequestSteps) {
+        this(batchRequestSteps, null);
+    }
+    private BatchRequestContent(@Nonnull List<BatchRequestStep> batchRequestSteps, @Nullable RequestAdapter requestAdapter) {
+        this.requestAdapter = requestAdapter;
 
         Objects.requireNonNull(batchRequestSteps, ErrorConstants.Messages.NULL_PARAMETER + "batchRequestSteps");
         if(batchRequestSteps.size() >= CoreConstants.BatchRequest.MAX_REQUESTS) {
             throw new IllegalArgumentException(maxStepsExceededMessage);
         }
 
-        this.batchRequestSteps = new HashMap<>();
+        this.batchRequestSteps = new LinkedHashMap<>();
         for (BatchRequestStep requestStep : batchRequestSteps) {
             addBatchRequestStep(requestStep);
         }
     }
     /**
-     * Gets the batch request steps.
+     * Gets a copy of the batch request steps, in the order they were added.
      * @return The batch request steps.
      */
     @Nonnull
     public Map<String, BatchRequestStep> getBatchRequestSteps() {
 
-        return new HashMap<>(batchRequestSteps);
+        return new LinkedHashMap<>(batchRequestSteps);
+    }
+    /**
+     * Gets a read-only view of the batch request steps, in the order they were added.
+     * The view reflects the steps added or removed afterwards without copying them.
+     * @return The batch request steps.
+     */
+    @Nonnull
+    public Map<String, BatchRequestStep> getBatchRequestStepsView() {
+        return Collections.unmodifiableMap(batchRequestSteps);
+    }
+    /**
+     * Gets the number of batch request steps.
+     * @return The number of batch request steps.
+     */
+    public int size() {
+        return batchRequestSteps.size();
+    }
+    /**
+     * Gets the generator of the ids of the requests added without a request id.
+     * @return The request id generator.
+     */
+    @Nonnull
+    public Supplier<String> getRequestIdGenerator() {
+        return requestIdGenerator;
+    }
+    /**
+     * Sets the generator of the ids of the requests added without a request id.
+     * The default generator builds random ids from {@link ThreadLocalRandom}, it doesn't draw from the entropy of a SecureRandom.
+     * The generated ids must be unique within the batch, and within the collection when the batch is part of a BatchRequestContentCollection.
+     * @param requestIdGenerator The request id generator.
+     */
+    public void setRequestIdGenerator(@Nonnull Supplier<String> requestIdGenerator) {
+        this.requestIdGenerator = Objects.requireNonNull(requestIdGenerator, ErrorConstants.Messages.NULL_PARAMETER + "requestIdGenerator");
+    }
+    /**
+     * Gets whether json request bodies are structurally checked before being copied into the batch request content.
+     * @return True if json request bodies are checked, false if they are copied as is.
+     */
+    public boolean isJsonBodyValidationEnabled() {
+        return jsonBodyValidationEnabled;
+    }
+    /**
+     * Sets whether json request bodies are structurally checked before being copied into the batch request content.
+     * When enabled, bodies which are a strict json object are copied as is, other bodies are parsed and re-serialized as a json object.
+     * When disabled, the bodies are trusted to be non empty json objects and copied straight from the request body without being buffered.
+     * @param jsonBodyValidationEnabled True to check json request bodies, false to copy them as is.
+     */
+    public void setJsonBodyValidationEnabled(boolean jsonBodyValidationEnabled) {
+        this.jsonBodyValidationEnabled = jsonBodyValidationEnabled;
     }
     /**
      * Adds a batch request step to the batch request.
@@ -98,7 +166,7 @@ public class BatchRequestContent {
         if(this.batchRequestSteps.size() >= CoreConstants.BatchRequest.MAX_REQUESTS) {
             throw new IllegalArgumentException(maxStepsExceededMessage);
         }
-        String requestId = java.util.UUID.randomUUID().toString();
+        String requestId = nextRequestId();
         BatchRequestStep requestStep = new BatchRequestStep(requestId, request);
         this.batchRequestSteps.put(requestId, requestStep);
         return requestId;
@@ -113,7 +181,10 @@ public class BatchRequestContent {
         if(this.batchRequestSteps.size() >= CoreConstants.BatchRequest.MAX_REQUESTS) {
             throw new IllegalArgumentException(maxStepsExceededMessage);
         }
-        String requestId = java.util.UUID.randomUUID().toString();
+        if(this.requestAdapter == null) {
+            throw new IllegalStateException("A request adapter is required to add a step from a RequestInformation");
+        }
+        String requestId = nextRequestId();
         final Request request = this.requestAdapter.convertToNativeRequest(requestInformation);
         BatchRequestStep requestStep = new BatchRequestStep(requestId, request);
         this.batchRequestSteps.put(requestId, requestStep);
@@ -146,7 +217,8 @@ public class BatchRequestContent {
      */
     @Nonnull
     public BatchRequestContent createNewBatchFromFailedRequests (@Nonnull Map<String, Integer> responseStatusCodes) {
-        BatchRequestContent request = new BatchRequestContent(this.requestAdapter, new ArrayList<>());
+        BatchRequestContent request = new BatchRequestContent(new ArrayList<>(), this.requestAdapter);
+        request.setRequestIdGenerator(this.requestIdGenerator);
         responseStatusCodes.forEach((key, value) -> {
             if(this.batchRequestSteps.containsKey(key) && !BatchResponseContent.isSuccessStatusCode(value)) {
                 request.addBatchRequestStep(this.batchRequestSteps.get(key).getRequest());
@@ -156,30 +228,117 @@ public class BatchRequestContent {
     }
     /**
      * Builds the json content of the batch request.
+     * The content is serialized lazily, one step at a time, as the returned stream is read.
      * @return The json content of the batch request as an InputStream.
      * @throws IOException if there was an error writing the batch request content.
      */
     @Nonnull
     public InputStream getBatchRequestContent() throws IOException {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        JsonWriter writer = new JsonWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        return new BatchRequestContentStream(new ArrayList<>(this.batchRequestSteps.values()));
+    }
+    /**
+     * Gets the batch request content as a RequestBody which streams each step straight to the sink while it is being sent.
+     * @return The json content of the batch request as a RequestBody.
+     */
+    @Nonnull
+    public RequestBody getBatchRequestBody() {
+        final List<BatchRequestStep> requestSteps = new ArrayList<>(this.batchRequestSteps.values());
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return MediaType.parse(CoreConstants.MimeTypeNames.APPLICATION_JSON);
+            }
+            @Override
+            public void writeTo(@Nonnull BufferedSink sink) throws IOException {
+                writeBatchRequestContent(requestSteps, sink);
+            }
+        };
+    }
+    /**
+     * Writes the json content of the batch request to the given sink.
+     * @param sink The sink to write the batch request content to.
+     * @throws IOException if there was an error writing the batch request content.
+     */
+    public void writeBatchRequestContent(@Nonnull BufferedSink sink) throws IOException {
+        Objects.requireNonNull(sink, ErrorConstants.Messages.NULL_PARAMETER + "sink");
+        writeBatchRequestContent(new ArrayList<>(this.batchRequestSteps.values()), sink);
+    }
+    private void writeBatchRequestContent(List<BatchRequestStep> requestSteps, BufferedSink sink) throws IOException {
+        JsonWriter writer = newJsonWriter(sink);
+        writeBatchRequestContentStart(writer);
+        for (BatchRequestStep requestStep : requestSteps) {
+            writeBatchRequestStep(requestStep, writer, sink);
+        }
+        writeBatchRequestContentEnd(writer);
+        writer.flush();
+    }
+    private static JsonWriter newJsonWriter(BufferedSink sink) {
+        return new JsonWriter(new OutputStreamWriter(sink.outputStream(), StandardCharsets.UTF_8));
+    }
+    private static void writeBatchRequestContentStart(JsonWriter writer) throws IOException {
         writer.beginObject();
         writer.name(CoreConstants.BatchRequest.REQUESTS);
         writer.beginArray();
-        for (BatchRequestStep requestStep : this.batchRequestSteps.values()) {
-            writeBatchRequestStep(requestStep, writer);
-        }
+    }
+    private static void writeBatchRequestContentEnd(JsonWriter writer) throws IOException {
         writer.endArray();
         writer.endObject();
-        writer.flush();
-        PipedInputStream in = new PipedInputStream();
-        try(final PipedOutputStream out = new PipedOutputStream(in)) {
-            outputStream.writeTo(out);
-            return in;
+    }
+    /**
+     * An InputStream which serializes the batch request content into a small buffer one step at a time as it is read.
+     */
+    private class BatchRequestContentStream extends InputStream {
+        private final Buffer buffer = new Buffer();
+        private final JsonWriter writer = newJsonWriter(buffer);
+        private final Iterator<BatchRequestStep> requestSteps;
+        private boolean started = false;
+        private boolean finished = false;
+
+        BatchRequestContentStream(List<BatchRequestStep> requestSteps) {
+            this.requestSteps = requestSteps.iterator();
+        }
+        @Override
+        public int read() throws IOException {
+            fill();
+            return buffer.exhausted() ? -1 : (buffer.readByte() & 0xff);
+        }
+        @Override
+        public int read(@Nonnull byte[] b, int off, int len) throws IOException {
+            if(off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            if(len == 0) {
+                return 0;
+            }
+            fill();
+            return buffer.read(b, off, len);
+        }
+        @Override
+        public int available() {
+            return (int) Math.min(buffer.size(), Integer.MAX_VALUE);
+        }
+        @Override
+        public void close() {
+            finished = true;
+            buffer.clear();
+        }
+        private void fill() throws IOException {
+            while(buffer.exhausted() && !finished) {
+                if(!started) {
+                    writeBatchRequestContentStart(writer);
+                    started = true;
+                } else if(requestSteps.hasNext()) {
+                    writeBatchRequestStep(requestSteps.next(), writer, buffer);
+                } else {
+                    writeBatchRequestContentEnd(writer);
+                    finished = true;
+                }
+                writer.flush();
+            }
         }
     }
     private static final String AUTHORIZATION_HEADER_KEY = "authorization";
-    private void writeBatchRequestStep(BatchRequestStep requestStep, JsonWriter writer) throws IOException {
+    private void writeBatchRequestStep(BatchRequestStep requestStep, JsonWriter writer, BufferedSink sink) throws IOException {
             Request request = requestStep.getRequest();
             writer.beginObject();
             writer.name(CoreConstants.BatchRequest.ID).value(requestStep.getRequestId());
@@ -200,13 +359,13 @@ public class BatchRequestContent {
             if(requestBody != null) {
                 String contentType = Objects.requireNonNull(requestBody.contentType()).toString();
                 headers = headers.newBuilder().add("Content-Type", contentType).build();
-                writer.name(CoreConstants.BatchRequest.BODY);
                 if(contentType.toLowerCase(Locale.US).contains(CoreConstants.MimeTypeNames.APPLICATION_JSON)){
-                    JsonObject bodyObject = getJsonRequestContent(requestBody);
-                    writer.jsonValue(bodyObject.toString());
-                } else {
+                    writeJsonRequestContent(requestBody, writer, sink);
+                } else if(contentType.toLowerCase(Locale.US).startsWith(TEXT_CONTENT_TYPE_PREFIX)) {
                     String rawBodyContent = getRawRequestContent(requestBody);
-                    writer.value(rawBodyContent);
+                    writer.name(CoreConstants.BatchRequest.BODY).value(rawBodyContent);
+                } else {
+                    writeBase64RequestContent(requestBody, writer, sink);
                 }
             }
             //Remove the header if it is some version of 'authorization'
@@ -222,24 +381,101 @@ public class BatchRequestContent {
             }
             writer.endObject();
     }
-    private JsonObject getJsonRequestContent(RequestBody requestBody) throws IOException {
+    private void writeJsonRequestContent(RequestBody requestBody, JsonWriter writer, BufferedSink sink) throws IOException {
+        if(!jsonBodyValidationEnabled && requestBody.contentLength() != 0) {
+            writeRawBodyName(writer, sink);
+            try {
+                requestBody.writeTo(sink);
+            } catch(IOException e) {
+                throw new IOException(ErrorConstants.Messages.UNABLE_TO_DESERIALIZE_CONTENT, e);
+            }
+            return;
+        }
+        Buffer buffer = new Buffer();
         try {
-            Buffer buffer = new Buffer();
             requestBody.writeTo(buffer);
-            return JsonParser.parseString(buffer.readUtf8()).getAsJsonObject();
         } catch(IOException e) {
             throw new IOException(ErrorConstants.Messages.UNABLE_TO_DESERIALIZE_CONTENT, e);
         }
+        if(isJsonObject(buffer)) {
+            writeRawBodyName(writer, sink);
+            sink.writeAll(buffer);
+        } else {
+            //Lenient json is normalized so the batch request content stays valid.
+            writer.name(CoreConstants.BatchRequest.BODY).jsonValue(JsonParser.parseString(buffer.readUtf8()).getAsJsonObject().toString());
+        }
+    }
+    private static boolean isJsonObject(Buffer buffer) {
+        try(JsonReader reader = new JsonReader(new InputStreamReader(buffer.peek().inputStream(), StandardCharsets.UTF_8))) {
+            if(reader.peek() != JsonToken.BEGIN_OBJECT) {
+                return false;
+            }
+            reader.skipValue();
+            return reader.peek() == JsonToken.END_DOCUMENT;
+        } catch(IOException | IllegalStateException e) {
+            return false;
+        }
     }
     private String getRawRequestContent(RequestBody requestBody) throws IOException {
         try{
             Buffer buffer = new Buffer();
             requestBody.writeTo(buffer);
-            return buffer.readUtf8();
+            MediaType contentType = requestBody.contentType();
+            return buffer.readString(contentType == null ? StandardCharsets.UTF_8 : contentType.charset(StandardCharsets.UTF_8));
         } catch(IOException e) {
             throw new IOException(ErrorConstants.Messages.UNABLE_TO_DESERIALIZE_CONTENT, e);
         }
     }
+    private static final String TEXT_CONTENT_TYPE_PREFIX = "text/";
+    private static void writeBase64RequestContent(RequestBody requestBody, JsonWriter writer, BufferedSink sink) throws IOException {
+        writeRawBodyName(writer, sink);
+        //Base64 never needs json escaping, the body is encoded straight into the sink as a json string.
+        sink.writeByte('"');
+        try(BufferedSink base64Sink = Okio.buffer(Okio.sink(Base64.getEncoder().wrap(new NonClosingOutputStream(sink.outputStream()))))) {
+            requestBody.writeTo(base64Sink);
+        } catch(IOException e) {
+            throw new IOException(ErrorConstants.Messages.UNABLE_TO_DESERIALIZE_CONTENT, e);
+        }
+        sink.writeByte('"');
+    }
+    /**
+     * Writes the name of the body member of a step straight to the sink, so its value can be written to the sink as well.
+     * The id of the step is always written before its body, so the writer keeps separating the following members.
+     */
+    private static void writeRawBodyName(JsonWriter writer, BufferedSink sink) throws IOException {
+        writer.flush();
+        sink.writeUtf8(",\"" + CoreConstants.BatchRequest.BODY + "\":");
+    }
+    /**
+     * An OutputStream which flushes instead of closing the stream it wraps, so closing the base64 encoder pads the body without closing the sink.
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+        @Override
+        public void write(@Nonnull byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+    private String nextRequestId() {
+        final String requestId = requestIdGenerator.get();
+        if(Compatibility.isBlank(requestId) || this.batchRequestSteps.containsKey(requestId)) {
+            throw new IllegalStateException("The request id generator returned an empty or duplicate request id: " + requestId);
+        }
+        return requestId;
+    }
+    private static String generateRequestId() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        //Random version 4 UUID, without the SecureRandom behind UUID.randomUUID
+        final long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        final long leastSigBits = (random.nextLong() & ~(0xC000L << 48)) | (0x8000L << 48);
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
     private boolean containsCorrespondingRequestId(List<String> dependsOn) {
         return dependsOn.stream().allMatch(id -> this.batchRequestSteps.containsKey(id));
     }
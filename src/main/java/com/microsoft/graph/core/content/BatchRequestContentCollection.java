@@ -8,7 +8,9 @@ import com.microsoft.kiota.RequestInformation;
 import okhttp3.Request;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * A collection of batch requests
@@ -19,6 +21,10 @@ public class BatchRequestContentCollection {
     private int batchRequestLimit;
     private BatchRequestContent currentBatchRequest;
     private boolean readOnly = false;
+    private boolean dependencyAwarePackingEnabled = false;
+    private Supplier<String> requestIdGenerator;
+    private final Set<String> requestIds = new HashSet<>();
+    private List<Set<Integer>> batchRequestPrerequisites = new ArrayList<>();
     /**
      * Creates a new batch request collection with the default maximum number of requests.
      * @param baseClient the base client to use for requests.
@@ -40,6 +46,7 @@ public class BatchRequestContentCollection {
         this.batchRequestLimit = batchRequestLimit;
         batchRequests = new ArrayList<>();
         currentBatchRequest = new BatchRequestContent(baseClient);
+        requestIdGenerator = currentBatchRequest.getRequestIdGenerator();
     }
     /**
      * Adds a request to the current BatchRequestContent object of the collection.
@@ -49,7 +56,9 @@ public class BatchRequestContentCollection {
     @Nonnull
     public String addBatchRequestStep(@Nonnull Request request) {
         setupCurrentRequest();
-        return currentBatchRequest.addBatchRequestStep(request);
+        final String requestId = currentBatchRequest.addBatchRequestStep(request);
+        requestIds.add(requestId);
+        return requestId;
     }
     /**
      * Adds a request to the current BatchRequestContent object of the collection.
@@ -59,7 +68,38 @@ public class BatchRequestContentCollection {
     @Nonnull
     public String addBatchRequestStep(@Nonnull RequestInformation requestInformation) {
         setupCurrentRequest();
-        return currentBatchRequest.addBatchRequestStep(requestInformation);
+        final String requestId = currentBatchRequest.addBatchRequestStep(requestInformation);
+        requestIds.add(requestId);
+        return requestId;
+    }
+    /**
+     * Adds a batch request step to the collection.
+     * Its dependsOn relations may point to steps added to any batch of the collection when dependency aware packing is enabled,
+     * otherwise they must point to steps of the current batch.
+     * @param requestStep the batch request step to add.
+     * @return true if the batch request step was added, false if it is null or if a step with the same id was already added.
+     */
+    public boolean addBatchRequestStep(@Nullable BatchRequestStep requestStep) {
+        setupCurrentRequest();
+        if(requestStep == null) {
+            return false;
+        }
+        if(requestIds.contains(requestStep.getRequestId())) {
+            return false;
+        }
+        if(!dependencyAwarePackingEnabled) {
+            return currentBatchRequest.addBatchRequestStep(requestStep) && requestIds.add(requestStep.getRequestId());
+        }
+        //The batches are planned again before execution, only the ids are checked here
+        if(!requestIds.containsAll(requestStep.getDependsOn())) {
+            throw new IllegalArgumentException(ErrorConstants.Messages.INVALID_DEPENDS_ON_REQUEST_ID);
+        }
+        BatchRequestStep addedStep = new BatchRequestStep(requestStep.getRequestId(), requestStep.getRequest());
+        if(!currentBatchRequest.addBatchRequestStep(addedStep)) {
+            return false;
+        }
+        addedStep.setDependsOn(requestStep.getDependsOn());
+        return requestIds.add(requestStep.getRequestId());
     }
     /**
      * removes a request from a BatchRequestContent object within the collection.
@@ -73,10 +113,18 @@ public class BatchRequestContentCollection {
             for (BatchRequestContent batchRequest : batchRequests) {
                 removed = batchRequest.removeBatchRequestStepWithId(requestId);
                 if(removed) {
-                    return true;
+                    break;
                 }
             }
         }
+        if(removed) {
+            requestIds.remove(requestId);
+            //Relations to the removed step may span batches
+            for (BatchRequestContent batchRequest : batchRequests) {
+                removeDependsOnId(batchRequest, requestId);
+            }
+            removeDependsOnId(currentBatchRequest, requestId);
+        }
         return removed;
     }
     /**
@@ -85,12 +133,108 @@ public class BatchRequestContentCollection {
      */
     @Nonnull
     public List<BatchRequestContent> getBatchRequestsForExecution() {
+        if(!readOnly && dependencyAwarePackingEnabled) {
+            List<BatchRequestStep> requestSteps = new ArrayList<>();
+            for (BatchRequestContent batchRequest : batchRequests) {
+                requestSteps.addAll(batchRequest.getBatchRequestStepsView().values());
+            }
+            requestSteps.addAll(currentBatchRequest.getBatchRequestStepsView().values());
+            batchRequests = new ArrayList<>();
+            final Map<String, Integer> batchIndexes = new HashMap<>();
+            for (List<BatchRequestStep> batch : BatchRequestStepPacker.pack(requestSteps, batchRequestLimit)) {
+                BatchRequestContent batchRequest = newBatchRequestContent();
+                for (BatchRequestStep requestStep : batch) {
+                    batchRequest.addBatchRequestStep(requestStep);
+                    batchIndexes.put(requestStep.getRequestId(), batchRequests.size());
+                }
+                batchRequests.add(batchRequest);
+            }
+            //The packer drops the dependsOn relations of split chains which point to a previous batch, they become ordering barriers
+            batchRequestPrerequisites = new ArrayList<>(batchRequests.size());
+            for (int i = 0; i < batchRequests.size(); i++) {
+                batchRequestPrerequisites.add(new TreeSet<>());
+            }
+            for (BatchRequestStep requestStep : requestSteps) {
+                final int batchIndex = batchIndexes.get(requestStep.getRequestId());
+                for (String id : requestStep.getDependsOn()) {
+                    final int prerequisiteIndex = batchIndexes.get(id);
+                    if(prerequisiteIndex != batchIndex) {
+                        batchRequestPrerequisites.get(batchIndex).add(prerequisiteIndex);
+                    }
+                }
+            }
+            currentBatchRequest = newBatchRequestContent();
+        }
         readOnly = true;
-        if(currentBatchRequest.getBatchRequestSteps().size() > 0) {
+        if(currentBatchRequest.size() > 0) {
             batchRequests.add(currentBatchRequest);
         }
         return new ArrayList<>(batchRequests);
     }
+    /**
+     * Gets the batches which must complete before a batch is posted.
+     * A batch only depends on other batches when dependency aware packing split a chain of dependent steps longer than the batch request limit,
+     * the dependsOn relations between the parts of the chain are then replaced by this ordering.
+     * @param batchIndex the index of the batch in the list returned by {@link #getBatchRequestsForExecution()}.
+     * @return the indexes of the batches, all lower than batchIndex, which must complete before the batch is posted.
+     */
+    @Nonnull
+    public Set<Integer> getBatchRequestPrerequisites(int batchIndex) {
+        if(batchIndex < 0 || batchIndex >= batchRequestPrerequisites.size()) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(batchRequestPrerequisites.get(batchIndex));
+    }
+    /**
+     * Gets the maximum number of requests batched together.
+     * @return the maximum number of requests batched together.
+     */
+    public int getBatchRequestLimit() {
+        return batchRequestLimit;
+    }
+    /**
+     * Gets whether the batches are planned from the dependsOn relations of the steps when the collection is executed.
+     * @return true if dependency aware packing is enabled, false if the steps are batched in the order they are added.
+     */
+    public boolean isDependencyAwarePackingEnabled() {
+        return dependencyAwarePackingEnabled;
+    }
+    /**
+     * Sets whether the batches are planned from the dependsOn relations of the steps when the collection is executed.
+     * When enabled, dependsOn relations may span the steps of the whole collection, and {@link BatchRequestStepPacker} keeps each chain
+     * of dependent steps in one batch while packing independent steps into as few batches as possible.
+     * Chains longer than the batch request limit are split over batches, {@link #getBatchRequestPrerequisites(int)} gives the batches each of them waits for.
+     * @param dependencyAwarePackingEnabled true to plan the batches from the dependsOn relations, false to batch the steps in the order they are added.
+     */
+    public void setDependencyAwarePackingEnabled(boolean dependencyAwarePackingEnabled) {
+        validateReadOnly();
+        this.dependencyAwarePackingEnabled = dependencyAwarePackingEnabled;
+    }
+    /**
+     * Gets the generator of the ids of the requests added without a request id.
+     * @return the request id generator.
+     */
+    @Nonnull
+    public Supplier<String> getRequestIdGenerator() {
+        return requestIdGenerator;
+    }
+    /**
+     * Sets the generator of the ids of the requests added without a request id, used by every batch of the collection.
+     * The generated ids must be unique within the whole collection.
+     * @param requestIdGenerator the request id generator.
+     */
+    public void setRequestIdGenerator(@Nonnull Supplier<String> requestIdGenerator) {
+        validateReadOnly();
+        this.requestIdGenerator = Objects.requireNonNull(requestIdGenerator, ErrorConstants.Messages.NULL_PARAMETER + "requestIdGenerator");
+        currentBatchRequest.setRequestIdGenerator(requestIdGenerator);
+    }
+    /**
+     * Gets the number of batch request steps of the collection.
+     * @return the number of batch request steps.
+     */
+    public int size() {
+        return requestIds.size();
+    }
     /**
      * Get all BatchRequestSteps from all BatchRequestContent objects within the collection.
      * @return HashMap of BatchRequestSteps from all BatchRequestContent objects within the collection.
@@ -100,7 +244,7 @@ public class BatchRequestContentCollection {
         if (!batchRequests.isEmpty()) {
             Map<String, BatchRequestStep> result = currentBatchRequest.getBatchRequestSteps();
             for (BatchRequestContent batchRequestContent : batchRequests) {
-                result.putAll(batchRequestContent.getBatchRequestSteps());
+                result.putAll(batchRequestContent.getBatchRequestStepsView());
             }
             return result;
         }
@@ -114,6 +258,7 @@ public class BatchRequestContentCollection {
     @Nonnull
     public BatchRequestContentCollection newBatchWithFailedRequests(@Nonnull Map<String, Integer> responseStatusCodes) {
         BatchRequestContentCollection newBatch = new BatchRequestContentCollection(this.baseClient, this.batchRequestLimit);
+        newBatch.setRequestIdGenerator(this.requestIdGenerator);
         Map<String, BatchRequestStep> steps = this.getBatchRequestSteps();
         responseStatusCodes.forEach((id, statusCode) -> {
             if(steps.containsKey(id) && !BatchResponseContent.isSuccessStatusCode(statusCode)) {
@@ -129,9 +274,21 @@ public class BatchRequestContentCollection {
     }
     private void setupCurrentRequest() {
         validateReadOnly();
-        if(currentBatchRequest.getBatchRequestSteps().size() >= batchRequestLimit) {
+        if(currentBatchRequest.size() >= batchRequestLimit) {
             batchRequests.add(currentBatchRequest);
-            currentBatchRequest = new BatchRequestContent(baseClient);
+            currentBatchRequest = newBatchRequestContent();
+        }
+    }
+    private BatchRequestContent newBatchRequestContent() {
+        BatchRequestContent batchRequest = new BatchRequestContent(baseClient);
+        batchRequest.setRequestIdGenerator(requestIdGenerator);
+        return batchRequest;
+    }
+    private static void removeDependsOnId(BatchRequestContent batchRequest, String requestId) {
+        for (BatchRequestStep requestStep : batchRequest.getBatchRequestStepsView().values()) {
+            if(requestStep.getDependsOn().contains(requestId)) {
+                requestStep.removeDependsOnId(requestId);
+            }
         }
     }
 }
@@ -0,0 +1,152 @@
+package com.microsoft.graph.core.content;
+
+import com.microsoft.graph.core.CoreConstants;
+import com.microsoft.graph.core.ErrorConstants;
+import com.microsoft.graph.core.models.BatchRequestStep;
+
+import jakarta.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * Plans the batches of a set of batch request steps, treating their dependsOn relations as a directed acyclic graph.
+ */
+public final class BatchRequestStepPacker {
+    private BatchRequestStepPacker() {
+        // Utility class
+    }
+    /**
+     * Packs batch request steps into as few batches as possible without splitting a chain of dependent steps.
+     * Each set of steps connected through dependsOn is kept in one batch and the sets are packed first fit decreasing.
+     * A set with more steps than the limit is split along a topological order, its dependsOn relations pointing to a previous batch are dropped
+     * and the batches are ordered so these batches are executed first. Such batches must only be posted once the batches they depended on completed,
+     * {@link BatchRequestContentCollection#getBatchRequestPrerequisites(int)} reports these barriers for the batches of a collection.
+     * The steps of each batch are ordered so that every step comes after the steps it depends on.
+     * @param requestSteps the batch request steps to pack.
+     * @param batchRequestLimit the maximum number of steps in a batch.
+     * @return the batch request steps of each batch, in execution order.
+     * @throws IllegalArgumentException if a step depends on an unknown step or if the dependsOn relations contain a cycle.
+     */
+    @Nonnull
+    public static List<List<BatchRequestStep>> pack(@Nonnull Collection<BatchRequestStep> requestSteps, int batchRequestLimit) {
+        Objects.requireNonNull(requestSteps, ErrorConstants.Messages.NULL_PARAMETER + "requestSteps");
+        if(batchRequestLimit < 1 || batchRequestLimit > CoreConstants.BatchRequest.MAX_REQUESTS) {
+            throw new IllegalArgumentException("batchRequestLimit must be between 1 and " + CoreConstants.BatchRequest.MAX_REQUESTS);
+        }
+        final List<BatchRequestStep> sortedSteps = sortTopologically(requestSteps);
+        final Map<String, Integer> positions = new HashMap<>();
+        for(int i = 0; i < sortedSteps.size(); i++) {
+            positions.put(sortedSteps.get(i).getRequestId(), i);
+        }
+        final List<List<BatchRequestStep>> components = getConnectedComponents(sortedSteps, positions);
+        final List<List<BatchRequestStep>> batches = new ArrayList<>();
+        final List<List<BatchRequestStep>> remainingComponents = new ArrayList<>();
+        for(List<BatchRequestStep> component : components) {
+            if(component.size() <= batchRequestLimit) {
+                remainingComponents.add(component);
+                continue;
+            }
+            final Set<String> previousBatchIds = new HashSet<>();
+            for(int start = 0; start < component.size(); start += batchRequestLimit) {
+                final List<BatchRequestStep> chunk = component.subList(start, Math.min(start + batchRequestLimit, component.size()));
+                final List<BatchRequestStep> batch = new ArrayList<>(chunk.size());
+                for(BatchRequestStep requestStep : chunk) {
+                    batch.add(withoutDependencies(requestStep, previousBatchIds));
+                }
+                for(BatchRequestStep requestStep : chunk) {
+                    previousBatchIds.add(requestStep.getRequestId());
+                }
+                batches.add(batch);
+            }
+        }
+        //First fit decreasing, the sort is stable so components of the same size keep their order
+        remainingComponents.sort((a, b) -> Integer.compare(b.size(), a.size()));
+        for(List<BatchRequestStep> component : remainingComponents) {
+            List<BatchRequestStep> target = null;
+            for(List<BatchRequestStep> batch : batches) {
+                if(batch.size() + component.size() <= batchRequestLimit) {
+                    target = batch;
+                    break;
+                }
+            }
+            if(target == null) {
+                target = new ArrayList<>(component.size());
+                batches.add(target);
+            }
+            target.addAll(component);
+        }
+        for(List<BatchRequestStep> batch : batches) {
+            batch.sort(Comparator.comparingInt(requestStep -> positions.get(requestStep.getRequestId())));
+        }
+        return batches;
+    }
+    private static List<BatchRequestStep> sortTopologically(Collection<BatchRequestStep> requestSteps) {
+        final Map<String, BatchRequestStep> stepsById = new LinkedHashMap<>();
+        for(BatchRequestStep requestStep : requestSteps) {
+            Objects.requireNonNull(requestStep, ErrorConstants.Messages.NULL_PARAMETER + "requestStep");
+            stepsById.put(requestStep.getRequestId(), requestStep);
+        }
+        final Map<String, Integer> pendingDependencies = new HashMap<>();
+        final Map<String, List<String>> dependents = new HashMap<>();
+        final Deque<String> ready = new ArrayDeque<>();
+        for(BatchRequestStep requestStep : stepsById.values()) {
+            final Set<String> dependsOn = new LinkedHashSet<>(requestStep.getDependsOn());
+            for(String id : dependsOn) {
+                if(!stepsById.containsKey(id)) {
+                    throw new IllegalArgumentException(ErrorConstants.Messages.INVALID_DEPENDS_ON_REQUEST_ID);
+                }
+                dependents.computeIfAbsent(id, k -> new ArrayList<>()).add(requestStep.getRequestId());
+            }
+            pendingDependencies.put(requestStep.getRequestId(), dependsOn.size());
+            if(dependsOn.isEmpty()) {
+                ready.add(requestStep.getRequestId());
+            }
+        }
+        final List<BatchRequestStep> sortedSteps = new ArrayList<>(stepsById.size());
+        while(!ready.isEmpty()) {
+            final String id = ready.poll();
+            sortedSteps.add(stepsById.get(id));
+            for(String dependent : dependents.getOrDefault(id, Collections.emptyList())) {
+                if(pendingDependencies.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if(sortedSteps.size() != stepsById.size()) {
+            throw new IllegalArgumentException("The dependsOn relations of the batch request steps contain a cycle.");
+        }
+        return sortedSteps;
+    }
+    private static List<List<BatchRequestStep>> getConnectedComponents(List<BatchRequestStep> sortedSteps, Map<String, Integer> positions) {
+        final int[] parents = new int[sortedSteps.size()];
+        for(int i = 0; i < parents.length; i++) {
+            parents[i] = i;
+        }
+        for(int i = 0; i < sortedSteps.size(); i++) {
+            for(String id : sortedSteps.get(i).getDependsOn()) {
+                final int root = findRoot(parents, positions.get(id));
+                final int otherRoot = findRoot(parents, i);
+                parents[Math.max(root, otherRoot)] = Math.min(root, otherRoot);
+            }
+        }
+        //Components are listed by their first step and keep the topological order of their steps
+        final Map<Integer, List<BatchRequestStep>> components = new LinkedHashMap<>();
+        for(int i = 0; i < sortedSteps.size(); i++) {
+            components.computeIfAbsent(findRoot(parents, i), k -> new ArrayList<>()).add(sortedSteps.get(i));
+        }
+        return new ArrayList<>(components.values());
+    }
+    private static int findRoot(int[] parents, int index) {
+        while(parents[index] != index) {
+            parents[index] = parents[parents[index]];
+            index = parents[index];
+        }
+        return index;
+    }
+    private static BatchRequestStep withoutDependencies(BatchRequestStep requestStep, Set<String> ids) {
+        final List<String> dependsOn = requestStep.getDependsOn();
+        if(!dependsOn.removeAll(ids)) {
+            return requestStep;
+        }
+        return new BatchRequestStep(requestStep.getRequestId(), requestStep.getRequest(), dependsOn);
+    }
+}
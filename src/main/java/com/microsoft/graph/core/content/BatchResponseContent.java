@@ -1,13 +1,21 @@
 package com.microsoft.graph.core.content;
 
-import com.google.gson.*;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 import com.microsoft.graph.core.CoreConstants;
 import com.microsoft.graph.core.ErrorConstants;
 import com.microsoft.graph.core.requests.ResponseBodyHandler;
 import com.microsoft.kiota.ResponseHandler;
+import com.microsoft.kiota.serialization.JsonParseNode;
+import com.microsoft.kiota.serialization.ParseNode;
 import com.microsoft.kiota.serialization.Parsable;
 import com.microsoft.kiota.serialization.ParsableFactory;
 import okhttp3.*;
+import okio.Buffer;
 
 
 import jakarta.annotation.Nonnull;
@@ -19,10 +27,15 @@ import java.util.*;
 
 /**
  * A class representing the content of a batch request response.
+ * The batch response is parsed in a single streaming pass into an index of the step responses by id.
+ * The body of each step response is only materialized when it is requested.
  */
 public class BatchResponseContent {
     private Response batchResponse;
-    private JsonObject jsonBatchResponseObject;
+    private Map<String, IndexedResponse> indexedResponses;
+    private Map<String, Integer> statusCodes;
+    private String nextLink;
+    private Buffer responseBodies;
     private HashMap<String, ParsableFactory<? extends Parsable>> apiErrorMappings;
     private Protocol batchResponseProtocol;
     private Request batchResponseRequest;
@@ -51,34 +64,42 @@ public class BatchResponseContent {
     @Nonnull
     public Map<String, Response> getResponses() {
         HashMap<String, Response> responses = new HashMap<>();
-        jsonBatchResponseObject = jsonBatchResponseObject != null ? jsonBatchResponseObject : getBatchResponseContent();
-        if (jsonBatchResponseObject != null) {
-            JsonElement responsesElement = jsonBatchResponseObject.get(CoreConstants.BatchRequest.RESPONSES);
-            if (responsesElement != null && responsesElement.isJsonArray()) { //ensure "responses" is not null and is an array.
-                JsonArray responsesArray = responsesElement.getAsJsonArray();
-                for (JsonElement responseElement : responsesArray) {
-                    responses.put(responseElement.getAsJsonObject().get("id").getAsString(), getResponseFromJsonObject(responseElement));
-                }
-            }
+        for (IndexedResponse indexedResponse : getIndexedResponses().values()) {
+            responses.put(indexedResponse.id, getResponseFromIndex(indexedResponse));
         }
         return responses;
     }
+    /**
+     * Gets the result of each step of the batch response, in the order of the batch response.
+     * @return The results of the steps of the batch response.
+     */
+    @Nonnull
+    public List<BatchResponseStep> getResponseSteps() {
+        ArrayList<BatchResponseStep> responseSteps = new ArrayList<>();
+        for (IndexedResponse indexedResponse : getIndexedResponses().values()) {
+            responseSteps.add(new BatchResponseStep(this, indexedResponse.id, getStatusCodeFromIndex(indexedResponse)));
+        }
+        return responseSteps;
+    }
     /**
      * Gets the status codes of the responses of the batch request.
      * @return The status codes of the responses of the batch request.
      */
     @Nonnull
     public Map<String, Integer> getResponsesStatusCode() {
-        HashMap<String, Integer> statusCodes = new HashMap<>();
-        jsonBatchResponseObject = jsonBatchResponseObject != null ? jsonBatchResponseObject : getBatchResponseContent();
-        if (jsonBatchResponseObject != null) {
-            JsonElement responsesElement = jsonBatchResponseObject.get(CoreConstants.BatchRequest.RESPONSES);
-            if (responsesElement != null && responsesElement.isJsonArray()) { //ensure "responses" is not null and is an array.
-                JsonArray responsesArray = responsesElement.getAsJsonArray();
-                for (JsonElement responseElement : responsesArray) {
-                    statusCodes.put(responseElement.getAsJsonObject().get("id").getAsString(), getStatusCodeFromJsonObject(responseElement));
-                }
+        return new HashMap<>(getCachedResponsesStatusCode());
+    }
+    /**
+     * Gets the status codes of the responses, computed once from the index.
+     * @return The read only status codes of the responses of the batch request.
+     */
+    synchronized Map<String, Integer> getCachedResponsesStatusCode() {
+        if(statusCodes == null) {
+            HashMap<String, Integer> responsesStatusCodes = new HashMap<>();
+            for (IndexedResponse indexedResponse : getIndexedResponses().values()) {
+                responsesStatusCodes.put(indexedResponse.id, getStatusCodeFromIndex(indexedResponse));
             }
+            statusCodes = Collections.unmodifiableMap(responsesStatusCodes);
         }
         return statusCodes;
     }
@@ -91,17 +112,9 @@ public class BatchResponseContent {
     public Response getResponseById(@Nonnull String requestId) {
         Objects.requireNonNull(requestId);
         if(!requestId.isEmpty()) {
-            jsonBatchResponseObject = jsonBatchResponseObject != null ? jsonBatchResponseObject : getBatchResponseContent();
-            if (jsonBatchResponseObject != null) {
-                JsonElement responsesElement = jsonBatchResponseObject.get(CoreConstants.BatchRequest.RESPONSES);
-                if (responsesElement != null && responsesElement.isJsonArray()) { //ensure "responses" is not null and is an array.
-                    JsonArray responsesArray = responsesElement.getAsJsonArray();
-                    for (JsonElement responseElement : responsesArray) {
-                        if (responseElement.getAsJsonObject().get("id").getAsString().equals(requestId)) {
-                            return getResponseFromJsonObject(responseElement);
-                        }
-                    }
-                }
+            IndexedResponse indexedResponse = getIndexedResponses().get(requestId);
+            if(indexedResponse != null) {
+                return getResponseFromIndex(indexedResponse);
             }
         }
         return null;
@@ -130,8 +143,50 @@ public class BatchResponseContent {
      */
     @Nullable
     public <T extends Parsable> T getResponseById(@Nonnull String requestId, @Nonnull ParsableFactory<T> factory) {
+        Objects.requireNonNull(requestId);
+        Objects.requireNonNull(factory, ErrorConstants.Messages.NULL_PARAMETER + "factory");
+        IndexedResponse indexedResponse = getIndexedResponses().get(requestId);
+        if(indexedResponse != null && isDirectlyParsable(indexedResponse)) {
+            return getParseNodeFromIndex(indexedResponse).getObjectValue(factory);
+        }
+        //Failed and non json responses go through the response handler for its error mappings and content types
         return this.getResponseById(requestId, new ResponseBodyHandler<>(factory));
     }
+    /**
+     * Gets the bodies of all the successful json responses of the batch response, deserialized in a single pass over the index.
+     * Each body is parsed straight from the batch response content into a json parse node, without building a response for it.
+     * Failed responses and responses without a json body are left out, their status codes are available from {@link #getResponsesStatusCode()}.
+     * @param factory The factory to use when deserializing the response bodies.
+     * @return The deserialized response bodies by request id.
+     * @param <T> The type of the response bodies.
+     */
+    @Nonnull
+    public <T extends Parsable> Map<String, T> getResponsesById(@Nonnull ParsableFactory<T> factory) {
+        Objects.requireNonNull(factory, ErrorConstants.Messages.NULL_PARAMETER + "factory");
+        HashMap<String, T> responses = new HashMap<>();
+        for (IndexedResponse indexedResponse : getIndexedResponses().values()) {
+            if(isDirectlyParsable(indexedResponse)) {
+                responses.put(indexedResponse.id, getParseNodeFromIndex(indexedResponse).getObjectValue(factory));
+            }
+        }
+        return responses;
+    }
+    private static boolean isDirectlyParsable(IndexedResponse indexedResponse) {
+        return indexedResponse.bodyOffset >= 0
+            && !indexedResponse.stringBody
+            && indexedResponse.status != null
+            && isSuccessStatusCode(indexedResponse.status)
+            && (indexedResponse.contentType == null || indexedResponse.contentType.toLowerCase(Locale.US).contains(CoreConstants.MimeTypeNames.APPLICATION_JSON));
+    }
+    private ParseNode getParseNodeFromIndex(IndexedResponse indexedResponse) {
+        Buffer body = new Buffer();
+        responseBodies.copyTo(body, indexedResponse.bodyOffset, indexedResponse.bodyLength);
+        try(Reader reader = new InputStreamReader(body.inputStream(), StandardCharsets.UTF_8)) {
+            return new JsonParseNode(JsonParser.parseReader(reader));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
     /**
      * Gets the response within the batch response via specified id.
      * @param requestId The id of the request.
@@ -152,68 +207,216 @@ public class BatchResponseContent {
      */
     @Nullable
     public String getNextLink() {
-        jsonBatchResponseObject = jsonBatchResponseObject != null ? jsonBatchResponseObject : getBatchResponseContent();
-        if(jsonBatchResponseObject != null) {
-            JsonElement nextLinkElement = jsonBatchResponseObject.get(CoreConstants.Serialization.ODATA_NEXT_LINK);
-            if (nextLinkElement != null && nextLinkElement.isJsonPrimitive()) {
-                return nextLinkElement.getAsString();
-            }
+        getIndexedResponses();
+        return nextLink;
+    }
+    private synchronized Map<String, IndexedResponse> getIndexedResponses() {
+        if(indexedResponses == null) {
+            indexedResponses = new LinkedHashMap<>();
+            responseBodies = new Buffer();
+            indexBatchResponseContent();
         }
-        return null;
+        return indexedResponses;
     }
-    private JsonObject getBatchResponseContent() {
-        if (this.batchResponse.body() != null && this.batchResponse.body().contentType() != null) {
-            InputStream in = this.batchResponse.body().byteStream();
-            try(InputStreamReader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
-                return JsonParser.parseReader(reader).getAsJsonObject();
+    private void indexBatchResponseContent() {
+        ResponseBody body = this.batchResponse.body();
+        if (body != null && body.contentType() != null) {
+            try(JsonReader reader = new JsonReader(new InputStreamReader(body.byteStream(), StandardCharsets.UTF_8))) {
+                reader.setLenient(true);
+                if(reader.peek() != JsonToken.BEGIN_OBJECT) {
+                    throw new IllegalStateException("Not a JSON Object: " + reader.peek());
+                }
+                reader.beginObject();
+                while(reader.hasNext()) {
+                    String name = reader.nextName();
+                    if(CoreConstants.BatchRequest.RESPONSES.equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                        reader.beginArray();
+                        while(reader.hasNext()) {
+                            IndexedResponse indexedResponse = indexResponse(reader);
+                            if(indexedResponse.id != null && !indexedResponses.containsKey(indexedResponse.id)) {
+                                indexedResponses.put(indexedResponse.id, indexedResponse);
+                            }
+                        }
+                        reader.endArray();
+                    } else if(CoreConstants.Serialization.ODATA_NEXT_LINK.equals(name) && reader.peek() == JsonToken.STRING) {
+                        nextLink = reader.nextString();
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+            } catch (MalformedJsonException e) {
+                throw new JsonSyntaxException(e);
             } catch (IOException e) {
-                return null;
+                indexedResponses.clear();
             }
         }
-        return null;
     }
-    private Response getResponseFromJsonObject(JsonElement responseElement) {
-        Response.Builder response = new Response.Builder();
-        JsonObject responseObject = responseElement.getAsJsonObject();
-        String message = null;
-        if(responseObject.has(CoreConstants.BatchRequest.STATUS)) {
-            response.code(responseObject.get("status").getAsInt());
-        }
-        String contentType = null;
-        if(responseObject.has(CoreConstants.BatchRequest.HEADERS)) {
-            JsonObject headers = responseObject.get(CoreConstants.BatchRequest.HEADERS).getAsJsonObject();
-            for(Map.Entry<String, JsonElement> header : headers.entrySet()) {
-                String key = header.getKey();
-                String value = header.getValue().getAsString();
-                if(key.equalsIgnoreCase("Content-Type")) {
-                    contentType = value;
-                }
-                response.addHeader(key, value);
+    private IndexedResponse indexResponse(JsonReader reader) throws IOException {
+        IndexedResponse indexedResponse = new IndexedResponse();
+        reader.beginObject();
+        while(reader.hasNext()) {
+            String name = reader.nextName();
+            if(reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+            } else if(CoreConstants.BatchRequest.ID.equals(name)) {
+                indexedResponse.id = reader.nextString();
+            } else if(CoreConstants.BatchRequest.STATUS.equals(name)) {
+                indexedResponse.status = reader.nextInt();
+            } else if(CoreConstants.BatchRequest.HEADERS.equals(name)) {
+                indexHeaders(reader, indexedResponse);
+            } else if(CoreConstants.BatchRequest.BODY.equals(name)) {
+                indexBody(reader, indexedResponse);
+            } else {
+                reader.skipValue();
             }
         }
-        if(responseObject.has(CoreConstants.BatchRequest.BODY)) {
-            String body = responseObject.get(CoreConstants.BatchRequest.BODY).toString();
-            if(responseObject.get("body").isJsonObject()) {
-                JsonObject bodyObject = responseObject.get("body").getAsJsonObject();
-                if(bodyObject.has(CoreConstants.BatchRequest.ERROR)) {
-                    JsonObject errorObject = bodyObject.get(CoreConstants.BatchRequest.ERROR).getAsJsonObject();
-                    message = errorObject.get("message").getAsString();
-                }
+        reader.endObject();
+        return indexedResponse;
+    }
+    private static void indexHeaders(JsonReader reader, IndexedResponse indexedResponse) throws IOException {
+        reader.beginObject();
+        while(reader.hasNext()) {
+            String key = reader.nextName();
+            String value;
+            if(reader.peek() == JsonToken.BOOLEAN) {
+                value = String.valueOf(reader.nextBoolean());
+            } else {
+                value = reader.nextString();
             }
-            ResponseBody responseBody = ResponseBody.create(body, MediaType.parse(contentType != null ? contentType : CoreConstants.MimeTypeNames.APPLICATION_JSON));
-            response.body(responseBody);
-            responseBody.close();
+            if(key.equalsIgnoreCase("Content-Type")) {
+                indexedResponse.contentType = value;
+            }
+            indexedResponse.headers.add(key);
+            indexedResponse.headers.add(value);
+        }
+        reader.endObject();
+    }
+    private void indexBody(JsonReader reader, IndexedResponse indexedResponse) throws IOException {
+        if(reader.peek() == JsonToken.STRING) {
+            //Text and base64 encoded binary bodies are kept unquoted, they are decoded once their content type is known.
+            indexedResponse.stringBody = true;
+            indexedResponse.bodyOffset = responseBodies.size();
+            responseBodies.writeUtf8(reader.nextString());
+            indexedResponse.bodyLength = responseBodies.size() - indexedResponse.bodyOffset;
+            return;
+        }
+        //Each body is copied in its compact json form, the index only keeps its byte range.
+        OutputStreamWriter out = new OutputStreamWriter(responseBodies.outputStream(), StandardCharsets.UTF_8);
+        JsonWriter writer = new JsonWriter(out);
+        writer.setLenient(true);
+        indexedResponse.bodyOffset = responseBodies.size();
+        copyBodyValue(reader, writer, indexedResponse, BODY_ROOT);
+        writer.flush();
+        indexedResponse.bodyLength = responseBodies.size() - indexedResponse.bodyOffset;
+    }
+    private static final int BODY_ROOT = 0;
+    private static final int BODY_ERROR = 1;
+    private static final int BODY_OTHER = 2;
+    private static void copyBodyValue(JsonReader reader, JsonWriter writer, IndexedResponse indexedResponse, int location) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                reader.beginObject();
+                writer.beginObject();
+                while(reader.hasNext()) {
+                    String name = reader.nextName();
+                    writer.name(name);
+                    if(location == BODY_ERROR && "message".equals(name) && reader.peek() == JsonToken.STRING) {
+                        indexedResponse.message = reader.nextString();
+                        writer.value(indexedResponse.message);
+                    } else {
+                        boolean isError = location == BODY_ROOT && CoreConstants.BatchRequest.ERROR.equals(name);
+                        copyBodyValue(reader, writer, indexedResponse, isError ? BODY_ERROR : BODY_OTHER);
+                    }
+                }
+                reader.endObject();
+                writer.endObject();
+                break;
+            case BEGIN_ARRAY:
+                reader.beginArray();
+                writer.beginArray();
+                while(reader.hasNext()) {
+                    copyBodyValue(reader, writer, indexedResponse, BODY_OTHER);
+                }
+                reader.endArray();
+                writer.endArray();
+                break;
+            case STRING:
+                writer.value(reader.nextString());
+                break;
+            case NUMBER:
+                writer.jsonValue(reader.nextString());
+                break;
+            case BOOLEAN:
+                writer.value(reader.nextBoolean());
+                break;
+            case NULL:
+                reader.nextNull();
+                writer.nullValue();
+                break;
+            default:
+                throw new IllegalStateException("Unexpected token in response body: " + reader.peek());
+        }
+    }
+    private Response getResponseFromIndex(IndexedResponse indexedResponse) {
+        Response.Builder response = new Response.Builder();
+        if(indexedResponse.status != null) {
+            response.code(indexedResponse.status);
+        }
+        for(int i = 0; i < indexedResponse.headers.size(); i += 2) {
+            response.addHeader(indexedResponse.headers.get(i), indexedResponse.headers.get(i + 1));
+        }
+        if(indexedResponse.bodyOffset >= 0) {
+            Buffer body = getBodyFromIndex(indexedResponse);
+            String contentType = indexedResponse.contentType;
+            response.body(ResponseBody.create(body, MediaType.parse(contentType != null ? contentType : CoreConstants.MimeTypeNames.APPLICATION_JSON), body.size()));
         }
         response.protocol(this.batchResponseProtocol);
-        response.message(message == null ? "See status code for details" : message);
+        response.message(indexedResponse.message == null ? "See status code for details" : indexedResponse.message);
         response.request(this.batchResponseRequest);
         return response.build();
     }
-
-    private int getStatusCodeFromJsonObject(JsonElement responseElement) {
-        JsonObject responseObject = responseElement.getAsJsonObject();
-        if(responseObject.has(CoreConstants.BatchRequest.STATUS)) {
-            return responseObject.get(CoreConstants.BatchRequest.STATUS).getAsInt();
+    private Buffer getBodyFromIndex(IndexedResponse indexedResponse) {
+        Buffer body = new Buffer();
+        responseBodies.copyTo(body, indexedResponse.bodyOffset, indexedResponse.bodyLength);
+        if(!indexedResponse.stringBody) {
+            return body;
+        }
+        String contentType = indexedResponse.contentType == null ? "" : indexedResponse.contentType.toLowerCase(Locale.US);
+        if(contentType.isEmpty() || contentType.contains(CoreConstants.MimeTypeNames.APPLICATION_JSON)) {
+            //A json string body keeps its json form
+            Buffer jsonBody = new Buffer();
+            try(JsonWriter writer = new JsonWriter(new OutputStreamWriter(jsonBody.outputStream(), StandardCharsets.UTF_8))) {
+                writer.value(body.readUtf8());
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return jsonBody;
+        }
+        if(!isBinaryContentType(contentType)) {
+            return body;
+        }
+        //Binary bodies are base64 encoded, they are decoded straight into the buffer.
+        Buffer decodedBody = new Buffer();
+        try(InputStream in = Base64.getDecoder().wrap(body.inputStream())) {
+            decodedBody.readFrom(in);
+            return decodedBody;
+        } catch(IOException | IllegalArgumentException e) {
+            throw new UncheckedIOException(new IOException(ErrorConstants.Messages.UNABLE_TO_DESERIALIZE_CONTENT + " The " + contentType + " body of response " + indexedResponse.id + " is not valid base64.", e));
+        }
+    }
+    private static boolean isBinaryContentType(String contentType) {
+        for (String binaryContentTypePrefix : BINARY_CONTENT_TYPE_PREFIXES) {
+            if(contentType.startsWith(binaryContentTypePrefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    private static final String[] BINARY_CONTENT_TYPE_PREFIXES = {"image/", "audio/", "video/", "font/", CoreConstants.MimeTypeNames.APPLICATION_STREAM, "application/pdf", "application/zip"};
+    private int getStatusCodeFromIndex(IndexedResponse indexedResponse) {
+        if(indexedResponse.status != null) {
+            return indexedResponse.status;
         } else {
             throw new IllegalArgumentException("Response object does not contain status code");
         }
@@ -226,4 +429,17 @@ public class BatchResponseContent {
     public static boolean isSuccessStatusCode(int statusCode) {
         return (statusCode >= 200 && statusCode < 300);
     }
+    /**
+     * The indexed information of a single response within the batch response.
+     */
+    private static class IndexedResponse {
+        private String id;
+        private Integer status;
+        private final ArrayList<String> headers = new ArrayList<>();
+        private String contentType;
+        private String message;
+        private long bodyOffset = -1;
+        private long bodyLength;
+        private boolean stringBody;
+    }
 }
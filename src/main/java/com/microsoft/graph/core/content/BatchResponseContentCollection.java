@@ -16,12 +16,17 @@ import java.util.*;
 public class BatchResponseContentCollection {
 
     private List<KeyedBatchResponseContent> batchResponses;
+    private HashMap<String, KeyedBatchResponseContent> batchResponsesById;
+    private HashMap<String, Integer> statusCodes;
+    private int statusCodesBatchCount;
 
     /**
      * Instantiates a new Batch response content collection.
      */
     public BatchResponseContentCollection() {
         batchResponses = new ArrayList<>();
+        batchResponsesById = new HashMap<>();
+        statusCodes = new HashMap<>();
     }
     /**
      * Add BatchResponseContent object to the collection.
@@ -29,7 +34,12 @@ public class BatchResponseContentCollection {
      * @param content the BatchResponseContent object to add to the collection.
      */
     public void addBatchResponse(@Nonnull Collection<String> keys, @Nonnull BatchResponseContent content) {
-        batchResponses.add(new KeyedBatchResponseContent(new HashSet<>(keys), content));
+        KeyedBatchResponseContent keyedResponse = new KeyedBatchResponseContent(new HashSet<>(keys), content);
+        batchResponses.add(keyedResponse);
+        //The first batch holding a request id answers for it
+        for(String key : keyedResponse.keys) {
+            batchResponsesById.putIfAbsent(key, keyedResponse);
+        }
     }
     /**
      * Gets the BatchResponseContent object containing the response for the request with the given id.
@@ -38,12 +48,8 @@ public class BatchResponseContentCollection {
      */
     private BatchResponseContent getBatchResponseContaining(@Nonnull String requestId) {
         Objects.requireNonNull(requestId);
-        for(KeyedBatchResponseContent keyedResponse : batchResponses) {
-            if(keyedResponse.keys.contains(requestId)) {
-                return keyedResponse.response;
-            }
-        }
-        return null;
+        KeyedBatchResponseContent keyedResponse = batchResponsesById.get(requestId);
+        return keyedResponse == null ? null : keyedResponse.response;
     }
     /**
      * Gets the response for the request with the given id.
@@ -82,6 +88,25 @@ public class BatchResponseContentCollection {
         BatchResponseContent response = getBatchResponseContaining(requestId);
         return response == null ? null : response.getResponseById(requestId, factory);
     }
+    /**
+     * Gets the bodies of all the successful json responses of the collection, deserialized in a single pass over each batch response.
+     * Failed responses and responses without a json body are left out, their status codes are available from {@link #getResponsesStatusCodes()}.
+     * @param factory the factory to use when deserializing the responses.
+     * @return the deserialized responses by request id.
+     * @param <T> the type of the responses.
+     */
+    @Nonnull
+    public <T extends Parsable> Map<String, T> getResponsesById(@Nonnull ParsableFactory<T> factory) {
+        HashMap<String, T> responses = new HashMap<>();
+        for(KeyedBatchResponseContent keyedResponse : batchResponses) {
+            for(Map.Entry<String, T> response : keyedResponse.response.getResponsesById(factory).entrySet()) {
+                if(batchResponsesById.get(response.getKey()) == keyedResponse) {
+                    responses.put(response.getKey(), response.getValue());
+                }
+            }
+        }
+        return responses;
+    }
     /**
      * Gets the response for the request with the given id as a stream.
      * @param requestId the id of the request to get the response for.
@@ -98,11 +123,10 @@ public class BatchResponseContentCollection {
      */
     @Nonnull
     public Map<String, Integer> getResponsesStatusCodes() {
-        HashMap<String, Integer> statusCodes = new HashMap<>();
-        for(KeyedBatchResponseContent keyedResponse : batchResponses) {
-            Map<String, Integer> responseStatusCodes = keyedResponse.response.getResponsesStatusCode();
-            statusCodes.putAll(responseStatusCodes);
+        //Only the batches added since the last call are walked, their status codes are cached by each response
+        for(; statusCodesBatchCount < batchResponses.size(); statusCodesBatchCount++) {
+            statusCodes.putAll(batchResponses.get(statusCodesBatchCount).response.getCachedResponsesStatusCode());
         }
-        return statusCodes;
+        return new HashMap<>(statusCodes);
     }
 }
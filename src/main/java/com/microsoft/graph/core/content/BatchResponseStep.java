@@ -0,0 +1,74 @@
+package com.microsoft.graph.core.content;
+
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParsableFactory;
+import okhttp3.Response;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * The result of a single step of a batch response.
+ * The body of the step is only materialized or deserialized when it is requested.
+ */
+public class BatchResponseStep {
+    private final BatchResponseContent batchResponseContent;
+    private final String requestId;
+    private final int statusCode;
+
+    BatchResponseStep(@Nonnull BatchResponseContent batchResponseContent, @Nonnull String requestId, int statusCode) {
+        this.batchResponseContent = Objects.requireNonNull(batchResponseContent);
+        this.requestId = Objects.requireNonNull(requestId);
+        this.statusCode = statusCode;
+    }
+    /**
+     * Gets the id of the request of the step.
+     * @return The id of the request of the step.
+     */
+    @Nonnull
+    public String getRequestId() {
+        return requestId;
+    }
+    /**
+     * Gets the status code of the step response.
+     * @return The status code of the step response.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+    /**
+     * Checks if the step succeeded.
+     * @return True if the status code of the step response is a success status code, false otherwise.
+     */
+    public boolean isSuccessStatusCode() {
+        return BatchResponseContent.isSuccessStatusCode(statusCode);
+    }
+    /**
+     * Gets the step response.
+     * @return The step response, with its body.
+     */
+    @Nullable
+    public Response getResponse() {
+        return batchResponseContent.getResponseById(requestId);
+    }
+    /**
+     * Gets the step response deserialized with the given factory.
+     * @param factory The factory to use when deserializing the response body.
+     * @return The deserialized response body.
+     * @param <T> The type of the response body.
+     */
+    @Nullable
+    public <T extends Parsable> T getResponse(@Nonnull ParsableFactory<T> factory) {
+        return batchResponseContent.getResponseById(requestId, factory);
+    }
+    /**
+     * Gets the body of the step response as a stream.
+     * @return The body of the step response as an InputStream, null if the step response has no body.
+     */
+    @Nullable
+    public InputStream getResponseStream() {
+        return batchResponseContent.getResponseStreamById(requestId);
+    }
+}
@@ -0,0 +1,33 @@
+package com.microsoft.graph.core.models;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+
+/**
+ * Interface defining where a PageIterator records its checkpoints, so that an iteration can resume after the process restarts.
+ * Implementations must replace the checkpoint of a key atomically, a load never returns a partially written checkpoint.
+ */
+public interface IPageIteratorCheckpointStore {
+    /**
+     * Loads the last checkpoint recorded for the iteration key.
+     * @param key the key identifying the iteration.
+     * @return the checkpoint, null if none was recorded.
+     * @throws IOException if the checkpoint could not be read.
+     */
+    @Nullable
+    PageIteratorCheckpoint load(@Nonnull String key) throws IOException;
+    /**
+     * Records the checkpoint of the iteration key, replacing any previous one.
+     * @param key the key identifying the iteration.
+     * @param checkpoint the checkpoint to record.
+     * @throws IOException if the checkpoint could not be written.
+     */
+    void save(@Nonnull String key, @Nonnull PageIteratorCheckpoint checkpoint) throws IOException;
+    /**
+     * Removes the checkpoint of the iteration key, if any.
+     * @param key the key identifying the iteration.
+     * @throws IOException if the checkpoint could not be removed.
+     */
+    void delete(@Nonnull String key) throws IOException;
+}
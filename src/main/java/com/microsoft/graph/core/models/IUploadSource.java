@@ -0,0 +1,33 @@
+package com.microsoft.graph.core.models;
+
+import jakarta.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Interface defining the content uploaded by a LargeFileUploadTask.
+ */
+public interface IUploadSource extends Closeable {
+    /**
+     * Gets the total number of bytes to upload.
+     * @return the total number of bytes to upload.
+     */
+    long getLength();
+    /**
+     * Whether slices can be opened at any position, in any order and more than once.
+     * Sources which are not seekable only support opening slices at increasing positions,
+     * and return slice streams which support {@link InputStream#reset()} back to the start of the slice.
+     * @return true if slices can be opened at any position.
+     */
+    boolean isSeekable();
+    /**
+     * Opens a stream over a slice of the content.
+     * @param position the position of the first byte of the slice.
+     * @param length the number of bytes in the slice.
+     * @return a stream returning the bytes of the slice.
+     * @throws IOException if the slice could not be opened.
+     */
+    @Nonnull
+    InputStream openSlice(long position, long length) throws IOException;
+}
@@ -0,0 +1,50 @@
+package com.microsoft.graph.core.models;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * The position of a PageIterator, from which a later iteration can resume.
+ */
+public class PageIteratorCheckpoint {
+    private final String nextLink;
+    private final String deltaLink;
+    private final int itemOffset;
+    /**
+     * Instantiates a new PageIteratorCheckpoint.
+     * @param nextLink the link of the page to resume from, empty to resume from the initial page or from the deltaLink.
+     * @param deltaLink the deltaLink to resume from when there is no nextLink.
+     * @param itemOffset the number of items of the page to resume from which were already processed.
+     */
+    public PageIteratorCheckpoint(@Nullable String nextLink, @Nullable String deltaLink, int itemOffset) {
+        if (itemOffset < 0) {
+            throw new IllegalArgumentException("itemOffset must not be negative");
+        }
+        this.nextLink = nextLink == null ? "" : nextLink;
+        this.deltaLink = deltaLink == null ? "" : deltaLink;
+        this.itemOffset = itemOffset;
+    }
+    /**
+     * Gets the link of the page to resume from.
+     * @return the link of the page to resume from, empty to resume from the initial page or from the deltaLink.
+     */
+    @Nonnull
+    public String getNextLink() {
+        return nextLink;
+    }
+    /**
+     * Gets the deltaLink to resume from when there is no nextLink.
+     * @return the deltaLink, empty if the iteration has not reached the last page of a delta query.
+     */
+    @Nonnull
+    public String getDeltaLink() {
+        return deltaLink;
+    }
+    /**
+     * Gets the number of items of the page to resume from which were already processed.
+     * @return the number of items to skip once the page is received.
+     */
+    public int getItemOffset() {
+        return itemOffset;
+    }
+}
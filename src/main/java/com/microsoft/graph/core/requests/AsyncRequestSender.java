@@ -0,0 +1,142 @@
+package com.microsoft.graph.core.requests;
+
+import com.microsoft.graph.core.ErrorConstants;
+import com.microsoft.kiota.NativeResponseHandler;
+import com.microsoft.kiota.RequestAdapter;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParsableFactory;
+import okhttp3.Response;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends requests through a RequestAdapter without blocking the calling thread.
+ * Requests sent through a {@link BaseGraphRequestAdapter} are enqueued on its OkHttpClient, so no thread waits for the response.
+ * Any other RequestAdapter only exposes blocking calls, those are sent on the given executor instead, or on a shared pool of daemon threads
+ * dedicated to these calls when none is given.
+ */
+public final class AsyncRequestSender {
+    private AsyncRequestSender() {
+        // static utility class
+    }
+    /**
+     * Sends the request and completes with the native response once it is received.
+     * The caller is responsible for closing the response.
+     * @param requestAdapter the request adapter to send the request with.
+     * @param requestInfo the request to send.
+     * @return a future completed with the native response.
+     */
+    @Nonnull
+    public static CompletableFuture<Response> sendNative(@Nonnull final RequestAdapter requestAdapter, @Nonnull final RequestInformation requestInfo) {
+        return sendNative(requestAdapter, requestInfo, BlockingCallExecutor.INSTANCE);
+    }
+    /**
+     * Sends the request and completes with the native response once it is received.
+     * The caller is responsible for closing the response.
+     * @param requestAdapter the request adapter to send the request with.
+     * @param requestInfo the request to send.
+     * @param executor the executor running the blocking call when the request adapter can't enqueue the request.
+     * @return a future completed with the native response.
+     */
+    @Nonnull
+    public static CompletableFuture<Response> sendNative(@Nonnull final RequestAdapter requestAdapter, @Nonnull final RequestInformation requestInfo, @Nonnull final Executor executor) {
+        Objects.requireNonNull(requestAdapter, ErrorConstants.Messages.NULL_PARAMETER + "requestAdapter");
+        Objects.requireNonNull(requestInfo, ErrorConstants.Messages.NULL_PARAMETER + "requestInfo");
+        Objects.requireNonNull(executor, ErrorConstants.Messages.NULL_PARAMETER + "executor");
+        if (requestAdapter instanceof BaseGraphRequestAdapter) {
+            return ((BaseGraphRequestAdapter) requestAdapter).sendNativeAsync(requestInfo);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            NativeResponseHandler nativeResponseHandler = new NativeResponseHandler();
+            requestInfo.setResponseHandler(nativeResponseHandler);
+            requestAdapter.sendPrimitive(requestInfo, null, InputStream.class);
+            return (Response) nativeResponseHandler.getValue();
+        }, executor);
+    }
+    /**
+     * Sends the request and deserializes the response body once it is received.
+     * @param requestAdapter the request adapter to send the request with.
+     * @param requestInfo the request to send.
+     * @param factory the factory to use when deserializing the response body.
+     * @param <ModelType> the type of the deserialized response.
+     * @return a future completed with the deserialized response, null when the response has no content.
+     */
+    @Nonnull
+    public static <ModelType extends Parsable> CompletableFuture<ModelType> send(@Nonnull final RequestAdapter requestAdapter, @Nonnull final RequestInformation requestInfo, @Nonnull final ParsableFactory<ModelType> factory) {
+        return send(requestAdapter, requestInfo, null, factory, BlockingCallExecutor.INSTANCE);
+    }
+    /**
+     * Sends the request and deserializes the response body once it is received.
+     * Failed responses are mapped to errors and the response handler of the request is used like {@link RequestAdapter#send} does.
+     * @param requestAdapter the request adapter to send the request with.
+     * @param requestInfo the request to send.
+     * @param errorMappings the error mappings to use when the response is not successful.
+     * @param factory the factory to use when deserializing the response body.
+     * @param executor the executor running the blocking call when the request adapter can't enqueue the request.
+     * @param <ModelType> the type of the deserialized response.
+     * @return a future completed with the deserialized response, null when the response has no content.
+     */
+    @Nonnull
+    public static <ModelType extends Parsable> CompletableFuture<ModelType> send(@Nonnull final RequestAdapter requestAdapter, @Nonnull final RequestInformation requestInfo, @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings, @Nonnull final ParsableFactory<ModelType> factory, @Nonnull final Executor executor) {
+        Objects.requireNonNull(requestAdapter, ErrorConstants.Messages.NULL_PARAMETER + "requestAdapter");
+        Objects.requireNonNull(requestInfo, ErrorConstants.Messages.NULL_PARAMETER + "requestInfo");
+        Objects.requireNonNull(factory, ErrorConstants.Messages.NULL_PARAMETER + "factory");
+        Objects.requireNonNull(executor, ErrorConstants.Messages.NULL_PARAMETER + "executor");
+        if (requestAdapter instanceof BaseGraphRequestAdapter) {
+            return ((BaseGraphRequestAdapter) requestAdapter).sendAsync(requestInfo, errorMappings, factory);
+        }
+        return CompletableFuture.supplyAsync(() -> requestAdapter.send(requestInfo, errorMappings, factory), executor);
+    }
+    /**
+     * Completes after the given delay without blocking a thread while waiting.
+     * @param delay the delay to wait for.
+     * @param unit the unit of the delay.
+     * @return a future completed once the delay has elapsed.
+     */
+    @Nonnull
+    public static CompletableFuture<Void> delay(long delay, @Nonnull final TimeUnit unit) {
+        Objects.requireNonNull(unit, ErrorConstants.Messages.NULL_PARAMETER + "unit");
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        if (delay <= 0) {
+            future.complete(null);
+            return future;
+        }
+        DelayScheduler.INSTANCE.schedule(() -> future.complete(null), delay, unit);
+        return future;
+    }
+    /**
+     * Runs the blocking calls of request adapters which can't enqueue requests, away from the common fork join pool.
+     */
+    private static final class BlockingCallExecutor {
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "graph-async-request");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    private static final class DelayScheduler {
+        private static final ScheduledExecutorService INSTANCE = createScheduler();
+        private static ScheduledExecutorService createScheduler() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "graph-async-delay");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+}
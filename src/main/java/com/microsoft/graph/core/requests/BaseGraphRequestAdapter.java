@@ -1,25 +1,50 @@
 package com.microsoft.graph.core.requests;
 
+import com.microsoft.graph.core.ErrorConstants;
 import com.microsoft.graph.core.requests.options.GraphClientOption;
+import com.microsoft.kiota.ApiExceptionBuilder;
 import com.microsoft.kiota.Compatibility;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.RequestOption;
+import com.microsoft.kiota.ResponseHandler;
+import com.microsoft.kiota.ResponseHandlerOption;
+import com.microsoft.kiota.ResponseHeaders;
 import com.microsoft.kiota.authentication.AuthenticationProvider;
+import com.microsoft.kiota.http.HeadersCompatibility;
 import com.microsoft.kiota.http.OkHttpRequestAdapter;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParsableFactory;
+import com.microsoft.kiota.serialization.ParseNode;
 import com.microsoft.kiota.serialization.ParseNodeFactory;
+import com.microsoft.kiota.serialization.ParseNodeFactoryRegistry;
 import com.microsoft.kiota.serialization.SerializationWriterFactory;
 
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
 
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
+import java.io.IOException;
+import java.net.HttpURLConnection;
 import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Extension of the OkHttpRequestAdapter which is used as the default for Graph Requests.
  */
 public class BaseGraphRequestAdapter extends OkHttpRequestAdapter {
 
+    private final OkHttpClient client;
+    private final ParseNodeFactory parseNodeFactory;
+
     /**
      * Enum list of Keys which can be used to access the cloudList map.
      */
@@ -63,7 +88,14 @@ public class BaseGraphRequestAdapter extends OkHttpRequestAdapter {
      */
     @SuppressWarnings("LambdaLast")
     public BaseGraphRequestAdapter(@Nonnull final AuthenticationProvider authenticationProvider, @Nullable final ParseNodeFactory parseNodeFactory, @Nullable final SerializationWriterFactory serializationWriterFactory, @Nullable final OkHttpClient client, @Nullable final GraphClientOption graphClientOption, @Nullable String baseUrl) {
-        super(authenticationProvider, parseNodeFactory, serializationWriterFactory, client != null ? client : GraphClientFactory.create(graphClientOption).build());
+        this(authenticationProvider, parseNodeFactory, serializationWriterFactory, client != null ? client : GraphClientFactory.create(graphClientOption).build(), baseUrl);
+    }
+
+    @SuppressWarnings("LambdaLast")
+    private BaseGraphRequestAdapter(@Nonnull final AuthenticationProvider authenticationProvider, @Nullable final ParseNodeFactory parseNodeFactory, @Nullable final SerializationWriterFactory serializationWriterFactory, @Nonnull final OkHttpClient client, @Nullable String baseUrl) {
+        super(authenticationProvider, parseNodeFactory, serializationWriterFactory, client);
+        this.client = client;
+        this.parseNodeFactory = parseNodeFactory == null ? ParseNodeFactoryRegistry.defaultInstance : parseNodeFactory;
         if (!Compatibility.isBlank(baseUrl)) {
             setBaseUrl(baseUrl);
         } else {
@@ -153,6 +185,158 @@ public class BaseGraphRequestAdapter extends OkHttpRequestAdapter {
         this(authenticationProvider, determineBaseAddress(cloud, version), graphClientOption);
     }
 
+    /**
+     * Gets the OkHttpClient used to execute the requests of this adapter.
+     * @return the OkHttpClient used to execute the requests of this adapter.
+     */
+    @Nonnull
+    public OkHttpClient getOkHttpClient() {
+        return client;
+    }
+
+    /**
+     * Sends the request without blocking the calling thread.
+     * The base url of this adapter is set on the request, which is then authenticated and converted by this adapter and enqueued on its OkHttpClient.
+     * Authentication still runs on the calling thread and blocks it while the authentication provider gets a token.
+     * Unlike the synchronous send, a 401 response carrying continuous access evaluation claims is not retried with a new token.
+     * The caller is responsible for closing the response.
+     * @param requestInfo the request to send.
+     * @return a future completed with the native response once it is received.
+     */
+    @Nonnull
+    public CompletableFuture<Response> sendNativeAsync(@Nonnull final RequestInformation requestInfo) {
+        Objects.requireNonNull(requestInfo, ErrorConstants.Messages.NULL_PARAMETER + "requestInfo");
+        final CompletableFuture<Response> future = new CompletableFuture<>();
+        final Call call;
+        try {
+            requestInfo.pathParameters.put("baseurl", getBaseUrl());
+            call = client.newCall((Request) convertToNativeRequest(requestInfo));
+        } catch (RuntimeException ex) {
+            future.completeExceptionally(ex);
+            return future;
+        }
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(@Nonnull Call call, @Nonnull IOException e) {
+                future.completeExceptionally(e);
+            }
+            @Override
+            public void onResponse(@Nonnull Call call, @Nonnull Response response) {
+                if (!future.complete(response)) {
+                    response.close();
+                }
+            }
+        });
+        future.whenComplete((response, ex) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Sends the request without blocking the calling thread and deserializes the response body.
+     * @param requestInfo the request to send.
+     * @param factory the factory to use when deserializing the response body.
+     * @param <ModelType> the type of the deserialized response.
+     * @return a future completed with the deserialized response, null when the response has no content.
+     */
+    @Nonnull
+    public <ModelType extends Parsable> CompletableFuture<ModelType> sendAsync(@Nonnull final RequestInformation requestInfo, @Nonnull final ParsableFactory<ModelType> factory) {
+        return sendAsync(requestInfo, null, factory);
+    }
+    /**
+     * Sends the request without blocking the calling thread and deserializes the response body.
+     * Like {@link #send(RequestInformation, HashMap, ParsableFactory)}, the response is handed to the response handler of the request when
+     * it has one, and failed responses are deserialized with the matching error mapping and thrown as an ApiException.
+     * The request is sent with {@link #sendNativeAsync(RequestInformation)}, which authenticates it on the calling thread.
+     * @param requestInfo the request to send.
+     * @param errorMappings the error mappings to use when the response is not successful.
+     * @param factory the factory to use when deserializing the response body.
+     * @param <ModelType> the type of the deserialized response.
+     * @return a future completed with the deserialized response, null when the response has no content.
+     */
+    @Nonnull
+    public <ModelType extends Parsable> CompletableFuture<ModelType> sendAsync(@Nonnull final RequestInformation requestInfo, @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings, @Nonnull final ParsableFactory<ModelType> factory) {
+        Objects.requireNonNull(factory, ErrorConstants.Messages.NULL_PARAMETER + "factory");
+        final CompletableFuture<Response> nativeResponse = sendNativeAsync(requestInfo);
+        final CompletableFuture<ModelType> result = nativeResponse.thenApply(response -> {
+            final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+            if (responseHandler != null) {
+                return responseHandler.handleResponse(response, errorMappings);
+            }
+            try (final ResponseBody body = response.body()) {
+                throwIfFailedResponse(response, errorMappings);
+                if (body == null || body.contentType() == null || response.code() == HttpURLConnection.HTTP_NO_CONTENT) {
+                    return null;
+                }
+                return getParseNode(body).getObjectValue(factory);
+            }
+        });
+        result.whenComplete((value, ex) -> {
+            if (result.isCancelled()) {
+                nativeResponse.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    @Nullable
+    private static ResponseHandler getResponseHandler(@Nonnull final RequestInformation requestInfo) {
+        for (RequestOption option : requestInfo.getRequestOptions()) {
+            if (option instanceof ResponseHandlerOption) {
+                return ((ResponseHandlerOption) option).getResponseHandler();
+            }
+        }
+        return null;
+    }
+    private ParseNode getParseNode(@Nonnull final ResponseBody body) {
+        final String contentType = Objects.requireNonNull(body.contentType()).toString().split(";")[0];
+        return parseNodeFactory.getParseNode(contentType, body.byteStream());
+    }
+    private void throwIfFailedResponse(@Nonnull final Response response, @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings) {
+        if (response.isSuccessful()) {
+            return;
+        }
+        final int statusCode = response.code();
+        final ResponseHeaders responseHeaders = HeadersCompatibility.getResponseHeaders(response.headers());
+        final ParsableFactory<? extends Parsable> errorFactory = getErrorFactory(statusCode, errorMappings);
+        if (errorFactory == null) {
+            throw new ApiExceptionBuilder()
+                    .withMessage("the server returned an unexpected status code and no error class is registered for this code " + statusCode)
+                    .withResponseStatusCode(statusCode)
+                    .withResponseHeaders(responseHeaders)
+                    .build();
+        }
+        final ResponseBody body = response.body();
+        if (body == null || body.contentType() == null) {
+            throw new ApiExceptionBuilder()
+                    .withMessage("service returned status code" + statusCode + " but no response body was found")
+                    .withResponseStatusCode(statusCode)
+                    .withResponseHeaders(responseHeaders)
+                    .build();
+        }
+        final Parsable error = getParseNode(body).getObjectValue(errorFactory);
+        throw new ApiExceptionBuilder(() -> error)
+                .withResponseStatusCode(statusCode)
+                .withResponseHeaders(responseHeaders)
+                .build();
+    }
+    @Nullable
+    private static ParsableFactory<? extends Parsable> getErrorFactory(int statusCode, @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings) {
+        if (errorMappings == null) {
+            return null;
+        }
+        ParsableFactory<? extends Parsable> errorFactory = errorMappings.get(Integer.toString(statusCode));
+        if (errorFactory == null && statusCode >= 400 && statusCode < 500) {
+            errorFactory = errorMappings.get("4XX");
+        } else if (errorFactory == null && statusCode >= 500 && statusCode < 600) {
+            errorFactory = errorMappings.get("5XX");
+        }
+        return errorFactory == null ? errorMappings.get("XXX") : errorFactory;
+    }
+
     private static String determineBaseAddress(@Nullable final Clouds nationalCloud, @Nullable final String version) {
         final String cloud = nationalCloud == null ? getCloudList().get(Clouds.GLOBAL_CLOUD) : getCloudList().get(nationalCloud);
         if(cloud == null) {
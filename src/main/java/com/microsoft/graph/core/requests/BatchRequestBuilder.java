@@ -4,8 +4,11 @@ import com.microsoft.graph.core.CoreConstants;
 import com.microsoft.graph.core.content.BatchRequestContent;
 import com.microsoft.graph.core.content.BatchRequestContentCollection;
 import com.microsoft.graph.core.content.BatchResponseContent;
+import com.microsoft.graph.core.content.BatchRequestStepPacker;
 import com.microsoft.graph.core.content.BatchResponseContentCollection;
+import com.microsoft.graph.core.content.BatchResponseStep;
 import com.microsoft.graph.core.ErrorConstants;
+import com.microsoft.graph.core.models.BatchRequestStep;
 import com.microsoft.kiota.HttpMethod;
 import com.microsoft.kiota.NativeResponseHandler;
 import com.microsoft.kiota.RequestAdapter;
@@ -19,15 +22,29 @@ import jakarta.annotation.Nullable;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * A request builder for creating batch requests.
  */
 public class BatchRequestBuilder {
+    private static final int FAILED_DEPENDENCY_STATUS_CODE = 424;
     private final RequestAdapter requestAdapter;
     /**
      * Instantiates a new BatchRequestBuilder.
@@ -69,8 +86,323 @@ public class BatchRequestBuilder {
         }
         return collection;
     }
+    /**
+     * Posts a batch request without blocking the calling thread.
+     * @param requestContent the batch request content.
+     * @param errorMappings the error mappings to use when parsing the response.
+     * @return a future completed with the batch response content.
+     */
+    @Nonnull
+    public CompletableFuture<BatchResponseContent> postAsync(@Nonnull BatchRequestContent requestContent, @Nullable Map<String, ParsableFactory<? extends Parsable>> errorMappings) {
+        Objects.requireNonNull(requestContent, ErrorConstants.Messages.NULL_PARAMETER + "requestContent");
+        final RequestInformation requestInfo;
+        try {
+            requestInfo = toPostRequestInformation(requestContent);
+        } catch (IOException ex) {
+            CompletableFuture<BatchResponseContent> future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+            return future;
+        }
+        return AsyncRequestSender.sendNative(requestAdapter, requestInfo).thenApply(response -> new BatchResponseContent(response, errorMappings));
+    }
+    /**
+     * Posts a BatchRequestContentCollection without blocking the calling thread.
+     * All batches are sent at once, the number of batches in flight is bounded by the dispatcher of the OkHttpClient.
+     * A batch is only sent once its prerequisites, see {@link BatchRequestContentCollection#getBatchRequestPrerequisites(int)}, completed.
+     * @param batchRequestContentCollection the BatchRequestContentCollection to post.
+     * @param errorMappings the error mappings to use when parsing the response.
+     * @return a future completed with the BatchResponseContentCollection once all batches are posted, or exceptionally with the first failure.
+     */
+    @Nonnull
+    public CompletableFuture<BatchResponseContentCollection> postAsync(@Nonnull BatchRequestContentCollection batchRequestContentCollection, @Nullable Map<String, ParsableFactory<? extends Parsable>> errorMappings) {
+        Objects.requireNonNull(batchRequestContentCollection, ErrorConstants.Messages.NULL_PARAMETER + "batchRequestContentCollection");
+        final List<BatchRequestContent> requests = batchRequestContentCollection.getBatchRequestsForExecution();
+        final List<CompletableFuture<BatchResponseContent>> responses = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            final BatchRequestContent request = requests.get(i);
+            responses.add(awaitPrerequisites(batchRequestContentCollection, i, responses).thenCompose(v -> postAsync(request, errorMappings)));
+        }
+        return CompletableFuture.allOf(responses.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            BatchResponseContentCollection collection = new BatchResponseContentCollection();
+            for (int i = 0; i < requests.size(); i++) {
+                collection.addBatchResponse(requests.get(i).getBatchRequestSteps().keySet(), responses.get(i).join());
+            }
+            return collection;
+        });
+    }
+    /**
+     * Posts the batches of a BatchRequestContentCollection concurrently.
+     * At most maxConcurrency batches are in flight at once, each one is posted on a thread of the given executor.
+     * On Java 21 and above, an executor which starts a virtual thread per task can be used.
+     * A batch is only posted once its prerequisites, see {@link BatchRequestContentCollection#getBatchRequestPrerequisites(int)}, completed.
+     * @param batchRequestContentCollection the BatchRequestContentCollection to post.
+     * @param errorMappings the error mappings to use when parsing the response.
+     * @param maxConcurrency the maximum number of batches to post at the same time.
+     * @param executor the executor to post the batches on.
+     * @return a future completed with the BatchResponseContentCollection once all batches are posted, or exceptionally with the first failure.
+     */
+    @Nonnull
+    public CompletableFuture<BatchResponseContentCollection> postConcurrently(@Nonnull BatchRequestContentCollection batchRequestContentCollection, @Nullable Map<String, ParsableFactory<? extends Parsable>> errorMappings, int maxConcurrency, @Nonnull Executor executor) {
+        Objects.requireNonNull(batchRequestContentCollection, ErrorConstants.Messages.NULL_PARAMETER + "batchRequestContentCollection");
+        Objects.requireNonNull(executor, ErrorConstants.Messages.NULL_PARAMETER + "executor");
+        if(maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be greater than 0");
+        }
+        final List<BatchRequestContent> requests = batchRequestContentCollection.getBatchRequestsForExecution();
+        final BatchResponseContent[] responses = new BatchResponseContent[requests.size()];
+        final List<CompletableFuture<Void>> completions = newCompletions(requests.size());
+        final AtomicInteger nextRequest = new AtomicInteger();
+        final AtomicBoolean failed = new AtomicBoolean();
+        final CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.min(maxConcurrency, requests.size())];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = CompletableFuture.runAsync(() -> {
+                int index;
+                while (!failed.get() && (index = nextRequest.getAndIncrement()) < requests.size()) {
+                    try {
+                        //Prerequisites have lower indexes, they were taken by workers which are already posting them
+                        awaitPrerequisites(batchRequestContentCollection, index, completions).join();
+                        responses[index] = post(requests.get(index), errorMappings);
+                        completions.get(index).complete(null);
+                    } catch (IOException | RuntimeException e) {
+                        failed.set(true);
+                        completions.get(index).completeExceptionally(e);
+                        throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+                    }
+                }
+            }, executor);
+        }
+        return CompletableFuture.allOf(workers).thenApply(v -> {
+            BatchResponseContentCollection collection = new BatchResponseContentCollection();
+            for (int i = 0; i < responses.length; i++) {
+                collection.addBatchResponse(requests.get(i).getBatchRequestSteps().keySet(), responses[i]);
+            }
+            return collection;
+        });
+    }
+    /**
+     * Posts the batches of a BatchRequestContentCollection and hands the result of each step to the consumer as soon as its batch response arrives.
+     * At most maxConcurrency batches are in flight at once. The consumer is called for one batch at a time, so it doesn't need to be thread safe,
+     * and no reference to a batch response is kept once its steps were consumed, so the memory used doesn't grow with the number of batches.
+     * The body of a step is only deserialized when the consumer requests it.
+     * A batch is only posted once its prerequisites, see {@link BatchRequestContentCollection#getBatchRequestPrerequisites(int)}, completed.
+     * @param batchRequestContentCollection the BatchRequestContentCollection to post.
+     * @param errorMappings the error mappings to use when parsing the response.
+     * @param maxConcurrency the maximum number of batches to post at the same time.
+     * @param responseStepConsumer the consumer of the result of each step.
+     * @return a future completed once the steps of every batch were consumed, or exceptionally with the first failure.
+     */
+    @Nonnull
+    public CompletableFuture<Void> postStreaming(@Nonnull BatchRequestContentCollection batchRequestContentCollection, @Nullable Map<String, ParsableFactory<? extends Parsable>> errorMappings, int maxConcurrency, @Nonnull Consumer<BatchResponseStep> responseStepConsumer) {
+        Objects.requireNonNull(batchRequestContentCollection, ErrorConstants.Messages.NULL_PARAMETER + "batchRequestContentCollection");
+        Objects.requireNonNull(responseStepConsumer, ErrorConstants.Messages.NULL_PARAMETER + "responseStepConsumer");
+        if(maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be greater than 0");
+        }
+        final StreamingPost streamingPost = new StreamingPost(batchRequestContentCollection, errorMappings, responseStepConsumer);
+        final CompletableFuture<?>[] lanes = new CompletableFuture<?>[Math.min(maxConcurrency, streamingPost.requests.size())];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = streamingPost.postNext();
+        }
+        return CompletableFuture.allOf(lanes);
+    }
+    /**
+     * The state shared by the lanes of a streaming post, each lane posts one batch at a time until none is left.
+     */
+    private final class StreamingPost {
+        private final BatchRequestContentCollection collection;
+        private final List<BatchRequestContent> requests;
+        private final List<CompletableFuture<Void>> completions;
+        private final Map<String, ParsableFactory<? extends Parsable>> errorMappings;
+        private final Consumer<BatchResponseStep> responseStepConsumer;
+        private final AtomicInteger nextRequest = new AtomicInteger();
+        private final AtomicBoolean failed = new AtomicBoolean();
+        private final Object consumerLock = new Object();
+        StreamingPost(final BatchRequestContentCollection collection, final Map<String, ParsableFactory<? extends Parsable>> errorMappings, final Consumer<BatchResponseStep> responseStepConsumer) {
+            this.collection = collection;
+            this.requests = collection.getBatchRequestsForExecution();
+            this.completions = newCompletions(requests.size());
+            this.errorMappings = errorMappings;
+            this.responseStepConsumer = responseStepConsumer;
+        }
+        CompletableFuture<Void> postNext() {
+            final int index = nextRequest.getAndIncrement();
+            if (failed.get() || index >= requests.size()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            final CompletableFuture<BatchResponseContent> response = awaitPrerequisites(collection, index, completions)
+                .thenCompose(v -> postAsync(requests.get(index), errorMappings));
+            response.whenComplete((r, ex) -> {
+                if (ex != null) {
+                    completions.get(index).completeExceptionally(ex);
+                } else {
+                    completions.get(index).complete(null);
+                }
+            });
+            final CompletableFuture<Void> lane = response.thenCompose(batchResponse -> {
+                synchronized (consumerLock) {
+                    for (BatchResponseStep responseStep : batchResponse.getResponseSteps()) {
+                        responseStepConsumer.accept(responseStep);
+                    }
+                }
+                return postNext();
+            });
+            lane.whenComplete((v, ex) -> {
+                if (ex != null) {
+                    failed.set(true);
+                }
+            });
+            return lane;
+        }
+    }
+    private static List<CompletableFuture<Void>> newCompletions(final int size) {
+        final List<CompletableFuture<Void>> completions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            completions.add(new CompletableFuture<>());
+        }
+        return completions;
+    }
+    /**
+     * Gets a future completed once the batches the batch at the given index waits for completed.
+     * @param completions the futures completed with each batch, indexed like the batches of the collection.
+     */
+    private static CompletableFuture<Void> awaitPrerequisites(final BatchRequestContentCollection collection, final int batchIndex, final List<? extends CompletableFuture<?>> completions) {
+        final Set<Integer> prerequisites = collection.getBatchRequestPrerequisites(batchIndex);
+        if (prerequisites.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final CompletableFuture<?>[] prerequisiteCompletions = new CompletableFuture<?>[prerequisites.size()];
+        int i = 0;
+        for (Integer prerequisite : prerequisites) {
+            prerequisiteCompletions[i++] = completions.get(prerequisite);
+        }
+        return CompletableFuture.allOf(prerequisiteCompletions);
+    }
+    /**
+     * Posts a BatchRequestContentCollection and posts again the steps which failed with a 429, 503 or 504 status code.
+     * See {@link #postWithRetriesAsync(BatchRequestContentCollection, Map, int)} for how the steps are retried.
+     * @param batchRequestContentCollection the BatchRequestContentCollection to post.
+     * @param errorMappings the error mappings to use when parsing the response.
+     * @param maxRetries the maximum number of times a step is retried.
+     * @return the BatchResponseContentCollection holding the last response of every step.
+     * @throws IOException if there was an error writing the request content.
+     */
+    @Nonnull
+    public BatchResponseContentCollection postWithRetries(@Nonnull BatchRequestContentCollection batchRequestContentCollection, @Nullable Map<String, ParsableFactory<? extends Parsable>> errorMappings, int maxRetries) throws IOException {
+        try {
+            return postWithRetriesAsync(batchRequestContentCollection, errorMappings, maxRetries).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof IOException) {
+                throw (IOException) ex.getCause();
+            } else if (ex.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) ex.getCause()).getCause();
+            } else if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+    /**
+     * Posts a BatchRequestContentCollection without blocking the calling thread, and posts again the steps which failed with a 429, 503 or 504 status code.
+     * The retried steps keep their request ids and their dependsOn relations to other retried steps, steps which failed with a 424 status code
+     * because they depend on a retried step are retried with it. The retried steps are packed into new batches with {@link BatchRequestStepPacker}
+     * and posted once the longest Retry-After of the retried steps elapsed, or after an exponential backoff when none of them has one.
+     * The batches are posted one at a time, in order.
+     * @param batchRequestContentCollection the BatchRequestContentCollection to post.
+     * @param errorMappings the error mappings to use when parsing the response.
+     * @param maxRetries the maximum number of times a step is retried.
+     * @return a future completed with the BatchResponseContentCollection holding the last response of every step, or exceptionally with the first failure.
+     */
+    @Nonnull
+    public CompletableFuture<BatchResponseContentCollection> postWithRetriesAsync(@Nonnull BatchRequestContentCollection batchRequestContentCollection, @Nullable Map<String, ParsableFactory<? extends Parsable>> errorMappings, int maxRetries) {
+        Objects.requireNonNull(batchRequestContentCollection, ErrorConstants.Messages.NULL_PARAMETER + "batchRequestContentCollection");
+        if(maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries must not be negative");
+        }
+        final BatchResponseContentCollection collection = new BatchResponseContentCollection();
+        final List<BatchRequestContent> requests = batchRequestContentCollection.getBatchRequestsForExecution();
+        return postRetryRoundAsync(requests, errorMappings, batchRequestContentCollection.getBatchRequestLimit(), maxRetries, 0, collection)
+            .thenApply(v -> collection);
+    }
+    private CompletableFuture<Void> postRetryRoundAsync(final List<BatchRequestContent> requests, final Map<String, ParsableFactory<? extends Parsable>> errorMappings, final int batchRequestLimit, final int maxRetries, final int attempt, final BatchResponseContentCollection collection) {
+        CompletableFuture<List<BatchResponseContent>> round = CompletableFuture.completedFuture(new ArrayList<>(requests.size()));
+        for (BatchRequestContent request : requests) {
+            round = round.thenCompose(responses -> postAsync(request, errorMappings).thenApply(response -> {
+                responses.add(response);
+                return responses;
+            }));
+        }
+        return round.thenCompose(responses -> {
+            final Map<String, BatchRequestStep> retriedSteps = new LinkedHashMap<>();
+            final Map<String, BatchRequestStep> failedDependencySteps = new LinkedHashMap<>();
+            long retryDelayNanos = -1;
+            if (attempt < maxRetries) {
+                final long backoffNanos = RetryDelays.getBackoffNanos(attempt);
+                for (int i = 0; i < requests.size(); i++) {
+                    final Map<String, BatchRequestStep> steps = requests.get(i).getBatchRequestStepsView();
+                    for (Map.Entry<String, Integer> statusCode : responses.get(i).getResponsesStatusCode().entrySet()) {
+                        final BatchRequestStep step = steps.get(statusCode.getKey());
+                        if (step == null) {
+                            continue;
+                        }
+                        if (RetryDelays.isRetriableStatusCode(statusCode.getValue())) {
+                            retriedSteps.put(step.getRequestId(), step);
+                            final Response response = responses.get(i).getResponseById(step.getRequestId());
+                            final long retryAfterNanos = RetryDelays.getRetryAfterNanos(response == null ? null : response.header(RetryDelays.RETRY_AFTER_HEADER));
+                            retryDelayNanos = Math.max(retryDelayNanos, retryAfterNanos < 0 ? backoffNanos : retryAfterNanos);
+                        } else if (statusCode.getValue() == FAILED_DEPENDENCY_STATUS_CODE) {
+                            failedDependencySteps.put(step.getRequestId(), step);
+                        }
+                    }
+                }
+                addFailedDependencySteps(retriedSteps, failedDependencySteps);
+            }
+            for (int i = 0; i < requests.size(); i++) {
+                final Set<String> keys = new HashSet<>(requests.get(i).getBatchRequestStepsView().keySet());
+                keys.removeAll(retriedSteps.keySet());
+                collection.addBatchResponse(keys, responses.get(i));
+            }
+            if (retriedSteps.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            final List<BatchRequestStep> steps = new ArrayList<>(retriedSteps.size());
+            for (BatchRequestStep step : retriedSteps.values()) {
+                final List<String> dependsOn = step.getDependsOn();
+                dependsOn.retainAll(retriedSteps.keySet());
+                steps.add(new BatchRequestStep(step.getRequestId(), step.getRequest(), dependsOn));
+            }
+            final List<BatchRequestContent> retries = new ArrayList<>();
+            for (List<BatchRequestStep> batch : BatchRequestStepPacker.pack(steps, batchRequestLimit)) {
+                final BatchRequestContent retry = new BatchRequestContent(requestAdapter, new ArrayList<>());
+                for (BatchRequestStep step : batch) {
+                    retry.addBatchRequestStep(step);
+                }
+                retries.add(retry);
+            }
+            return AsyncRequestSender.delay(retryDelayNanos, TimeUnit.NANOSECONDS)
+                .thenCompose(v -> postRetryRoundAsync(retries, errorMappings, batchRequestLimit, maxRetries, attempt + 1, collection));
+        });
+    }
+    private static void addFailedDependencySteps(Map<String, BatchRequestStep> retriedSteps, Map<String, BatchRequestStep> failedDependencySteps) {
+        boolean added = true;
+        while (added) {
+            added = false;
+            final Iterator<BatchRequestStep> steps = failedDependencySteps.values().iterator();
+            while (steps.hasNext()) {
+                final BatchRequestStep step = steps.next();
+                for (String id : step.getDependsOn()) {
+                    if (retriedSteps.containsKey(id)) {
+                        retriedSteps.put(step.getRequestId(), step);
+                        steps.remove();
+                        added = true;
+                        break;
+                    }
+                }
+            }
+        }
+    }
     /**
      * Creates the request information for a batch request.
+     * The batch request content is serialized step by step while the request body is being sent.
      * @param requestContent the batch request content.
      * @return the request information.
      * @throws IOException if there was an error writing the request content.
@@ -0,0 +1,98 @@
+package com.microsoft.graph.core.requests;
+
+import com.microsoft.graph.core.ErrorConstants;
+import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.ResponseHeaders;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes how long to wait before retrying a throttled or temporarily unavailable request.
+ * The Retry-After header of the response is honored when present, an exponential backoff with jitter is used otherwise.
+ */
+public final class RetryDelays {
+    /** The Retry-After response header name. */
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+    private static final int TOO_MANY_REQUESTS_STATUS_CODE = 429;
+    private static final int SERVICE_UNAVAILABLE_STATUS_CODE = 503;
+    private static final int GATEWAY_TIMEOUT_STATUS_CODE = 504;
+    private static final long INITIAL_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(32);
+    private RetryDelays() {
+        // static utility class
+    }
+    /**
+     * Whether a response with the given status code can be retried once the service recovers.
+     * @param statusCode the status code of the response.
+     * @return true for 429, 503 and 504 responses.
+     */
+    public static boolean isRetriableStatusCode(int statusCode) {
+        return statusCode == TOO_MANY_REQUESTS_STATUS_CODE || statusCode == SERVICE_UNAVAILABLE_STATUS_CODE || statusCode == GATEWAY_TIMEOUT_STATUS_CODE;
+    }
+    /**
+     * Gets the delay requested by the Retry-After header, given either in seconds or as an HTTP date.
+     * @param responseHeaders the headers of the response.
+     * @return the delay in nanoseconds, or -1 if the header is missing or invalid.
+     */
+    public static long getRetryAfterNanos(@Nullable ResponseHeaders responseHeaders) {
+        Set<String> retryAfterValues = responseHeaders == null ? null : responseHeaders.get(RETRY_AFTER_HEADER);
+        if (retryAfterValues == null || retryAfterValues.isEmpty()) {
+            return -1;
+        }
+        return getRetryAfterNanos(retryAfterValues.iterator().next());
+    }
+    /**
+     * Gets the delay requested by a Retry-After header value, given either in seconds or as an HTTP date.
+     * @param retryAfter the value of the header.
+     * @return the delay in nanoseconds, or -1 if the value is missing or invalid.
+     */
+    public static long getRetryAfterNanos(@Nullable String retryAfter) {
+        if (retryAfter == null) {
+            return -1;
+        }
+        String value = retryAfter.trim();
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException ex) {
+            try {
+                return Math.max(0, Duration.between(Instant.now(), ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME)).toNanos());
+            } catch (DateTimeParseException | ArithmeticException dateException) {
+                return -1;
+            }
+        }
+    }
+    /**
+     * Gets an exponential backoff with jitter, between half and all of 2^attempt seconds, up to 32 seconds.
+     * @param attempt the number of retries already made.
+     * @return the delay in nanoseconds.
+     */
+    public static long getBackoffNanos(int attempt) {
+        long backoffNanos = Math.min(MAX_BACKOFF_NANOS, INITIAL_BACKOFF_NANOS << Math.max(0, Math.min(attempt, 16)));
+        return backoffNanos / 2 + ThreadLocalRandom.current().nextLong(backoffNanos / 2 + 1);
+    }
+    /**
+     * Gets the delay before retrying a request which failed with the given exception.
+     * @param exception the exception the request failed with.
+     * @param attempt the number of retries already made.
+     * @return the delay in nanoseconds, or -1 if the status code of the exception is not retriable.
+     */
+    public static long getRetryDelayNanos(@Nonnull ApiException exception, int attempt) {
+        Objects.requireNonNull(exception, ErrorConstants.Messages.NULL_PARAMETER + "exception");
+        if (!isRetriableStatusCode(exception.getResponseStatusCode())) {
+            return -1;
+        }
+        long retryAfterNanos = getRetryAfterNanos(exception.getResponseHeaders());
+        return retryAfterNanos < 0 ? getBackoffNanos(attempt) : retryAfterNanos;
+    }
+}
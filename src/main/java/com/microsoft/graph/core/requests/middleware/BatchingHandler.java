@@ -0,0 +1,295 @@
+package com.microsoft.graph.core.requests.middleware;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.microsoft.graph.core.CoreConstants;
+import com.microsoft.graph.core.ErrorConstants;
+import com.microsoft.graph.core.content.BatchRequestContent;
+import com.microsoft.graph.core.content.BatchResponseContent;
+import com.microsoft.graph.core.models.BatchRequestStep;
+import jakarta.annotation.Nonnull;
+
+import okhttp3.Call;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Middleware coalescing the requests sent at about the same time into a single $batch request.
+ * The first request of a batch waits for up to the maximum delay, or until the maximum number of requests is queued, then sends them all as one
+ * $batch request and routes each step response back to the call which sent the request.
+ * Only requests sent to a Microsoft Graph host, under the v1.0 or beta service version, are batched, and they are only batched together when they
+ * target the same service version with the same Authorization header. Requests with a non json body and $batch requests are sent as is.
+ * A request left alone once the delay elapsed is also sent as is, the first request of each window always waits for the maximum delay, even when
+ * no other request joins it.
+ * The $batch request only carries the Authorization, User-Agent and SdkVersion headers of the first request, the other headers of each request,
+ * such as If-Match, Prefer, ConsistencyLevel or client-request-id, only apply to its own step.
+ * The $batch request is sent by the call of the first request of the window, canceling that call fails the batch for every caller waiting on it.
+ * The handler must be added as an application interceptor. The callers of a batch wait for it on their own thread, so asynchronous calls can only be
+ * coalesced up to the maximum number of requests per host of the OkHttpClient dispatcher. A caller stops waiting when its call is canceled or
+ * when its call timeout elapses.
+ */
+public class BatchingHandler implements Interceptor {
+    private static final String AUTHORIZATION_HEADER_KEY = "Authorization";
+    private static final List<String> BATCH_REQUEST_HEADER_NAMES = Collections.unmodifiableList(Arrays.asList(
+        AUTHORIZATION_HEADER_KEY,
+        "User-Agent",
+        CoreConstants.Headers.SDK_VERSION_HEADER_NAME));
+    private static final String BATCH_PATH_SEGMENT = "$batch";
+    private static final Set<String> SERVICE_VERSIONS = new HashSet<>(Arrays.asList("v1.0", "beta"));
+    private static final long CANCELATION_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    /**
+     * The hosts of the Microsoft Graph national clouds.
+     */
+    public static final Set<String> DEFAULT_GRAPH_HOSTS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        "graph.microsoft.com",
+        "graph.microsoft.us",
+        "dod-graph.microsoft.us",
+        "graph.microsoft.de",
+        "microsoftgraph.chinacloudapi.cn",
+        "canary.graph.microsoft.com")));
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Set<String> graphHosts;
+    private final Map<String, BatchWindow> openWindows = new HashMap<>();
+
+    /**
+     * Instantiate a BatchingHandler batching up to 20 requests sent within 10 milliseconds.
+     */
+    public BatchingHandler() {
+        this(CoreConstants.BatchRequest.MAX_REQUESTS, Duration.ofMillis(10));
+    }
+    /**
+     * Instantiate a BatchingHandler.
+     * @param maxBatchSize the maximum number of requests in a batch, between 2 and 20.
+     * @param maxDelay the maximum time the first request of a batch waits for other requests.
+     */
+    public BatchingHandler(int maxBatchSize, @Nonnull final Duration maxDelay) {
+        this(maxBatchSize, maxDelay, DEFAULT_GRAPH_HOSTS);
+    }
+    /**
+     * Instantiate a BatchingHandler.
+     * @param maxBatchSize the maximum number of requests in a batch, between 2 and 20.
+     * @param maxDelay the maximum time the first request of a batch waits for other requests.
+     * @param graphHosts the hosts of the Microsoft Graph endpoints whose requests are batched, such as the host of the base url of the client.
+     */
+    public BatchingHandler(int maxBatchSize, @Nonnull final Duration maxDelay, @Nonnull final Collection<String> graphHosts) {
+        Objects.requireNonNull(maxDelay, ErrorConstants.Messages.NULL_PARAMETER + "maxDelay");
+        Objects.requireNonNull(graphHosts, ErrorConstants.Messages.NULL_PARAMETER + "graphHosts");
+        if(maxBatchSize < 2 || maxBatchSize > CoreConstants.BatchRequest.MAX_REQUESTS) {
+            throw new IllegalArgumentException("maxBatchSize must be between 2 and " + CoreConstants.BatchRequest.MAX_REQUESTS);
+        }
+        if(maxDelay.isNegative()) {
+            throw new IllegalArgumentException("maxDelay must not be negative");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.graphHosts = new HashSet<>();
+        for(String graphHost : graphHosts) {
+            this.graphHosts.add(graphHost.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    @Override
+    @Nonnull
+    public Response intercept(@Nonnull final Chain chain) throws IOException {
+        final Request request = chain.request();
+        final String batchKey = getBatchKey(request);
+        if(batchKey == null) {
+            return chain.proceed(request);
+        }
+        final PendingRequest pendingRequest = new PendingRequest(request);
+        final BatchWindow window;
+        final boolean leader;
+        synchronized (openWindows) {
+            BatchWindow openWindow = openWindows.get(batchKey);
+            leader = openWindow == null;
+            if(leader) {
+                openWindow = new BatchWindow();
+                openWindows.put(batchKey, openWindow);
+            }
+            window = openWindow;
+            window.requests.add(pendingRequest);
+            if(window.requests.size() >= maxBatchSize) {
+                openWindows.remove(batchKey);
+                window.full.countDown();
+            }
+        }
+        if(!leader) {
+            return awaitResponse(chain.call(), pendingRequest);
+        }
+        boolean interrupted = false;
+        try {
+            window.full.await(maxDelayNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            interrupted = true;
+        }
+        final List<PendingRequest> requests;
+        synchronized (openWindows) {
+            openWindows.remove(batchKey, window);
+            requests = new ArrayList<>(window.requests);
+        }
+        sendBatch(chain, requests);
+        if(interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return awaitResponse(chain.call(), pendingRequest);
+    }
+    private void sendBatch(final Chain chain, final List<PendingRequest> requests) {
+        try {
+            sendRequests(chain, requests);
+        } finally {
+            //Errors are not caught, the callers waiting for the batch must still be released
+            for(PendingRequest pendingRequest : requests) {
+                pendingRequest.response.completeExceptionally(new IOException("The batch request did not complete"));
+            }
+        }
+    }
+    private void sendRequests(final Chain chain, final List<PendingRequest> requests) {
+        if(requests.size() == 1) {
+            try {
+                requests.get(0).response.complete(chain.proceed(requests.get(0).request));
+            } catch (IOException | RuntimeException ex) {
+                requests.get(0).response.completeExceptionally(ex);
+            }
+            return;
+        }
+        final Request leaderRequest = requests.get(0).request;
+        try {
+            final BatchRequestContent batchRequestContent = new BatchRequestContent(new ArrayList<>());
+            for(int i = 0; i < requests.size(); i++) {
+                batchRequestContent.addBatchRequestStep(new BatchRequestStep(String.valueOf(i), requests.get(i).request));
+            }
+            final HttpUrl leaderUrl = leaderRequest.url();
+            final Request.Builder batchRequestBuilder = new Request.Builder()
+                .url(leaderUrl.newBuilder().encodedPath("/" + leaderUrl.encodedPathSegments().get(0) + "/" + BATCH_PATH_SEGMENT).query(null).build())
+                .post(batchRequestContent.getBatchRequestBody());
+            //The other headers of the requests are sent with their steps, they must not apply to the whole batch.
+            for(String headerName : BATCH_REQUEST_HEADER_NAMES) {
+                for(String headerValue : leaderRequest.headers(headerName)) {
+                    batchRequestBuilder.addHeader(headerName, headerValue);
+                }
+            }
+            final Request batchRequest = batchRequestBuilder.build();
+            try(Response batchResponse = chain.proceed(batchRequest)) {
+                if(!batchResponse.isSuccessful()) {
+                    //The whole batch was rejected, each caller gets the rejection to retry or report it.
+                    final ResponseBody body = batchResponse.body();
+                    final byte[] content = body == null ? new byte[0] : body.bytes();
+                    final MediaType contentType = body == null ? null : body.contentType();
+                    for(PendingRequest pendingRequest : requests) {
+                        pendingRequest.response.complete(batchResponse.newBuilder()
+                            .request(pendingRequest.request)
+                            .body(ResponseBody.create(content, contentType))
+                            .build());
+                    }
+                    return;
+                }
+                final BatchResponseContent batchResponseContent = new BatchResponseContent(batchResponse);
+                for(int i = 0; i < requests.size(); i++) {
+                    final PendingRequest pendingRequest = requests.get(i);
+                    final Response stepResponse = batchResponseContent.getResponseById(String.valueOf(i));
+                    if(stepResponse == null) {
+                        pendingRequest.response.completeExceptionally(new IOException("The batch response has no response for " + pendingRequest.request.url()));
+                    } else {
+                        pendingRequest.response.complete(stepResponse.newBuilder().request(pendingRequest.request).build());
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            for(PendingRequest pendingRequest : requests) {
+                pendingRequest.response.completeExceptionally(ex);
+            }
+        }
+    }
+    private static Response awaitResponse(final Call call, final PendingRequest pendingRequest) throws IOException {
+        final long timeoutNanos = call.timeout().timeoutNanos();
+        long deadlineNanos = timeoutNanos > 0 ? System.nanoTime() + timeoutNanos : Long.MAX_VALUE;
+        if(call.timeout().hasDeadline()) {
+            deadlineNanos = Math.min(deadlineNanos, call.timeout().deadlineNanoTime());
+        }
+        try {
+            while(true) {
+                if(call.isCanceled()) {
+                    throw abandon(pendingRequest, new IOException("Canceled"));
+                }
+                final long remainingNanos = deadlineNanos == Long.MAX_VALUE ? Long.MAX_VALUE : deadlineNanos - System.nanoTime();
+                if(remainingNanos <= 0) {
+                    throw abandon(pendingRequest, new InterruptedIOException("timeout"));
+                }
+                try {
+                    return pendingRequest.response.get(Math.min(remainingNanos, CANCELATION_POLL_NANOS), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException ex) {
+                    //Poll the call for cancelation and timeout again
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            final InterruptedIOException interruptedException = new InterruptedIOException("Interrupted while waiting for the batch response");
+            interruptedException.initCause(ex);
+            throw abandon(pendingRequest, interruptedException);
+        } catch (ExecutionException ex) {
+            throw new IOException("The batched request failed", ex.getCause());
+        }
+    }
+    private static IOException abandon(final PendingRequest pendingRequest, final IOException ex) {
+        //The step response may still arrive once the caller stopped waiting, its body must not leak
+        pendingRequest.response.thenAccept(Response::close);
+        return ex;
+    }
+    /**
+     * Gets the key grouping the requests which can be sent in the same batch, null if the request can't be batched.
+     */
+    private String getBatchKey(final Request request) {
+        final List<String> pathSegments = request.url().pathSegments();
+        //Batch request steps are relative to the service version, the first path segment of Microsoft Graph urls.
+        if(!graphHosts.contains(request.url().host())
+            || pathSegments.size() < 2
+            || !SERVICE_VERSIONS.contains(pathSegments.get(0))
+            || BATCH_PATH_SEGMENT.equals(pathSegments.get(pathSegments.size() - 1))) {
+            return null;
+        }
+        final RequestBody body = request.body();
+        if(body != null) {
+            final MediaType contentType = body.contentType();
+            if(contentType == null || !contentType.toString().toLowerCase(Locale.US).contains(CoreConstants.MimeTypeNames.APPLICATION_JSON)) {
+                return null;
+            }
+        }
+        final HttpUrl url = request.url();
+        return url.scheme() + "://" + url.host() + ":" + url.port() + "/" + pathSegments.get(0) + "\n" + request.header(AUTHORIZATION_HEADER_KEY);
+    }
+    private static class BatchWindow {
+        private final List<PendingRequest> requests = new ArrayList<>();
+        private final CountDownLatch full = new CountDownLatch(1);
+    }
+    private static class PendingRequest {
+        private final Request request;
+        private final CompletableFuture<Response> response = new CompletableFuture<>();
+        PendingRequest(final Request request) {
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.microsoft.graph.core.requests.upload;
+
+import com.microsoft.graph.core.ErrorConstants;
+import com.microsoft.graph.core.models.IUploadSource;
+
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Upload source over the remaining bytes of a ByteBuffer, such as a memory mapped file.
+ * Each slice reads from its own view of the buffer, so slices can be opened at any offset and uploaded at the same time.
+ */
+public class ByteBufferUploadSource implements IUploadSource {
+    private final ByteBuffer buffer;
+    /**
+     * Creates an upload source over the bytes between the position and the limit of the buffer.
+     * The buffer must not be modified while the upload is in progress.
+     * @param buffer the buffer containing the bytes to upload.
+     */
+    public ByteBufferUploadSource(@Nonnull ByteBuffer buffer) {
+        this.buffer = Objects.requireNonNull(buffer, ErrorConstants.Messages.NULL_PARAMETER + "buffer").slice();
+    }
+    @Override
+    public long getLength() {
+        return buffer.capacity();
+    }
+    @Override
+    public boolean isSeekable() {
+        return true;
+    }
+    @Override
+    @Nonnull
+    public InputStream openSlice(long position, long length) throws IOException {
+        if (position < 0 || length < 0 || position + length > buffer.capacity()) {
+            throw new IOException("The slice " + position + "-" + (position + length - 1) + " is outside of the buffer of length " + buffer.capacity());
+        }
+        ByteBuffer slice = buffer.duplicate();
+        slice.position((int) position);
+        slice.limit((int) (position + length));
+        return new ByteBufferInputStream(slice);
+    }
+    @Override
+    public void close() {
+        // the buffer is owned by the caller
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer slice;
+        ByteBufferInputStream(ByteBuffer slice) {
+            this.slice = slice;
+        }
+        @Override
+        public int read() {
+            return slice.hasRemaining() ? slice.get() & 0xff : -1;
+        }
+        @Override
+        public int read(@Nonnull byte[] b, int off, int len) {
+            if (off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            if (len == 0) {
+                return 0;
+            }
+            if (!slice.hasRemaining()) {
+                return -1;
+            }
+            int read = Math.min(len, slice.remaining());
+            slice.get(b, off, read);
+            return read;
+        }
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, slice.remaining()));
+            slice.position(slice.position() + skipped);
+            return skipped;
+        }
+        @Override
+        public int available() {
+            return slice.remaining();
+        }
+    }
+}
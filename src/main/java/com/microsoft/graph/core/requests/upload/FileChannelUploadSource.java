@@ -0,0 +1,106 @@
+package com.microsoft.graph.core.requests.upload;
+
+import com.microsoft.graph.core.ErrorConstants;
+import com.microsoft.graph.core.models.IUploadSource;
+
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Upload source reading slices straight from a file.
+ * Slices are read with positional reads into the buffers of the HTTP client, so no slice is copied into a separate array,
+ * and slices can be opened at any offset and uploaded at the same time.
+ */
+public class FileChannelUploadSource implements IUploadSource {
+    private final FileChannel channel;
+    private final long length;
+    /**
+     * Creates an upload source over the file at the given path.
+     * @param path the path of the file to upload.
+     * @throws IOException if the file could not be opened.
+     */
+    public FileChannelUploadSource(@Nonnull Path path) throws IOException {
+        this(FileChannel.open(Objects.requireNonNull(path, ErrorConstants.Messages.NULL_PARAMETER + "path"), StandardOpenOption.READ));
+    }
+    /**
+     * Creates an upload source over the given channel, closing the source closes the channel.
+     * @param channel the channel of the file to upload.
+     * @throws IOException if the size of the channel could not be read.
+     */
+    public FileChannelUploadSource(@Nonnull FileChannel channel) throws IOException {
+        this.channel = Objects.requireNonNull(channel, ErrorConstants.Messages.NULL_PARAMETER + "channel");
+        this.length = channel.size();
+    }
+    @Override
+    public long getLength() {
+        return length;
+    }
+    @Override
+    public boolean isSeekable() {
+        return true;
+    }
+    @Override
+    @Nonnull
+    public InputStream openSlice(long position, long length) throws IOException {
+        if (position < 0 || length < 0 || position + length > this.length) {
+            throw new IOException("The slice " + position + "-" + (position + length - 1) + " is outside of the file of length " + this.length);
+        }
+        return new ChannelSliceInputStream(channel, position, length);
+    }
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static class ChannelSliceInputStream extends InputStream {
+        private final FileChannel channel;
+        private long position;
+        private long remaining;
+        ChannelSliceInputStream(FileChannel channel, long position, long length) {
+            this.channel = channel;
+            this.position = position;
+            this.remaining = length;
+        }
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+        }
+        @Override
+        public int read(@Nonnull byte[] b, int off, int len) throws IOException {
+            if (off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            if (len == 0) {
+                return 0;
+            }
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, remaining)), position);
+            if (read == -1) {
+                throw new IOException("The file ended before byte " + (position + remaining));
+            }
+            position += read;
+            remaining -= read;
+            return read;
+        }
+        @Override
+        public long skip(long n) {
+            long skipped = Math.max(0, Math.min(n, remaining));
+            position += skipped;
+            remaining -= skipped;
+            return skipped;
+        }
+        @Override
+        public int available() {
+            return (int) Math.min(remaining, Integer.MAX_VALUE);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.microsoft.graph.core.requests.upload;
+
+import com.microsoft.graph.core.ErrorConstants;
+import com.microsoft.graph.core.models.IUploadSource;
+
+import jakarta.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * Upload source reading slices from a stream in order.
+ * Each slice is read into memory so it can be sent again if its upload fails.
+ * Slices can only be opened at increasing positions, use a {@link FileChannelUploadSource} or a {@link ByteBufferUploadSource} to resume at any offset.
+ */
+public class InputStreamUploadSource implements IUploadSource {
+    private final InputStream stream;
+    private final long length;
+    private long streamPosition;
+    /**
+     * Creates an upload source over the given stream.
+     * @param stream the stream of the content to upload.
+     * @param length the number of bytes to upload.
+     */
+    public InputStreamUploadSource(@Nonnull InputStream stream, long length) {
+        this.stream = Objects.requireNonNull(stream, ErrorConstants.Messages.NULL_PARAMETER + "stream");
+        this.length = length;
+    }
+    @Override
+    public long getLength() {
+        return length;
+    }
+    @Override
+    public boolean isSeekable() {
+        return false;
+    }
+    @Override
+    @Nonnull
+    public synchronized InputStream openSlice(long position, long length) throws IOException {
+        if (position < streamPosition) {
+            throw new IOException("Cannot read the slice starting at byte " + position + " from a stream already read up to byte " + streamPosition);
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("The slice length " + length + " is larger than the maximum array size");
+        }
+        while (streamPosition < position) {
+            long skipped = stream.skip(position - streamPosition);
+            if (skipped <= 0) {
+                if (stream.read() == -1) {
+                    throw new IOException("The upload stream ended before byte " + position);
+                }
+                skipped = 1;
+            }
+            streamPosition += skipped;
+        }
+        byte[] buffer = new byte[(int) length];
+        int offset = 0;
+        while (offset < buffer.length) {
+            int read = stream.read(buffer, offset, buffer.length - offset);
+            if (read == -1) {
+                throw new IOException("The upload stream ended before byte " + (position + length));
+            }
+            offset += read;
+        }
+        streamPosition += length;
+        return new ByteArrayInputStream(buffer);
+    }
+    @Override
+    public void close() throws IOException {
+        stream.close();
+    }
+}
@@ -2,7 +2,9 @@ package com.microsoft.graph.core.requests.upload;
 
 import com.microsoft.graph.core.models.IUploadSession;
 import com.microsoft.graph.core.models.UploadResult;
+import com.microsoft.graph.core.requests.AsyncRequestSender;
 import com.microsoft.kiota.*;
+import com.microsoft.kiota.http.HeadersCompatibility;
 import com.microsoft.kiota.serialization.Parsable;
 import com.microsoft.kiota.serialization.ParsableFactory;
 import okhttp3.Response;
@@ -10,6 +12,7 @@ import okhttp3.Response;
 import jakarta.annotation.Nonnull;
 import java.io.InputStream;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * UploadSessionRequestBuilder class to get and delete an UploadSession.
@@ -52,6 +55,18 @@ public class UploadSessionRequestBuilder<T extends Parsable> {
         UploadResult<T> result = responseHandler.handleResponse((Response) nativeResponseHandler.getValue(), factory);
         return result.uploadSession;
     }
+    /**
+     * Gets the specified UploadSession without blocking the calling thread.
+     * @return a future completed with the IUploadSession
+     */
+    @Nonnull
+    public CompletableFuture<IUploadSession> getAsync() {
+        RequestInformation requestInformation = toGetRequestInformation();
+        return AsyncRequestSender.sendNative(requestAdapter, requestInformation).thenApply(response -> {
+            UploadResult<T> result = responseHandler.handleResponse(response, factory);
+            return result.uploadSession;
+        });
+    }
     private RequestInformation toGetRequestInformation() {
         RequestInformation requestInformation = new RequestInformation();
         requestInformation.httpMethod = HttpMethod.GET;
@@ -65,6 +80,26 @@ public class UploadSessionRequestBuilder<T extends Parsable> {
         RequestInformation requestInfo = this.toDeleteRequestInformation();
         this.requestAdapter.sendPrimitive(requestInfo, null, Void.class);
     }
+    /**
+     * Deletes the specified UploadSession without blocking the calling thread.
+     * Like {@link #delete()}, a failed response completes the future with an ApiException.
+     * @return a future completed once the UploadSession is deleted.
+     */
+    @Nonnull
+    public CompletableFuture<Void> deleteAsync() {
+        RequestInformation requestInfo = this.toDeleteRequestInformation();
+        return AsyncRequestSender.sendNative(requestAdapter, requestInfo).thenAccept(response -> {
+            try (Response deleteResponse = response) {
+                if (!deleteResponse.isSuccessful()) {
+                    throw new ApiExceptionBuilder()
+                            .withMessage("the server returned an unexpected status code and no error class is registered for this code " + deleteResponse.code())
+                            .withResponseStatusCode(deleteResponse.code())
+                            .withResponseHeaders(HeadersCompatibility.getResponseHeaders(deleteResponse.headers()))
+                            .build();
+                }
+            }
+        });
+    }
     private RequestInformation toDeleteRequestInformation() {
         RequestInformation requestInformation = new RequestInformation();
         requestInformation.httpMethod = HttpMethod.DELETE;
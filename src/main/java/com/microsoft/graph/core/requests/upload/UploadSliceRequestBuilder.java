@@ -1,6 +1,7 @@
 package com.microsoft.graph.core.requests.upload;
 
 import com.microsoft.graph.core.models.UploadResult;
+import com.microsoft.graph.core.requests.AsyncRequestSender;
 import com.microsoft.kiota.*;
 import com.microsoft.kiota.serialization.Parsable;
 import com.microsoft.kiota.serialization.ParsableFactory;
@@ -10,6 +11,7 @@ import jakarta.annotation.Nonnull;
 import java.io.InputStream;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Request for uploading a slice of a large file.
@@ -68,6 +70,25 @@ public class UploadSliceRequestBuilder<T extends Parsable> {
         requestAdapter.sendPrimitive(requestInformation,null, InputStream.class);
         return responseHandler.handleResponse((Response) nativeResponseHandler.getValue(), factory);
     }
+    /**
+     * Uploads the slice using PUT without blocking the calling thread.
+     * Cancelling the returned future cancels the request.
+     * @param stream The stream of data to be uploaded.
+     * @return A future completed with the model containing the Upload information retrieved from the response.
+     */
+    @Nonnull
+    public CompletableFuture<UploadResult<T>> putAsync(@Nonnull InputStream stream) {
+        Objects.requireNonNull(stream);
+        RequestInformation requestInformation = this.toPutRequestInformation(stream);
+        final CompletableFuture<Response> nativeResponse = AsyncRequestSender.sendNative(requestAdapter, requestInformation);
+        final CompletableFuture<UploadResult<T>> result = nativeResponse.thenApply(response -> responseHandler.handleResponse(response, factory));
+        result.whenComplete((value, ex) -> {
+            if (result.isCancelled()) {
+                nativeResponse.cancel(true);
+            }
+        });
+        return result;
+    }
     private RequestInformation toPutRequestInformation(InputStream stream) {
         Objects.requireNonNull(stream);
         RequestInformation  requestInfo = new RequestInformation();
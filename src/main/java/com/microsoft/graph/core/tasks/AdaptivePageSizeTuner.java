@@ -0,0 +1,111 @@
+package com.microsoft.graph.core.tasks;
+
+import com.microsoft.graph.core.ErrorConstants;
+import com.microsoft.kiota.RequestInformation;
+
+import jakarta.annotation.Nonnull;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tunes the $top query parameter of the page requests of a PageIterator to maximize the number of items received per second.
+ * The page size moves in the direction which last improved the throughput, and is halved when a page request is throttled.
+ * The page size always stays within the configured bounds.
+ */
+public class AdaptivePageSizeTuner implements UnaryOperator<RequestInformation> {
+    private static final Pattern TOP_PARAMETER = Pattern.compile("([?&])(?:\\$|%24)top=\\d*", Pattern.CASE_INSENSITIVE);
+    private static final double GROWTH_FACTOR = 1.5;
+    private static final double THROUGHPUT_TOLERANCE = 0.05;
+    private static final int THROTTLED_PAGES_WITHOUT_GROWTH = 2;
+    private final int minPageSize;
+    private final int maxPageSize;
+    private int pageSize;
+    private boolean growing = true;
+    private double lastThroughput;
+    private int pagesWithoutGrowth;
+    /**
+     * Instantiates a new AdaptivePageSizeTuner.
+     * @param minPageSize the minimum number of items to request per page.
+     * @param maxPageSize the maximum number of items to request per page.
+     * @param initialPageSize the number of items to request on the first page request, clamped within the bounds.
+     */
+    public AdaptivePageSizeTuner(int minPageSize, int maxPageSize, int initialPageSize) {
+        if (minPageSize < 1) {
+            throw new IllegalArgumentException("minPageSize must be greater than 0");
+        }
+        if (maxPageSize < minPageSize) {
+            throw new IllegalArgumentException("maxPageSize must not be less than minPageSize");
+        }
+        this.minPageSize = minPageSize;
+        this.maxPageSize = maxPageSize;
+        this.pageSize = clamp(initialPageSize);
+    }
+    /**
+     * Gets the number of items requested on the next page request.
+     * @return the current page size.
+     */
+    public synchronized int getPageSize() {
+        return pageSize;
+    }
+    /**
+     * Records a page received and moves the page size in the direction which improves the throughput.
+     * @param itemCount the number of items in the page.
+     * @param elapsedNanos the time elapsed between sending the page request and receiving the page.
+     */
+    public synchronized void onPageReceived(int itemCount, long elapsedNanos) {
+        if (itemCount <= 0 || elapsedNanos <= 0) {
+            return;
+        }
+        double throughput = itemCount / (double) elapsedNanos * TimeUnit.SECONDS.toNanos(1);
+        if (pagesWithoutGrowth > 0) {
+            pagesWithoutGrowth--;
+            lastThroughput = throughput;
+            return;
+        }
+        if (lastThroughput > 0 && throughput < lastThroughput * (1 - THROUGHPUT_TOLERANCE)) {
+            growing = !growing;
+        }
+        lastThroughput = throughput;
+        pageSize = clamp(growing ? (long) Math.ceil(pageSize * GROWTH_FACTOR) : (long) Math.floor(pageSize / GROWTH_FACTOR));
+    }
+    /**
+     * Records a throttled page request, the page size is halved and does not grow for the next pages.
+     */
+    public synchronized void onThrottled() {
+        pageSize = clamp(pageSize / 2);
+        growing = false;
+        lastThroughput = 0;
+        pagesWithoutGrowth = THROTTLED_PAGES_WITHOUT_GROWTH;
+    }
+    /**
+     * Sets the $top query parameter of the page request to the current page size, replacing any $top of the nextLink.
+     * @param requestInformation the page request.
+     * @return the page request.
+     */
+    @Override
+    @Nonnull
+    public RequestInformation apply(@Nonnull RequestInformation requestInformation) {
+        Objects.requireNonNull(requestInformation, ErrorConstants.Messages.NULL_PARAMETER + "requestInformation");
+        if (requestInformation.urlTemplate != null) {
+            requestInformation.urlTemplate = withPageSize(requestInformation.urlTemplate, getPageSize());
+        }
+        return requestInformation;
+    }
+    @Nonnull
+    static String withPageSize(@Nonnull String pageLink, int pageSize) {
+        Matcher matcher = TOP_PARAMETER.matcher(pageLink);
+        if (matcher.find()) {
+            return matcher.replaceAll("$1\\$top=" + pageSize);
+        }
+        int fragmentStart = pageLink.indexOf('#');
+        String link = fragmentStart < 0 ? pageLink : pageLink.substring(0, fragmentStart);
+        String fragment = fragmentStart < 0 ? "" : pageLink.substring(fragmentStart);
+        return link + (link.indexOf('?') < 0 ? "?" : "&") + "$top=" + pageSize + fragment;
+    }
+    private int clamp(long size) {
+        return (int) Math.max(minPageSize, Math.min(maxPageSize, size));
+    }
+}
@@ -0,0 +1,113 @@
+package com.microsoft.graph.core.tasks;
+
+import com.microsoft.graph.core.ErrorConstants;
+import com.microsoft.graph.core.models.IPageIteratorCheckpointStore;
+import com.microsoft.graph.core.models.PageIteratorCheckpoint;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * A checkpoint store writing one file per iteration key in a directory.
+ * Each checkpoint is written to a temporary file which is flushed to disk and then moved over the previous checkpoint,
+ * so a crash while saving leaves either the previous or the new checkpoint.
+ */
+public class FilePageIteratorCheckpointStore implements IPageIteratorCheckpointStore {
+    private static final String CHECKPOINT_FILE_EXTENSION = ".checkpoint";
+    private static final String KEY_PROPERTY = "key";
+    private static final String NEXT_LINK_PROPERTY = "nextLink";
+    private static final String DELTA_LINK_PROPERTY = "deltaLink";
+    private static final String ITEM_OFFSET_PROPERTY = "itemOffset";
+    private final Path directory;
+    /**
+     * Instantiates a new FilePageIteratorCheckpointStore.
+     * @param directory the directory to write the checkpoint files to, created if it does not exist.
+     * @throws IOException if the directory could not be created.
+     */
+    public FilePageIteratorCheckpointStore(@Nonnull Path directory) throws IOException {
+        this.directory = Files.createDirectories(Objects.requireNonNull(directory, ErrorConstants.Messages.NULL_PARAMETER + "directory"));
+    }
+    @Override
+    @Nullable
+    public PageIteratorCheckpoint load(@Nonnull String key) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream stream = Files.newInputStream(getCheckpointFile(key))) {
+            properties.load(stream);
+        } catch (NoSuchFileException ex) {
+            return null;
+        }
+        try {
+            return new PageIteratorCheckpoint(properties.getProperty(NEXT_LINK_PROPERTY),
+                properties.getProperty(DELTA_LINK_PROPERTY),
+                Integer.parseInt(properties.getProperty(ITEM_OFFSET_PROPERTY, "0")));
+        } catch (IllegalArgumentException ex) {
+            throw new IOException("Invalid checkpoint for key " + key, ex);
+        }
+    }
+    @Override
+    public void save(@Nonnull String key, @Nonnull PageIteratorCheckpoint checkpoint) throws IOException {
+        Objects.requireNonNull(checkpoint, ErrorConstants.Messages.NULL_PARAMETER + "checkpoint");
+        Path checkpointFile = getCheckpointFile(key);
+        Properties properties = new Properties();
+        properties.setProperty(KEY_PROPERTY, key);
+        properties.setProperty(NEXT_LINK_PROPERTY, checkpoint.getNextLink());
+        properties.setProperty(DELTA_LINK_PROPERTY, checkpoint.getDeltaLink());
+        properties.setProperty(ITEM_OFFSET_PROPERTY, Integer.toString(checkpoint.getItemOffset()));
+        Path temporaryFile = Files.createTempFile(directory, checkpointFile.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                OutputStream stream = Channels.newOutputStream(channel);
+                properties.store(stream, null);
+                stream.flush();
+                channel.force(true);
+            }
+            try {
+                Files.move(temporaryFile, checkpointFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temporaryFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+    @Override
+    public void delete(@Nonnull String key) throws IOException {
+        Files.deleteIfExists(getCheckpointFile(key));
+    }
+    /**
+     * Gets the file holding the checkpoint of the key, named after the SHA-256 hash of the key so any key maps to a valid file name.
+     * @param key the key identifying the iteration.
+     * @return the path of the checkpoint file.
+     */
+    @Nonnull
+    protected Path getCheckpointFile(@Nonnull String key) {
+        Objects.requireNonNull(key, ErrorConstants.Messages.NULL_PARAMETER + "key");
+        final byte[] hash;
+        try {
+            hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+        StringBuilder fileName = new StringBuilder(hash.length * 2 + CHECKPOINT_FILE_EXTENSION.length());
+        for (byte b : hash) {
+            fileName.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return directory.resolve(fileName.append(CHECKPOINT_FILE_EXTENSION).toString());
+    }
+}
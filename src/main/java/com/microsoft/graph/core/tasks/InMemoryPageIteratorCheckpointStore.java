@@ -0,0 +1,39 @@
+package com.microsoft.graph.core.tasks;
+
+import com.microsoft.graph.core.ErrorConstants;
+import com.microsoft.graph.core.models.IPageIteratorCheckpointStore;
+import com.microsoft.graph.core.models.PageIteratorCheckpoint;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A checkpoint store keeping the checkpoints in memory, for iterations which resume within the same process.
+ */
+public class InMemoryPageIteratorCheckpointStore implements IPageIteratorCheckpointStore {
+    private final ConcurrentMap<String, PageIteratorCheckpoint> checkpoints = new ConcurrentHashMap<>();
+    /**
+     * Instantiates a new empty InMemoryPageIteratorCheckpointStore.
+     */
+    public InMemoryPageIteratorCheckpointStore() {
+        // default constructor
+    }
+    @Override
+    @Nullable
+    public PageIteratorCheckpoint load(@Nonnull String key) {
+        return checkpoints.get(Objects.requireNonNull(key, ErrorConstants.Messages.NULL_PARAMETER + "key"));
+    }
+    @Override
+    public void save(@Nonnull String key, @Nonnull PageIteratorCheckpoint checkpoint) {
+        Objects.requireNonNull(key, ErrorConstants.Messages.NULL_PARAMETER + "key");
+        Objects.requireNonNull(checkpoint, ErrorConstants.Messages.NULL_PARAMETER + "checkpoint");
+        checkpoints.put(key, checkpoint);
+    }
+    @Override
+    public void delete(@Nonnull String key) {
+        checkpoints.remove(Objects.requireNonNull(key, ErrorConstants.Messages.NULL_PARAMETER + "key"));
+    }
+}
@@ -4,12 +4,16 @@ import com.microsoft.graph.core.ErrorConstants;
 import com.microsoft.graph.core.exceptions.ClientException;
 import com.microsoft.graph.core.models.IProgressCallback;
 import com.microsoft.graph.core.models.IUploadSession;
+import com.microsoft.graph.core.models.IUploadSource;
 import com.microsoft.graph.core.models.UploadResult;
 import com.microsoft.graph.core.models.UploadSession;
+import com.microsoft.graph.core.requests.AsyncRequestSender;
 import com.microsoft.graph.core.requests.BaseGraphRequestAdapter;
 import com.microsoft.graph.core.requests.FeatureFlag;
 import com.microsoft.graph.core.requests.GraphClientFactory;
 import com.microsoft.graph.core.requests.options.GraphClientOption;
+import com.microsoft.graph.core.requests.upload.FileChannelUploadSource;
+import com.microsoft.graph.core.requests.upload.InputStreamUploadSource;
 import com.microsoft.graph.core.requests.upload.UploadSessionRequestBuilder;
 import com.microsoft.graph.core.requests.upload.UploadSliceRequestBuilder;
 import com.microsoft.kiota.ApiException;
@@ -22,13 +26,15 @@ import okhttp3.OkHttpClient;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.time.OffsetDateTime;
 import java.util.*;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -41,12 +47,14 @@ public class LargeFileUploadTask<T extends Parsable > {
     private static final long DEFAULT_MAX_SLICE_SIZE = (long) 5*1024*1024;
     private IUploadSession uploadSession;
     private final RequestAdapter requestAdapter;
-    private final InputStream uploadStream;
+    private final IUploadSource uploadSource;
     private final long maxSliceSize;
     private ArrayList<AbstractMap.SimpleEntry<Long, Long>> rangesRemaining;
     private final long totalUploadLength;
     private final ParsableFactory<T> factory;
     private long amountUploaded;
+    private int maxConcurrentSlices = 1;
+    private int maxSliceTries = 3;
     /**
      * LargeFileUploadTask instance constructor.
      * @param requestAdapter The request adapter for this upload task.
@@ -85,20 +93,98 @@ public class LargeFileUploadTask<T extends Parsable > {
                                long streamSize,
                                long maxSliceSize,
                                @Nonnull ParsableFactory<T> factory) throws IllegalAccessException, IOException, InvocationTargetException, NoSuchMethodException {
+        this(requestAdapter, uploadSession, toUploadSource(uploadStream, streamSize), maxSliceSize, factory);
+    }
+    /**
+     * LargeFileUploadTask instance constructor.
+     * @param requestAdapter The request adapter for this upload task.
+     * @param uploadSession Parsable containing upload session information.
+     * @param uploadSource Source of the information to be uploaded, such as a {@link FileChannelUploadSource}. The caller is responsible for closing it.
+     * @param factory The ParsableFactory defining the instantiation of the object being uploaded.
+     * @throws IllegalAccessException thrown when attempting to extract uploadSession information.
+     * @throws InvocationTargetException thrown when attempting to extract uploadSession information.
+     * @throws NoSuchMethodException thrown when attempting to extract uploadSession information.
+     */
+    public LargeFileUploadTask(@Nullable final RequestAdapter requestAdapter,
+                               @Nonnull Parsable uploadSession,
+                               @Nonnull IUploadSource uploadSource,
+                               @Nonnull ParsableFactory<T> factory) throws IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+        this(requestAdapter, uploadSession, uploadSource, DEFAULT_MAX_SLICE_SIZE, factory);
+    }
+    /**
+     * LargeFileUploadTask instance constructor.
+     * @param requestAdapter The request adapter for this upload task.
+     * @param uploadSession Parsable containing upload session information.
+     * @param uploadSource Source of the information to be uploaded, such as a {@link FileChannelUploadSource}. The caller is responsible for closing it.
+     * @param maxSliceSize Max size(in bytes) of each slice to be uploaded. Defaults to 5 MB. When uploading to OneDrive or SharePoint, this value needs to be a multiple of 320 KiB (327,680 bytes).
+     * @param factory The ParsableFactory defining the instantiation of the object being uploaded.
+     * @throws IllegalAccessException thrown when attempting to extract uploadSession information.
+     * @throws InvocationTargetException thrown when attempting to extract uploadSession information.
+     * @throws NoSuchMethodException thrown when attempting to extract uploadSession information.
+     */
+    public LargeFileUploadTask(@Nullable final RequestAdapter requestAdapter,
+                               @Nonnull Parsable uploadSession,
+                               @Nonnull IUploadSource uploadSource,
+                               long maxSliceSize,
+                               @Nonnull ParsableFactory<T> factory) throws IllegalAccessException, InvocationTargetException, NoSuchMethodException {
         Objects.requireNonNull(uploadSession);
-        Objects.requireNonNull(uploadStream);
+        Objects.requireNonNull(uploadSource);
         Objects.requireNonNull(factory);
-        if(uploadStream.available() <=0) {
-            throw new IllegalArgumentException("Must provide a stream that is not empty.");
+        if(uploadSource.getLength() <= 0) {
+            throw new IllegalArgumentException("Must provide an upload source that is not empty.");
         }
         this.uploadSession = extractSessionFromParsable(uploadSession);
         this.requestAdapter = Objects.isNull(requestAdapter) ? initializeAdapter(this.uploadSession.getUploadUrl()):requestAdapter;
-        this.totalUploadLength = streamSize;
+        this.totalUploadLength = uploadSource.getLength();
         this.rangesRemaining = getRangesRemaining(this.uploadSession);
-        this.uploadStream = uploadStream;
+        this.uploadSource = uploadSource;
         this.maxSliceSize = maxSliceSize;
         this.factory = factory;
     }
+    private static IUploadSource toUploadSource(@Nonnull InputStream uploadStream, long streamSize) throws IOException {
+        Objects.requireNonNull(uploadStream);
+        if(uploadStream.available() <=0) {
+            throw new IllegalArgumentException("Must provide a stream that is not empty.");
+        }
+        return new InputStreamUploadSource(uploadStream, streamSize);
+    }
+    /**
+     * Sets the maximum number of slices uploaded at the same time by upload and resume.
+     * When the upload source is not seekable, slices are read in order and up to this many slices are held in memory at once.
+     * Defaults to 1, which uploads the slices one after another.
+     * @param maxConcurrentSlices the maximum number of slices uploaded at the same time.
+     */
+    public void setMaxConcurrentSlices(int maxConcurrentSlices) {
+        if (maxConcurrentSlices < 1) {
+            throw new IllegalArgumentException("maxConcurrentSlices must be greater than 0");
+        }
+        this.maxConcurrentSlices = maxConcurrentSlices;
+    }
+    /**
+     * Gets the maximum number of slices uploaded at the same time by upload and resume.
+     * @return the maximum number of slices uploaded at the same time.
+     */
+    public int getMaxConcurrentSlices() {
+        return maxConcurrentSlices;
+    }
+    /**
+     * Sets the number of times a slice is sent when slices are uploaded concurrently, before the slice fails the upload attempt.
+     * This is separate from the number of upload attempts given to upload and resume. Defaults to 3.
+     * @param maxSliceTries the maximum number of times a slice is sent.
+     */
+    public void setMaxSliceTries(int maxSliceTries) {
+        if (maxSliceTries < 1) {
+            throw new IllegalArgumentException("maxSliceTries must be greater than 0");
+        }
+        this.maxSliceTries = maxSliceTries;
+    }
+    /**
+     * Gets the number of times a slice is sent when slices are uploaded concurrently.
+     * @return the maximum number of times a slice is sent.
+     */
+    public int getMaxSliceTries() {
+        return maxSliceTries;
+    }
     /**
      * Perform the upload task.
      * @return An UploadResult model containing the information from the server resulting from the upload request.
@@ -126,16 +212,11 @@ public class LargeFileUploadTask<T extends Parsable > {
         while (uploadTries < maxTries) {
 
                 List<UploadSliceRequestBuilder<T>> uploadSliceRequestBuilders = getUploadSliceRequests();
-                for (UploadSliceRequestBuilder<T> request : uploadSliceRequestBuilders) {
-                    UploadResult<T> result;
-                    result = uploadSlice(request, exceptionsList);
-                    amountUploaded += request.getRangeLength();
-                    if(progress != null) {
-                        progress.report(amountUploaded, this.totalUploadLength);
-                    }
-                    if (result.isUploadSuccessful()) {
-                        return result;
-                    }
+                UploadResult<T> result = maxConcurrentSlices > 1 ?
+                    uploadSlicesConcurrently(uploadSliceRequestBuilders, progress) :
+                    uploadSlices(uploadSliceRequestBuilders, progress, exceptionsList);
+                if (result != null) {
+                    return result;
                 }
                 updateSessionStatus();
                 uploadTries += 1;
@@ -145,6 +226,117 @@ public class LargeFileUploadTask<T extends Parsable > {
             }
         throw new CancellationException("The upload task was retried the maximum number of times without success and has been cancelled.");
     }
+    /**
+     * Perform the upload task without blocking the calling thread.
+     * @return A future completed with an UploadResult model containing the information from the server resulting from the upload request.
+     */
+    @Nonnull
+    public CompletableFuture<UploadResult<T>> uploadAsync() {
+        return this.uploadAsync(3, null);
+    }
+    /**
+     * Perform the upload task without blocking the calling thread.
+     * Slices are read from the upload stream on the thread which completed the previous slice.
+     * @param maxTries Number of times to retry the task before giving up.
+     * @param progress IProgress interface describing how to report progress.
+     * @return A future completed with an UploadResult model containing the information from the server resulting from the upload request.
+     * Completes exceptionally with a CancellationException if the task was retried the maximum number of times.
+     */
+    @Nonnull
+    public CompletableFuture<UploadResult<T>> uploadAsync(int maxTries, @Nullable IProgressCallback progress) {
+        final CompletableFuture<UploadResult<T>> result = new CompletableFuture<>();
+        uploadAttemptAsync(0, maxTries, progress, new ArrayList<>(), result);
+        return result;
+    }
+    private void uploadAttemptAsync(int uploadTries, int maxTries, @Nullable IProgressCallback progress, ArrayList<Throwable> exceptionsList, CompletableFuture<UploadResult<T>> result) {
+        if (uploadTries >= maxTries) {
+            result.completeExceptionally(new CancellationException("The upload task was retried the maximum number of times without success and has been cancelled."));
+            return;
+        }
+        final CompletableFuture<UploadResult<T>> attempt = new CompletableFuture<>();
+        uploadSlicesAsync(getUploadSliceRequests().iterator(), progress, exceptionsList, attempt);
+        attempt.thenCompose(uploadResult -> {
+            if (uploadResult != null) {
+                result.complete(uploadResult);
+                return CompletableFuture.<Void>completedFuture(null);
+            }
+            return updateSessionStatusAsync().thenCompose(session -> uploadTries + 1 < maxTries ?
+                AsyncRequestSender.delay((long) 2 * (uploadTries + 1) * (uploadTries + 1), TimeUnit.SECONDS) :
+                CompletableFuture.<Void>completedFuture(null)
+            ).thenRun(() -> uploadAttemptAsync(uploadTries + 1, maxTries, progress, exceptionsList, result));
+        }).whenComplete((v, ex) -> {
+            if (ex != null) {
+                result.completeExceptionally(unwrapCompletionException(ex));
+            }
+        });
+    }
+    private void uploadSlicesAsync(Iterator<UploadSliceRequestBuilder<T>> requests, @Nullable IProgressCallback progress, ArrayList<Throwable> exceptionsList, CompletableFuture<UploadResult<T>> attempt) {
+        try {
+            while (requests.hasNext()) {
+                final UploadSliceRequestBuilder<T> request = requests.next();
+                final CompletableFuture<UploadResult<T>> sliceUpload = uploadSliceAsync(request, exceptionsList);
+                if (!sliceUpload.isDone()) {
+                    sliceUpload.whenComplete((sliceResult, ex) -> {
+                        if (ex != null) {
+                            attempt.completeExceptionally(unwrapCompletionException(ex));
+                        } else if (onSliceUploaded(request, sliceResult, progress)) {
+                            attempt.complete(sliceResult);
+                        } else {
+                            uploadSlicesAsync(requests, progress, exceptionsList, attempt);
+                        }
+                    });
+                    return;
+                }
+                UploadResult<T> sliceResult = sliceUpload.join();
+                if (onSliceUploaded(request, sliceResult, progress)) {
+                    attempt.complete(sliceResult);
+                    return;
+                }
+            }
+            attempt.complete(null);
+        } catch (RuntimeException ex) {
+            attempt.completeExceptionally(unwrapCompletionException(ex));
+        }
+    }
+    private boolean onSliceUploaded(UploadSliceRequestBuilder<T> request, UploadResult<T> sliceResult, @Nullable IProgressCallback progress) {
+        amountUploaded += request.getRangeLength();
+        if(progress != null) {
+            progress.report(amountUploaded, this.totalUploadLength);
+        }
+        return sliceResult.isUploadSuccessful();
+    }
+    private CompletableFuture<UploadResult<T>> uploadSliceAsync(UploadSliceRequestBuilder<T> uploadSliceRequestBuilder, ArrayList<Throwable> exceptionsList) {
+        final InputStream chunkStream;
+        try {
+            chunkStream = uploadSource.openSlice(uploadSliceRequestBuilder.getRangeBegin(), uploadSliceRequestBuilder.getRangeLength());
+        } catch (IOException ex) {
+            CompletableFuture<UploadResult<T>> failed = new CompletableFuture<>();
+            failed.completeExceptionally(ex);
+            return failed;
+        }
+        return uploadSliceRequestBuilder.putAsync(chunkStream).handle((sliceResult, ex) -> {
+            if (ex == null) {
+                return sliceResult;
+            }
+            Throwable cause = unwrapCompletionException(ex);
+            if (cause instanceof ApiException) {
+                return handleApiException((ApiException) cause, exceptionsList);
+            }
+            throw new CompletionException(cause);
+        });
+    }
+    private CompletableFuture<IUploadSession> updateSessionStatusAsync() {
+        UploadSessionRequestBuilder<T> sessionRequestBuilder = new UploadSessionRequestBuilder<>(this.uploadSession.getUploadUrl(), this.requestAdapter, this.factory);
+        return sessionRequestBuilder.getAsync().thenApply(session -> {
+            this.rangesRemaining = getRangesRemaining(session);
+            session.setUploadUrl(this.uploadSession.getUploadUrl());
+            this.uploadSession = session;
+            return session;
+        });
+    }
+    private static Throwable unwrapCompletionException(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
     /**
      * Resume the upload task.
      * @return An UploadResult model containing the information from the server resulting from the upload request.
@@ -201,19 +393,136 @@ public class LargeFileUploadTask<T extends Parsable > {
         return session;
     }
     private UploadResult<T> uploadSlice(UploadSliceRequestBuilder<T> uploadSliceRequestBuilder, ArrayList<Throwable> exceptionsList) throws IOException {
-        byte[] buffer = chunkInputStream(uploadStream,(int) uploadSliceRequestBuilder.getRangeBegin(), (int)uploadSliceRequestBuilder.getRangeLength());
-        ByteArrayInputStream chunkStream = new ByteArrayInputStream(buffer);
+        InputStream chunkStream = uploadSource.openSlice(uploadSliceRequestBuilder.getRangeBegin(), uploadSliceRequestBuilder.getRangeLength());
         try {
             return uploadSliceRequestBuilder.put(chunkStream);
         } catch (ApiException apiException) {
             return handleApiException(apiException, exceptionsList);
         }
     }
+    @Nullable
+    private UploadResult<T> uploadSlices(List<UploadSliceRequestBuilder<T>> requests, @Nullable IProgressCallback progress, ArrayList<Throwable> exceptionsList) throws IOException {
+        for (UploadSliceRequestBuilder<T> request : requests) {
+            UploadResult<T> result;
+            result = uploadSlice(request, exceptionsList);
+            amountUploaded += request.getRangeLength();
+            if(progress != null) {
+                progress.report(amountUploaded, this.totalUploadLength);
+            }
+            if (result.isUploadSuccessful()) {
+                return result;
+            }
+        }
+        return null;
+    }
+    /**
+     * Uploads the slices with up to maxConcurrentSlices requests in flight.
+     * Each slice is retried on its own, up to maxSliceTries times, so only the failed range is sent again.
+     * The slices still in flight when the upload stops are cancelled along with their requests.
+     * @return the result of the slice which completed the upload, null if the upload is not complete yet.
+     */
+    @Nullable
+    private UploadResult<T> uploadSlicesConcurrently(List<UploadSliceRequestBuilder<T>> requests, @Nullable IProgressCallback progress) throws IOException, InterruptedException {
+        final Iterator<UploadSliceRequestBuilder<T>> pending = requests.iterator();
+        final Map<CompletableFuture<UploadResult<T>>, UploadSliceRequestBuilder<T>> inFlight = new LinkedHashMap<>();
+        UploadResult<T> completedUpload = null;
+        try {
+            while (pending.hasNext() || !inFlight.isEmpty()) {
+                while (pending.hasNext() && inFlight.size() < maxConcurrentSlices) {
+                    UploadSliceRequestBuilder<T> request = pending.next();
+                    InputStream slice = uploadSource.openSlice(request.getRangeBegin(), request.getRangeLength());
+                    CompletableFuture<UploadResult<T>> sliceUpload = new CompletableFuture<>();
+                    putSliceAsync(request, slice, 1, sliceUpload);
+                    inFlight.put(sliceUpload, request);
+                }
+                try {
+                    CompletableFuture.anyOf(inFlight.keySet().toArray(new CompletableFuture<?>[0])).get();
+                } catch (ExecutionException ex) {
+                    // the failed slice is reported below
+                }
+                Iterator<Map.Entry<CompletableFuture<UploadResult<T>>, UploadSliceRequestBuilder<T>>> entries = inFlight.entrySet().iterator();
+                while (entries.hasNext()) {
+                    Map.Entry<CompletableFuture<UploadResult<T>>, UploadSliceRequestBuilder<T>> entry = entries.next();
+                    if (!entry.getKey().isDone()) {
+                        continue;
+                    }
+                    entries.remove();
+                    UploadResult<T> result = getSliceResult(entry.getKey());
+                    amountUploaded += entry.getValue().getRangeLength();
+                    if (progress != null) {
+                        progress.report(amountUploaded, this.totalUploadLength);
+                    }
+                    if (result.isUploadSuccessful()) {
+                        completedUpload = result;
+                    }
+                }
+            }
+            return completedUpload;
+        } finally {
+            for (CompletableFuture<UploadResult<T>> sliceUpload : inFlight.keySet()) {
+                sliceUpload.cancel(true);
+            }
+        }
+    }
+    private void putSliceAsync(UploadSliceRequestBuilder<T> request, InputStream slice, int sliceTries, CompletableFuture<UploadResult<T>> sliceUpload) {
+        if (sliceUpload.isDone()) {
+            return;
+        }
+        final CompletableFuture<UploadResult<T>> put = request.putAsync(slice);
+        sliceUpload.whenComplete((result, ex) -> {
+            if (sliceUpload.isCancelled()) {
+                put.cancel(true);
+            }
+        });
+        put.whenComplete((result, ex) -> {
+            if (ex == null) {
+                sliceUpload.complete(result);
+                return;
+            }
+            Throwable cause = unwrapCompletionException(ex);
+            if (cause instanceof ApiException && isInvalidRange((ApiException) cause)) {
+                sliceUpload.complete(new UploadResult<>());
+            } else if (sliceTries < maxSliceTries && (cause instanceof ApiException || cause instanceof IOException)) {
+                AsyncRequestSender.delay((long) 2 * sliceTries * sliceTries, TimeUnit.SECONDS).thenRun(() -> {
+                    try {
+                        putSliceAsync(request, reopenSlice(request, slice), sliceTries + 1, sliceUpload);
+                    } catch (IOException reopenException) {
+                        sliceUpload.completeExceptionally(reopenException);
+                    }
+                });
+            } else {
+                sliceUpload.completeExceptionally(cause);
+            }
+        });
+    }
+    private InputStream reopenSlice(UploadSliceRequestBuilder<T> request, InputStream slice) throws IOException {
+        if (uploadSource.isSeekable()) {
+            return uploadSource.openSlice(request.getRangeBegin(), request.getRangeLength());
+        }
+        slice.reset();
+        return slice;
+    }
+    private UploadResult<T> getSliceResult(CompletableFuture<UploadResult<T>> sliceUpload) throws IOException {
+        try {
+            return sliceUpload.join();
+        } catch (CompletionException ex) {
+            Throwable cause = unwrapCompletionException(ex);
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw ex;
+        }
+    }
+    private static boolean isInvalidRange(ApiException apiException) {
+        return apiException.getMessage().toLowerCase(Locale.ROOT).contains(ErrorConstants.Codes.INVALID_RANGE.toLowerCase(Locale.ROOT));
+    }
     private UploadResult<T> handleApiException(ApiException apiException, ArrayList<Throwable> exceptionsList) {
         if(apiException.getMessage().toLowerCase(Locale.ROOT).contains(ErrorConstants.Codes.GENERAL_EXCEPTION.toLowerCase(Locale.ROOT))
             || apiException.getMessage().toLowerCase(Locale.ROOT).contains(ErrorConstants.Codes.TIMEOUT.toLowerCase(Locale.ROOT))) {
                 exceptionsList.add(apiException);
-        } else if (apiException.getMessage().toLowerCase(Locale.ROOT).contains(ErrorConstants.Codes.INVALID_RANGE.toLowerCase(Locale.ROOT))) {
+        } else if (isInvalidRange(apiException)) {
             return new UploadResult<>();
         }
         throw apiException;
@@ -275,10 +584,4 @@ public class LargeFileUploadTask<T extends Parsable > {
         long size = rangeEnd - rangeBegin + 1;
         return Math.min(size, this.maxSliceSize);
     }
-    private byte[] chunkInputStream(InputStream stream, int begin, int length) throws IOException {
-        byte[] buffer = new byte[length];
-        int lengthAssert = stream.read(buffer, begin, length);
-        assert lengthAssert == length;
-        return buffer;
-    }
 }
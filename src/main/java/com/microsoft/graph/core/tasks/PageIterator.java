@@ -1,7 +1,12 @@
 package com.microsoft.graph.core.tasks;
 
 import com.microsoft.graph.core.CoreConstants;
+import com.microsoft.graph.core.content.BatchResponseContent;
+import com.microsoft.graph.core.models.IPageIteratorCheckpointStore;
+import com.microsoft.graph.core.models.PageIteratorCheckpoint;
+import com.microsoft.graph.core.requests.AsyncRequestSender;
 import com.microsoft.graph.core.requests.IBaseClient;
+import com.microsoft.graph.core.requests.RetryDelays;
 import com.microsoft.kiota.*;
 import com.microsoft.kiota.serialization.AdditionalDataHolder;
 import com.microsoft.kiota.serialization.Parsable;
@@ -9,11 +14,29 @@ import com.microsoft.kiota.serialization.ParsableFactory;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A class for iterating through pages of a collection
@@ -21,7 +44,7 @@ import java.util.function.UnaryOperator;
  * @param <TEntity> The type of the entity returned in the collection. This type must implement {@link Parsable}
  * @param <TCollectionPage> The Microsoft Graph collection response type returned in the collection response. This type must implement {@link Parsable} and {@link AdditionalDataHolder}
  */
-public class PageIterator<TEntity extends Parsable, TCollectionPage extends Parsable & AdditionalDataHolder> {
+public class PageIterator<TEntity extends Parsable, TCollectionPage extends Parsable & AdditionalDataHolder> implements Iterable<TEntity> {
     /**
      * Creates a new instance of the PageIterator class
      */
@@ -29,12 +52,32 @@ public class PageIterator<TEntity extends Parsable, TCollectionPage extends Pars
         // default constructor
     }
     private static final String NO_COLLECTION_PROPERTY_ERROR = "The Parsable does not contain a collection property.";
+    private static final int TOO_MANY_REQUESTS_STATUS_CODE = 429;
     private RequestAdapter requestAdapter;
     private TCollectionPage currentPage;
     private ParsableFactory<TCollectionPage> collectionPageFactory;
     private Queue<TEntity> pageItemQueue;
     private Function<TEntity, Boolean> processPageItemCallback;
     private UnaryOperator<RequestInformation> requestConfigurator;
+    private int prefetchDepth;
+    private Executor itemExecutor;
+    private int maxConcurrentItems;
+    private boolean orderedItemProcessing;
+    private Semaphore itemPermits;
+    private final AtomicBoolean stopItemProcessing = new AtomicBoolean();
+    private final AtomicReference<Throwable> itemProcessingFailure = new AtomicReference<>();
+    //Guarded by itself, pages are discarded from the callbacks of the page requests and from any thread calling discardPrefetchedPages
+    private final ArrayDeque<CompletableFuture<PrefetchedPage<TCollectionPage>>> prefetchedPages = new ArrayDeque<>();
+    private final Set<CompletableFuture<TCollectionPage>> prefetchRequests = ConcurrentHashMap.newKeySet();
+    private volatile int prefetchGeneration;
+    private IPageIteratorCheckpointStore checkpointStore;
+    private String checkpointKey;
+    private int currentPageItemCount;
+    private int pendingItemSkip;
+    private boolean checkpointPageFetchPending;
+    private AdaptivePageSizeTuner pageSizeTuner;
+    private int maxPageRequestRetries;
+    private long maxPageRequestRetryNanos;
 
 
     private String deltaLink;
@@ -86,6 +129,59 @@ public class PageIterator<TEntity extends Parsable, TCollectionPage extends Pars
     protected void setRequestConfigurator(@Nullable UnaryOperator<RequestInformation> requestConfigurator) {
         this.requestConfigurator = requestConfigurator;
     }
+    /**
+     * The number of pages to fetch in the background while the items of the current page are processed.
+     * @param prefetchDepth the number of pages to prefetch, 0 to fetch each page once the previous one is processed.
+     */
+    protected void setPrefetchDepth(int prefetchDepth) {
+        if (prefetchDepth < 0) {
+            throw new IllegalArgumentException("prefetchDepth must not be negative");
+        }
+        this.prefetchDepth = prefetchDepth;
+    }
+    /**
+     * Processes the items of the pages on the given executor instead of the iterating thread.
+     * @param itemExecutor the executor to invoke the processPageItemCallback on.
+     * @param maxConcurrentItems the maximum number of items processed at the same time.
+     * @param orderedItemProcessing whether all the items of a page are processed before the items of the next page are started.
+     */
+    protected void setConcurrentItemProcessing(@Nonnull Executor itemExecutor, int maxConcurrentItems, boolean orderedItemProcessing) {
+        if (maxConcurrentItems < 1) {
+            throw new IllegalArgumentException("maxConcurrentItems must be greater than 0");
+        }
+        this.itemExecutor = Objects.requireNonNull(itemExecutor);
+        this.maxConcurrentItems = maxConcurrentItems;
+        this.orderedItemProcessing = orderedItemProcessing;
+        this.itemPermits = new Semaphore(maxConcurrentItems);
+    }
+    /**
+     * The store to record the position of the iteration in, at each page boundary, when the iteration is paused and once it completes.
+     * @param checkpointStore the store to record the checkpoints in.
+     * @param checkpointKey the key identifying the iteration in the store.
+     */
+    protected void setCheckpointStore(@Nonnull IPageIteratorCheckpointStore checkpointStore, @Nonnull String checkpointKey) {
+        this.checkpointStore = Objects.requireNonNull(checkpointStore);
+        this.checkpointKey = Objects.requireNonNull(checkpointKey);
+    }
+    /**
+     * The tuner adjusting the $top query parameter of the page requests, applied after the request configurator.
+     * @param pageSizeTuner the tuner to adjust the page size with, null to request the nextLinks unchanged.
+     */
+    protected void setPageSizeTuner(@Nullable AdaptivePageSizeTuner pageSizeTuner) {
+        this.pageSizeTuner = pageSizeTuner;
+    }
+    /**
+     * Retries the page requests which fail with a 429, 503 or 504 status code.
+     * @param maxPageRequestRetries the maximum number of retries per page, 0 to fail on the first error.
+     * @param maxPageRequestRetryTime the maximum time between the first request of a page and the last retry.
+     */
+    protected void setPageRequestRetry(int maxPageRequestRetries, @Nonnull Duration maxPageRequestRetryTime) {
+        if (maxPageRequestRetries < 0) {
+            throw new IllegalArgumentException("maxRetries must not be negative");
+        }
+        this.maxPageRequestRetries = maxPageRequestRetries;
+        this.maxPageRequestRetryNanos = Objects.requireNonNull(maxPageRequestRetryTime).toNanos();
+    }
     /**
      * The current page of the collection.
      * @param currentPage the current page of the collection.
@@ -106,6 +202,7 @@ public class PageIterator<TEntity extends Parsable, TCollectionPage extends Pars
      */
     protected void setPageItemQueue(@Nonnull Queue<TEntity> pageItemQueue) {
         this.pageItemQueue = Objects.requireNonNull(pageItemQueue);
+        this.currentPageItemCount = pageItemQueue.size();
     }
     /**
      * A builder class for building a PageIterator.
@@ -124,6 +221,16 @@ public class PageIterator<TEntity extends Parsable, TCollectionPage extends Pars
         private ParsableFactory<TCollectionPage> collectionPageFactory;
         private UnaryOperator<RequestInformation> requestConfigurator;
         private Function<TEntity, Boolean> processPageItemCallback;
+        private int prefetchDepth;
+        private Executor itemExecutor;
+        private int maxConcurrentItems;
+        private boolean orderedItemProcessing;
+        private IPageIteratorCheckpointStore checkpointStore;
+        private String checkpointKey;
+        private int minPageSize;
+        private int maxPageSize;
+        private int maxPageRequestRetries;
+        private Duration maxPageRequestRetryTime = Duration.ZERO;
         private RequestAdapter getRequestAdapter() {
             return this.requestAdapter;
         }
@@ -181,12 +288,105 @@ public class PageIterator<TEntity extends Parsable, TCollectionPage extends Pars
             this.processPageItemCallback = Objects.requireNonNull(processPageItemCallback);
             return this;
         }
+        /**
+         * Sets the number of pages to fetch in the background while the items of the current page are processed.
+         * At most this many pages are held in memory in addition to the current page. Defaults to 0, which fetches each page once the previous one is processed.
+         * The request configurator may be invoked from the thread which received the previous page.
+         * @param prefetchDepth the number of pages to prefetch.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> prefetchDepth(int prefetchDepth) {
+            if (prefetchDepth < 0) {
+                throw new IllegalArgumentException("prefetchDepth must not be negative");
+            }
+            this.prefetchDepth = prefetchDepth;
+            return this;
+        }
+        /**
+         * Processes the items on the given executor, with up to maxConcurrentItems callbacks running at the same time.
+         * On Java 21 and above, an executor which starts a virtual thread per task can be used.
+         * Once a callback returns false no further item is started, the items already started complete and the iterator is paused;
+         * the items which were not started are processed when the iteration is resumed.
+         * When ordered is true, all the items of a page complete before the items of the next page are started.
+         * Otherwise the next page is requested while the last items of the current page are still being processed.
+         * @param itemExecutor the executor to invoke the processPageItemCallback on.
+         * @param maxConcurrentItems the maximum number of items processed at the same time.
+         * @param ordered whether all the items of a page complete before the items of the next page are started.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> processPageItemsConcurrently(@Nonnull Executor itemExecutor, int maxConcurrentItems, boolean ordered) {
+            if (maxConcurrentItems < 1) {
+                throw new IllegalArgumentException("maxConcurrentItems must be greater than 0");
+            }
+            this.itemExecutor = Objects.requireNonNull(itemExecutor);
+            this.maxConcurrentItems = maxConcurrentItems;
+            this.orderedItemProcessing = ordered;
+            return this;
+        }
+        /**
+         * Records the position of the iteration in the given store, and resumes from the checkpoint recorded for the key if there is one.
+         * A checkpoint is recorded at each page boundary, when the iteration is paused and when it reaches the deltaLink,
+         * the checkpoint is removed once an iteration without deltaLink completes. {@link PageIterator#saveCheckpoint()} records one on demand.
+         * An iteration resumed from a checkpoint requests the page it was processing again and skips the items already processed,
+         * items processed after the last checkpoint are processed again.
+         * When items are processed concurrently without ordering, no checkpoint is recorded at page boundaries.
+         * @param checkpointStore the store to record the checkpoints in.
+         * @param checkpointKey the key identifying the iteration in the store.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> checkpointStore(@Nonnull IPageIteratorCheckpointStore checkpointStore, @Nonnull String checkpointKey) {
+            this.checkpointStore = Objects.requireNonNull(checkpointStore);
+            this.checkpointKey = Objects.requireNonNull(checkpointKey);
+            return this;
+        }
+        /**
+         * Adjusts the $top query parameter of the follow-up page requests to maximize the number of items received per second.
+         * The page size starts from the size of the collection page, grows or shrinks with the measured throughput of each page
+         * and is halved when a page request is throttled, always within the given bounds.
+         * The $top parameter is applied after the request configurator, and replaces the one of the nextLink.
+         * @param minPageSize the minimum number of items to request per page.
+         * @param maxPageSize the maximum number of items to request per page.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> adaptivePageSize(int minPageSize, int maxPageSize) {
+            if (minPageSize < 1) {
+                throw new IllegalArgumentException("minPageSize must be greater than 0");
+            }
+            if (maxPageSize < minPageSize) {
+                throw new IllegalArgumentException("maxPageSize must not be less than minPageSize");
+            }
+            this.minPageSize = minPageSize;
+            this.maxPageSize = maxPageSize;
+            return this;
+        }
+        /**
+         * Retries the page requests which fail with a 429, 503 or 504 status code, instead of failing the iteration.
+         * Each retry waits for the Retry-After of the response, or for an exponential backoff with jitter when there is none.
+         * A page is not retried once maxRetries is reached or when the next wait would end after maxElapsedTime since its first request.
+         * Defaults to no retries.
+         * @param maxRetries the maximum number of retries per page.
+         * @param maxElapsedTime the maximum time between the first request of a page and its last retry.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> retryPageRequests(int maxRetries, @Nonnull Duration maxElapsedTime) {
+            if (maxRetries < 0) {
+                throw new IllegalArgumentException("maxRetries must not be negative");
+            }
+            this.maxPageRequestRetries = maxRetries;
+            this.maxPageRequestRetryTime = Objects.requireNonNull(maxElapsedTime);
+            return this;
+        }
         /**
          * Builds the PageIterator object.
          * Will fail if request adapter is not set.
          * Will fail if current collection page is not set.
          * Will fail if collection page factory is not set.
-         * Will fail if process page item callback is not set.
+         * The process page item callback is only required to iterate with {@link PageIterator#iterate()} or {@link PageIterator#iterateAsync()}.
          */
         @Nonnull
         private PageIterator<TEntity, TCollectionPage> build(@Nonnull PageIterator<TEntity, TCollectionPage> instance) throws InvocationTargetException, IllegalAccessException {
@@ -198,10 +398,31 @@ public class PageIterator<TEntity extends Parsable, TCollectionPage extends Pars
             instance.setCurrentPage(Objects.requireNonNull(this.getCollectionPage()));
             instance.setCollectionPageFactory(Objects.requireNonNull(this.getCollectionPageFactory()));
             instance.setRequestConfigurator(this.getRequestConfigurator());
-            instance.setProcessPageItemCallback(Objects.requireNonNull(this.getProcessPageItemCallback()));
+            if (this.getProcessPageItemCallback() != null) {
+                instance.setProcessPageItemCallback(this.getProcessPageItemCallback());
+            }
+            instance.setPrefetchDepth(this.prefetchDepth);
+            instance.setPageRequestRetry(this.maxPageRequestRetries, this.maxPageRequestRetryTime);
+            if (this.itemExecutor != null) {
+                instance.setConcurrentItemProcessing(this.itemExecutor, this.maxConcurrentItems, this.orderedItemProcessing);
+            }
 
-            Queue<TEntity> currentCollection = new LinkedList<>(extractEntityListFromParsable(this.getCollectionPage()));
-            instance.setPageItemQueue(currentCollection);
+            instance.setPageItemQueue(new PageItemCursor<>(extractEntityListFromParsable(this.getCollectionPage())));
+            if (this.maxPageSize > 0) {
+                instance.setPageSizeTuner(new AdaptivePageSizeTuner(this.minPageSize, this.maxPageSize, instance.currentPageItemCount));
+            }
+            if (this.checkpointStore != null) {
+                instance.setCheckpointStore(this.checkpointStore, this.checkpointKey);
+                final PageIteratorCheckpoint checkpoint;
+                try {
+                    checkpoint = this.checkpointStore.load(this.checkpointKey);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                if (checkpoint != null) {
+                    instance.restoreCheckpoint(checkpoint);
+                }
+            }
             return instance;
         }
         @Override
@@ -211,22 +432,47 @@ public class PageIterator<TEntity extends Parsable, TCollectionPage extends Pars
         }
     }
     private boolean intrapageIterate() throws ReflectiveOperationException {
+        if (this.processPageItemCallback == null) {
+            throw new IllegalStateException("A processPageItemCallback must be set to iterate with a callback");
+        }
         this.state = PageIteratorState.INTRAPAGE_ITERATION;
-        while (!this.pageItemQueue.isEmpty()) {
-            boolean shouldContinue= this.processPageItemCallback.apply(this.pageItemQueue.remove());
-            if (!shouldContinue) {
+        prefetchNextPages();
+        if (this.itemExecutor != null) {
+            if (!processPageItemsConcurrently()) {
                 this.state = PageIteratorState.PAUSED;
+                recordCheckpoint(getCurrentPageItemOffset());
                 return false;
             }
+        } else {
+            while (!this.pageItemQueue.isEmpty()) {
+                boolean shouldContinue= this.processPageItemCallback.apply(this.pageItemQueue.remove());
+                if (!shouldContinue) {
+                    this.state = PageIteratorState.PAUSED;
+                    recordCheckpoint(getCurrentPageItemOffset());
+                    return false;
+                }
+            }
         }
 
         String extractedNextLink = extractNextLinkFromParsable(this.currentPage, null);
         if (!Compatibility.isBlank(extractedNextLink)){
             this.nextLink = extractedNextLink;
             this.deltaLink = "";
+            if (this.itemExecutor == null || this.orderedItemProcessing) {
+                recordCheckpoint(0);
+            }
             return true;
         }
 
+        if (this.itemExecutor != null && !awaitItemsInFlight()) {
+            this.state = PageIteratorState.PAUSED;
+            recordCheckpoint(getCurrentPageItemOffset());
+            return false;
+        }
+        completeIteration();
+        return false;
+    }
+    private void completeIteration() throws ReflectiveOperationException {
         String extractedDeltaLink = extractNextLinkFromParsable(this.currentPage, CoreConstants.CollectionResponseMethods.GET_ODATA_DELTA_LINK);
         if (!Compatibility.isBlank(extractedDeltaLink)){
             this.deltaLink = extractedDeltaLink;
@@ -235,23 +481,404 @@ public class PageIterator<TEntity extends Parsable, TCollectionPage extends Pars
             this.state = PageIteratorState.COMPLETE;
         }
         this.nextLink = "";
-        return false;
+        discardPrefetchedPages();
+        recordCheckpoint(0);
+    }
+    private void restoreCheckpoint(@Nonnull PageIteratorCheckpoint checkpoint) {
+        this.nextLink = checkpoint.getNextLink();
+        this.deltaLink = checkpoint.getDeltaLink();
+        this.pendingItemSkip = checkpoint.getItemOffset();
+        if (Compatibility.isBlank(this.nextLink) && Compatibility.isBlank(this.deltaLink)) {
+            skipPendingItems();
+            return;
+        }
+        this.pageItemQueue.clear();
+        this.currentPageItemCount = 0;
+        if (Compatibility.isBlank(this.nextLink)) {
+            this.state = PageIteratorState.DELTA;
+        } else {
+            this.checkpointPageFetchPending = true;
+        }
+    }
+    private void skipPendingItems() {
+        while (this.pendingItemSkip > 0 && !this.pageItemQueue.isEmpty()) {
+            this.pageItemQueue.remove();
+            this.pendingItemSkip--;
+        }
+        this.pendingItemSkip = 0;
+    }
+    private boolean isPageFetchPending() {
+        return this.state == PageIteratorState.DELTA || this.checkpointPageFetchPending;
+    }
+    private int getCurrentPageItemOffset() {
+        if (isPageFetchPending()) {
+            return this.pendingItemSkip;
+        }
+        if (this.state == PageIteratorState.INTERPAGE_ITERATION || this.state == PageIteratorState.COMPLETE) {
+            return 0;
+        }
+        return Math.max(0, this.currentPageItemCount - this.pageItemQueue.size());
+    }
+    /**
+     * Records the current position of the iteration in the checkpoint store.
+     * Callers consuming the items through {@link #iterator()} or {@link #stream()} can use it to record their progress within a page.
+     * @throws IOException if the checkpoint could not be written.
+     */
+    public void saveCheckpoint() throws IOException {
+        if (this.checkpointStore == null) {
+            throw new IllegalStateException("No checkpoint store is configured for this page iterator");
+        }
+        writeCheckpoint(getCurrentPageItemOffset());
+    }
+    private void recordCheckpoint(int itemOffset) {
+        if (this.checkpointStore == null) {
+            return;
+        }
+        try {
+            writeCheckpoint(itemOffset);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    private void writeCheckpoint(int itemOffset) throws IOException {
+        if (this.state == PageIteratorState.COMPLETE) {
+            this.checkpointStore.delete(this.checkpointKey);
+        } else {
+            this.checkpointStore.save(this.checkpointKey, new PageIteratorCheckpoint(this.nextLink, this.deltaLink, itemOffset));
+        }
+    }
+    /**
+     * Hands the items of the queue to the item executor, without exceeding the maximum number of items in flight.
+     * @return false if a callback returned false, in which case the items in flight have completed.
+     */
+    private boolean processPageItemsConcurrently() {
+        while (!this.pageItemQueue.isEmpty() && !this.stopItemProcessing.get()) {
+            this.itemPermits.acquireUninterruptibly();
+            if (this.stopItemProcessing.get()) {
+                this.itemPermits.release();
+                break;
+            }
+            final TEntity item = this.pageItemQueue.remove();
+            try {
+                this.itemExecutor.execute(() -> {
+                    try {
+                        if (!this.processPageItemCallback.apply(item)) {
+                            this.stopItemProcessing.set(true);
+                        }
+                    } catch (Throwable ex) {
+                        this.itemProcessingFailure.compareAndSet(null, ex);
+                        this.stopItemProcessing.set(true);
+                    } finally {
+                        this.itemPermits.release();
+                    }
+                });
+            } catch (RuntimeException ex) {
+                this.itemPermits.release();
+                awaitItemsInFlight();
+                throw ex;
+            }
+        }
+        if (this.orderedItemProcessing || this.stopItemProcessing.get()) {
+            return awaitItemsInFlight();
+        }
+        return true;
+    }
+    /**
+     * Waits for the items in flight to complete and rethrows the first failure of a callback.
+     * @return false if a callback returned false.
+     */
+    private boolean awaitItemsInFlight() {
+        this.itemPermits.acquireUninterruptibly(this.maxConcurrentItems);
+        this.itemPermits.release(this.maxConcurrentItems);
+        Throwable failure = this.itemProcessingFailure.getAndSet(null);
+        boolean shouldContinue = !this.stopItemProcessing.getAndSet(false);
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw new CompletionException(failure);
+        }
+        return shouldContinue;
     }
     private void interpageIterate() throws ReflectiveOperationException {
+        CompletableFuture<PrefetchedPage<TCollectionPage>> prefetchedPage = pollPrefetchedPage();
+        if(prefetchedPage != null) {
+            try {
+                PrefetchedPage<TCollectionPage> nextPage = prefetchedPage.join();
+                if(nextPage != null && nextPage.link.equals(this.nextLink)) {
+                    this.state = PageIteratorState.INTERPAGE_ITERATION;
+                    setNextPage(nextPage.page);
+                    detectNextLinkLoop();
+                    return;
+                }
+            } catch (CompletionException ex) {
+                discardPrefetchedPages();
+                rethrowPrefetchException(ex);
+            }
+            discardPrefetchedPages();
+        }
+        RequestInformation nextPageRequestInformation = getNextPageRequestInformation();
+        if(nextPageRequestInformation != null) {
+            setNextPage(sendPageRequest(nextPageRequestInformation));
+        }
+        detectNextLinkLoop();
+    }
+    private CompletableFuture<Void> interpageIterateAsync() {
+        RequestInformation nextPageRequestInformation = getNextPageRequestInformation();
+        CompletableFuture<PrefetchedPage<TCollectionPage>> prefetchedPage = pollPrefetchedPage();
+        CompletableFuture<TCollectionPage> nextPage;
+        if(nextPageRequestInformation != null && prefetchedPage != null) {
+            final String expectedLink = this.nextLink;
+            nextPage = prefetchedPage.whenComplete((page, ex) -> {
+                if (ex != null) {
+                    discardPrefetchedPages();
+                }
+            }).thenCompose(page -> {
+                if (page != null && page.link.equals(expectedLink)) {
+                    return CompletableFuture.completedFuture(page.page);
+                }
+                discardPrefetchedPages();
+                return sendPageRequestAsync(nextPageRequestInformation);
+            });
+        } else if(nextPageRequestInformation != null) {
+            nextPage = sendPageRequestAsync(nextPageRequestInformation);
+        } else {
+            nextPage = CompletableFuture.completedFuture(null);
+        }
+        return nextPage.thenAccept(page -> {
+            try {
+                if(nextPageRequestInformation != null) {
+                    setNextPage(page);
+                }
+                detectNextLinkLoop();
+            } catch (ReflectiveOperationException ex) {
+                throw new CompletionException(ex);
+            }
+        });
+    }
+    private RequestInformation getNextPageRequestInformation() {
         this.state = PageIteratorState.INTERPAGE_ITERATION;
-
-        if(!Compatibility.isBlank(nextLink) || !Compatibility.isBlank(deltaLink)) {
-            RequestInformation nextPageRequestInformation = new RequestInformation();
-            nextPageRequestInformation.httpMethod = HttpMethod.GET;
-            nextPageRequestInformation.urlTemplate = Compatibility.isBlank(nextLink) ? deltaLink : nextLink;
-
-            nextPageRequestInformation = requestConfigurator == null ? nextPageRequestInformation : requestConfigurator.apply(nextPageRequestInformation);
-            this.currentPage = Objects.requireNonNull(this.requestAdapter.send(nextPageRequestInformation, null, this.collectionPageFactory));
-            List<TEntity> pageItems = extractEntityListFromParsable(this.currentPage);
-            if(!pageItems.isEmpty()) {
-                this.pageItemQueue.addAll(pageItems);
+        if(Compatibility.isBlank(nextLink) && Compatibility.isBlank(deltaLink)) {
+            return null;
+        }
+        return getPageRequestInformation(Compatibility.isBlank(nextLink) ? deltaLink : nextLink);
+    }
+    private RequestInformation getPageRequestInformation(String pageLink) {
+        RequestInformation pageRequestInformation = new RequestInformation();
+        pageRequestInformation.httpMethod = HttpMethod.GET;
+        pageRequestInformation.urlTemplate = pageLink;
+        if (requestConfigurator != null) {
+            pageRequestInformation = requestConfigurator.apply(pageRequestInformation);
+        }
+        return pageSizeTuner == null ? pageRequestInformation : pageSizeTuner.apply(pageRequestInformation);
+    }
+    private TCollectionPage sendPageRequest(RequestInformation pageRequestInformation) {
+        final long firstAttemptNanos = System.nanoTime();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return sendPageRequestAttempt(pageRequestInformation);
+            } catch (ApiException ex) {
+                long retryDelayNanos = getPageRequestRetryDelayNanos(ex, attempt, firstAttemptNanos);
+                if (retryDelayNanos < 0) {
+                    throw ex;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.sleep(retryDelayNanos);
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                    throw ex;
+                }
+                if (this.pageSizeTuner != null) {
+                    this.pageSizeTuner.apply(pageRequestInformation);
+                }
+            }
+        }
+    }
+    private TCollectionPage sendPageRequestAttempt(RequestInformation pageRequestInformation) {
+        final long startNanos = System.nanoTime();
+        try {
+            TCollectionPage page = this.requestAdapter.send(pageRequestInformation, null, this.collectionPageFactory);
+            observePageResponse(page, startNanos, null);
+            return page;
+        } catch (ApiException ex) {
+            observePageResponse(null, startNanos, ex);
+            throw ex;
+        }
+    }
+    private CompletableFuture<TCollectionPage> sendPageRequestAsync(RequestInformation pageRequestInformation) {
+        if (this.maxPageRequestRetries == 0) {
+            return sendPageRequestAttemptAsync(pageRequestInformation);
+        }
+        final CompletableFuture<TCollectionPage> result = new CompletableFuture<>();
+        retryPageRequestAsync(pageRequestInformation, 0, System.nanoTime(), result);
+        return result;
+    }
+    private void retryPageRequestAsync(RequestInformation pageRequestInformation, int attempt, long firstAttemptNanos, CompletableFuture<TCollectionPage> result) {
+        if (result.isDone()) {
+            return;
+        }
+        final CompletableFuture<TCollectionPage> pageRequest = sendPageRequestAttemptAsync(pageRequestInformation);
+        //Cancelling the page request, such as a discarded prefetch, cancels the attempt in flight
+        result.whenComplete((page, ex) -> {
+            if (result.isCancelled()) {
+                pageRequest.cancel(true);
+            }
+        });
+        pageRequest.whenComplete((page, ex) -> {
+            if (ex == null) {
+                result.complete(page);
+                return;
             }
+            Throwable failure = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            long retryDelayNanos = getPageRequestRetryDelayNanos(failure, attempt, firstAttemptNanos);
+            if (retryDelayNanos < 0 || result.isDone()) {
+                result.completeExceptionally(failure);
+                return;
+            }
+            AsyncRequestSender.delay(retryDelayNanos, TimeUnit.NANOSECONDS).thenRun(() -> {
+                if (this.pageSizeTuner != null) {
+                    this.pageSizeTuner.apply(pageRequestInformation);
+                }
+                retryPageRequestAsync(pageRequestInformation, attempt + 1, firstAttemptNanos, result);
+            });
+        });
+    }
+    /**
+     * Gets the delay before retrying a failed page request: the Retry-After of the response when present,
+     * an exponential backoff with jitter otherwise.
+     * @return the delay in nanoseconds, or -1 if the request should not be retried.
+     */
+    private long getPageRequestRetryDelayNanos(Throwable failure, int attempt, long firstAttemptNanos) {
+        if (attempt >= this.maxPageRequestRetries || !(failure instanceof ApiException)) {
+            return -1;
+        }
+        long retryDelayNanos = RetryDelays.getRetryDelayNanos((ApiException) failure, attempt);
+        if (retryDelayNanos < 0 || System.nanoTime() - firstAttemptNanos + retryDelayNanos > this.maxPageRequestRetryNanos) {
+            return -1;
+        }
+        return retryDelayNanos;
+    }
+    private CompletableFuture<TCollectionPage> sendPageRequestAttemptAsync(RequestInformation pageRequestInformation) {
+        final long startNanos = System.nanoTime();
+        CompletableFuture<TCollectionPage> pageRequest = AsyncRequestSender.send(this.requestAdapter, pageRequestInformation, this.collectionPageFactory);
+        if (this.pageSizeTuner != null) {
+            pageRequest.whenComplete((page, ex) -> observePageResponse(page, startNanos, ex));
+        }
+        return pageRequest;
+    }
+    private void observePageResponse(@Nullable TCollectionPage page, long startNanos, @Nullable Throwable failure) {
+        if (this.pageSizeTuner == null) {
+            return;
         }
+        if (failure != null) {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            if (cause instanceof ApiException && ((ApiException) cause).getResponseStatusCode() == TOO_MANY_REQUESTS_STATUS_CODE) {
+                this.pageSizeTuner.onThrottled();
+            }
+            return;
+        }
+        if (page == null) {
+            return;
+        }
+        try {
+            this.pageSizeTuner.onPageReceived(extractEntityListFromParsable(page).size(), System.nanoTime() - startNanos);
+        } catch (ReflectiveOperationException ex) {
+            // the page is read again once it is iterated, which reports the failure
+        }
+    }
+    /**
+     * Starts fetching the pages following the current page in the background, up to the prefetch depth.
+     * Each prefetched page is requested once the page linking to it is received, and prefetching stops at the last page or at a nextLink loop.
+     */
+    private void prefetchNextPages() throws ReflectiveOperationException {
+        synchronized (this.prefetchedPages) {
+            final int generation = this.prefetchGeneration;
+            while (this.prefetchedPages.size() < this.prefetchDepth) {
+                CompletableFuture<PrefetchedPage<TCollectionPage>> lastPrefetchedPage = this.prefetchedPages.peekLast();
+                if (lastPrefetchedPage == null) {
+                    String pageLink = extractNextLinkFromParsable(this.currentPage, null);
+                    if (Compatibility.isBlank(pageLink)) {
+                        return;
+                    }
+                    this.prefetchedPages.addLast(prefetchPage(pageLink, generation));
+                } else {
+                    this.prefetchedPages.addLast(lastPrefetchedPage.thenCompose(previousPage -> {
+                        try {
+                            String pageLink = previousPage == null ? "" : extractNextLinkFromParsable(previousPage.page, null);
+                            if (Compatibility.isBlank(pageLink) || pageLink.equals(previousPage.link)) {
+                                return CompletableFuture.completedFuture(null);
+                            }
+                            return prefetchPage(pageLink, generation);
+                        } catch (ReflectiveOperationException ex) {
+                            throw new CompletionException(ex);
+                        }
+                    }));
+                }
+            }
+        }
+    }
+    /**
+     * Requests a prefetched page, unless the prefetched pages were discarded since the prefetch was scheduled.
+     * A chained prefetch may start its request while the prefetched pages are discarded, the request then cancels itself.
+     */
+    private CompletableFuture<PrefetchedPage<TCollectionPage>> prefetchPage(String pageLink, int generation) {
+        if (generation != this.prefetchGeneration) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final CompletableFuture<TCollectionPage> pageRequest = sendPageRequestAsync(getPageRequestInformation(pageLink));
+        this.prefetchRequests.add(pageRequest);
+        pageRequest.whenComplete((page, ex) -> this.prefetchRequests.remove(pageRequest));
+        if (generation != this.prefetchGeneration) {
+            pageRequest.cancel(true);
+        }
+        return pageRequest.thenApply(page -> new PrefetchedPage<>(pageLink, Objects.requireNonNull(page)));
+    }
+    @Nullable
+    private CompletableFuture<PrefetchedPage<TCollectionPage>> pollPrefetchedPage() {
+        synchronized (this.prefetchedPages) {
+            return this.prefetchedPages.poll();
+        }
+    }
+    /**
+     * Cancels the pages being prefetched and drops the prefetched pages which were not processed yet.
+     * The next iteration or resume fetches the next page again. This method may be called from any thread.
+     */
+    public void discardPrefetchedPages() {
+        synchronized (this.prefetchedPages) {
+            this.prefetchGeneration++;
+            for (CompletableFuture<PrefetchedPage<TCollectionPage>> prefetchedPage : this.prefetchedPages) {
+                //Canceling the chained stages keeps them from requesting their page once the previous page is received
+                prefetchedPage.cancel(true);
+            }
+            this.prefetchedPages.clear();
+        }
+        for (CompletableFuture<TCollectionPage> pageRequest : this.prefetchRequests) {
+            pageRequest.cancel(true);
+        }
+    }
+    private static void rethrowPrefetchException(CompletionException ex) throws ReflectiveOperationException {
+        Throwable cause = ex.getCause();
+        if (cause instanceof ReflectiveOperationException) {
+            throw (ReflectiveOperationException) cause;
+        } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        throw ex;
+    }
+    private void setNextPage(TCollectionPage nextPage) throws ReflectiveOperationException {
+        this.currentPage = Objects.requireNonNull(nextPage);
+        List<TEntity> pageItems = extractEntityListFromParsable(this.currentPage);
+        if(this.pageItemQueue instanceof PageItemCursor && this.pageItemQueue.isEmpty()) {
+            ((PageItemCursor<TEntity>) this.pageItemQueue).reset(pageItems);
+        } else if(!pageItems.isEmpty()) {
+            this.pageItemQueue.addAll(pageItems);
+        }
+        this.currentPageItemCount = pageItems.size();
+        this.checkpointPageFetchPending = false;
+        skipPendingItems();
+    }
+    private void detectNextLinkLoop() throws ReflectiveOperationException {
         if(!Compatibility.isBlank(nextLink) && this.nextLink.equals(extractNextLinkFromParsable(this.currentPage, null))) {
             throw new ApiException("Detected a nextLink loop. NextLink value: " + this.nextLink);
         }
@@ -264,7 +891,7 @@ public class PageIterator<TEntity extends Parsable, TCollectionPage extends Pars
      * @throws ReflectiveOperationException if the entity or collection page could not be instantiated or if they are of invalid types.
      */
     public void iterate() throws ApiException, ReflectiveOperationException {
-        if(this.state == PageIteratorState.DELTA) {
+        if(isPageFetchPending()) {
             interpageIterate();
         }
         boolean shouldContinueInterpageIteration = intrapageIterate();
@@ -274,6 +901,144 @@ public class PageIterator<TEntity extends Parsable, TCollectionPage extends Pars
         }
     }
 
+    /**
+     * Iterates over the collection of entities in the collation page without blocking the calling thread.
+     * Next pages are requested asynchronously, the callback is invoked on the thread which received the page.
+     * @return a future completed once the iteration completes or is paused, or exceptionally if a request or the callback failed.
+     */
+    @Nonnull
+    public CompletableFuture<Void> iterateAsync() {
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+        if(isPageFetchPending()) {
+            interpageIterateAsync().whenComplete((v, ex) -> continueIterationAsync(ex, result));
+        } else {
+            continueIterationAsync(null, result);
+        }
+        return result;
+    }
+    private void continueIterationAsync(@Nullable Throwable previousFailure, @Nonnull CompletableFuture<Void> result) {
+        if(previousFailure != null) {
+            result.completeExceptionally(previousFailure instanceof CompletionException && previousFailure.getCause() != null ? previousFailure.getCause() : previousFailure);
+            return;
+        }
+        try {
+            while (intrapageIterate()) {
+                CompletableFuture<Void> nextPage = interpageIterateAsync();
+                if(!nextPage.isDone()) {
+                    nextPage.whenComplete((v, ex) -> continueIterationAsync(ex, result));
+                    return;
+                }
+                nextPage.join();
+            }
+            result.complete(null);
+        } catch (CompletionException ex) {
+            result.completeExceptionally(ex.getCause() != null ? ex.getCause() : ex);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            result.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * Returns an iterator over the items of the collection, the next page is requested once the items of the current page are consumed.
+     * The iterator shares its position with this page iterator: items it returns are not handed to the processPageItemCallback,
+     * and the nextLink and deltaLink are updated as it moves across pages.
+     * Failures to request a page are thrown as {@link ApiException}, failures to read a page are wrapped in an {@link IllegalStateException}.
+     * @return an iterator over the remaining items of the collection.
+     */
+    @Override
+    @Nonnull
+    public Iterator<TEntity> iterator() {
+        return new PageItemIterator();
+    }
+    /**
+     * Returns a spliterator over the items of the collection, pages are requested as items are consumed.
+     * Splitting copies a batch of items out of the iterator, which requests the next pages synchronously on the splitting thread when
+     * the items already fetched are not enough to fill the batch.
+     * @return a spliterator over the remaining items of the collection.
+     */
+    @Override
+    @Nonnull
+    public Spliterator<TEntity> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+    /**
+     * Returns a lazy stream over the items of the collection, pages are only requested when the stream needs more items.
+     * Short-circuiting operations such as limit or findFirst do not request the pages after the items they consume.
+     * @return a sequential stream over the remaining items of the collection.
+     */
+    @Nonnull
+    public Stream<TEntity> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+    private final class PageItemIterator implements Iterator<TEntity> {
+        @Override
+        public boolean hasNext() {
+            try {
+                return moveToNextItem();
+            } catch (ReflectiveOperationException ex) {
+                throw new IllegalStateException("Unable to read the collection page", ex);
+            }
+        }
+        @Override
+        public TEntity next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return pageItemQueue.remove();
+        }
+    }
+    private boolean moveToNextItem() throws ReflectiveOperationException {
+        if (this.state == PageIteratorState.COMPLETE) {
+            return false;
+        }
+        if (isPageFetchPending()) {
+            interpageIterate();
+        }
+        if (this.state != PageIteratorState.INTRAPAGE_ITERATION) {
+            this.state = PageIteratorState.INTRAPAGE_ITERATION;
+            prefetchNextPages();
+        }
+        while (this.pageItemQueue.isEmpty()) {
+            String extractedNextLink = extractNextLinkFromParsable(this.currentPage, null);
+            if (Compatibility.isBlank(extractedNextLink)) {
+                completeIteration();
+                return false;
+            }
+            this.nextLink = extractedNextLink;
+            this.deltaLink = "";
+            recordCheckpoint(0);
+            interpageIterate();
+            this.state = PageIteratorState.INTRAPAGE_ITERATION;
+            prefetchNextPages();
+        }
+        return true;
+    }
+
+    /**
+     * Processes the items of the current page for a {@link PageIteratorCoordinator}, which fetches the next page itself.
+     * @return true if the next page must be fetched with {@link #getNextPageRequest()} before iterating again.
+     */
+    boolean iterateCurrentPage() throws ReflectiveOperationException {
+        if (isPageFetchPending()) {
+            return true;
+        }
+        return intrapageIterate();
+    }
+    @Nullable
+    RequestInformation getNextPageRequest() {
+        return getNextPageRequestInformation();
+    }
+    void acceptNextPage(@Nonnull BatchResponseContent batchResponse, @Nonnull String requestId) throws ReflectiveOperationException {
+        TCollectionPage page = batchResponse.getResponseById(requestId, this.collectionPageFactory);
+        if (page == null) {
+            throw new ApiException("The batch response does not contain the page request " + requestId);
+        }
+        setNextPage(page);
+        detectNextLinkLoop();
+    }
+    int getPrefetchDepth() {
+        return this.prefetchDepth;
+    }
     /**
      * Resumes the iteration over the collection of entities in the collation page.
      * @throws ApiException if the request was unable to complete for any reason.
@@ -294,20 +1059,25 @@ public class PageIterator<TEntity extends Parsable, TCollectionPage extends Pars
      */
     @Nonnull
     protected static <TEntity extends Parsable, TCollectionPage extends Parsable & AdditionalDataHolder> List<TEntity> extractEntityListFromParsable(@Nonnull TCollectionPage parsableCollection) throws  IllegalAccessException, InvocationTargetException {
-        try{
-            return (List<TEntity>) parsableCollection.getClass().getDeclaredMethod("getValue").invoke(parsableCollection);
-        } catch (NoSuchMethodException e) {
+        CollectionPageAccessor valueAccessor = getCollectionPageAccessors(parsableCollection.getClass()).valueAccessor;
+        if (valueAccessor == null) {
             throw new IllegalAccessException("NO_COLLECTION_PROPERTY_ERROR");
         }
+        return (List<TEntity>) valueAccessor.get(parsableCollection);
     }
     private static <TCollectionPage extends Parsable & AdditionalDataHolder> String extractNextLinkFromParsable(@Nonnull TCollectionPage parsableCollection, @Nullable String getNextLinkMethodName) throws ReflectiveOperationException {
-        String methodName = getNextLinkMethodName == null ? CoreConstants.CollectionResponseMethods.GET_ODATA_NEXT_LINK : getNextLinkMethodName;
-        Method[] methods = parsableCollection.getClass().getMethods();
+        CollectionPageAccessors accessors = getCollectionPageAccessors(parsableCollection.getClass());
+        CollectionPageAccessor nextLinkAccessor;
+        if (getNextLinkMethodName == null || getNextLinkMethodName.equals(CoreConstants.CollectionResponseMethods.GET_ODATA_NEXT_LINK)) {
+            nextLinkAccessor = accessors.nextLinkAccessor;
+        } else if (getNextLinkMethodName.equals(CoreConstants.CollectionResponseMethods.GET_ODATA_DELTA_LINK)) {
+            nextLinkAccessor = accessors.deltaLinkAccessor;
+        } else {
+            nextLinkAccessor = CollectionPageAccessors.findPublicGetter(parsableCollection.getClass(), getNextLinkMethodName);
+        }
         String nextLink;
-        Optional<Method> nextLinkOptional = Arrays.stream(methods).filter(m -> m.getName().equals(methodName)).findFirst();
-        if (nextLinkOptional.isPresent()) {
-            Method nextLinkMethod = nextLinkOptional.get();
-            nextLink = (String) nextLinkMethod.invoke(parsableCollection);
+        if (nextLinkAccessor != null) {
+            nextLink = (String) nextLinkAccessor.get(parsableCollection);
             if(!Compatibility.isBlank(nextLink)) {
                 return nextLink;
             }
@@ -316,6 +1086,165 @@ public class PageIterator<TEntity extends Parsable, TCollectionPage extends Pars
         return nextLink == null ? "" : nextLink;
     }
 
+    /**
+     * Accessors of the collection page properties, looked up once per collection page class.
+     * The classes are weakly referenced and their accessors, whose method handles reference the class, softly, so the cache doesn't keep the
+     * class loaders of the collection pages alive.
+     */
+    private static final Map<Class<?>, SoftReference<CollectionPageAccessors>> COLLECTION_PAGE_ACCESSORS = Collections.synchronizedMap(new WeakHashMap<>());
+    static CollectionPageAccessors getCollectionPageAccessors(Class<?> type) {
+        SoftReference<CollectionPageAccessors> cachedAccessors = COLLECTION_PAGE_ACCESSORS.get(type);
+        CollectionPageAccessors accessors = cachedAccessors == null ? null : cachedAccessors.get();
+        if (accessors == null) {
+            //Concurrent lookups of the same class may both build its accessors, either of them is kept
+            accessors = new CollectionPageAccessors(type);
+            COLLECTION_PAGE_ACCESSORS.put(type, new SoftReference<>(accessors));
+        }
+        return accessors;
+    }
+    @FunctionalInterface
+    private interface CollectionPageAccessor {
+        Object get(Object collectionPage) throws IllegalAccessException, InvocationTargetException;
+    }
+    static final class CollectionPageAccessors {
+        private final CollectionPageAccessor valueAccessor;
+        private final CollectionPageAccessor nextLinkAccessor;
+        private final CollectionPageAccessor deltaLinkAccessor;
+        CollectionPageAccessors(Class<?> type) {
+            CollectionPageAccessor value;
+            try {
+                value = toAccessor(type.getDeclaredMethod("getValue"));
+            } catch (NoSuchMethodException e) {
+                value = null;
+            }
+            this.valueAccessor = value;
+            this.nextLinkAccessor = findPublicGetter(type, CoreConstants.CollectionResponseMethods.GET_ODATA_NEXT_LINK);
+            this.deltaLinkAccessor = findPublicGetter(type, CoreConstants.CollectionResponseMethods.GET_ODATA_DELTA_LINK);
+        }
+        @Nullable
+        static CollectionPageAccessor findPublicGetter(Class<?> type, String methodName) {
+            for (Method method : type.getMethods()) {
+                if (method.getName().equals(methodName)) {
+                    return toAccessor(method);
+                }
+            }
+            return null;
+        }
+        private static CollectionPageAccessor toAccessor(Method method) {
+            final MethodHandle methodHandle;
+            try {
+                methodHandle = MethodHandles.publicLookup().unreflect(method).asType(MethodType.methodType(Object.class, Object.class));
+            } catch (IllegalAccessException | IllegalArgumentException | WrongMethodTypeException e) {
+                // not accessible as a method handle, the reflective call reports the error if there is one
+                return method::invoke;
+            }
+            return collectionPage -> {
+                try {
+                    return (Object) methodHandle.invokeExact(collectionPage);
+                } catch (Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new InvocationTargetException(e);
+                }
+            };
+        }
+    }
+
+    /**
+     * A queue walking the item list of a page with a cursor, so items are neither copied nor wrapped in nodes.
+     * The cursor is moved to the list of the next page once the items of the current page are consumed, the lists of pages accepted while items
+     * of a previous page are still queued are walked afterwards, in order.
+     * @param <TEntity> the type of the items.
+     */
+    private static final class PageItemCursor<TEntity> extends AbstractQueue<TEntity> {
+        private final ArrayDeque<List<TEntity>> nextItemLists = new ArrayDeque<>();
+        private int nextItemListsSize;
+        private List<TEntity> items;
+        private ListIterator<TEntity> cursor;
+        PageItemCursor(@Nonnull List<TEntity> items) {
+            reset(items);
+        }
+        void reset(@Nonnull List<TEntity> items) {
+            this.items = Objects.requireNonNull(items);
+            this.cursor = items.listIterator();
+            this.nextItemLists.clear();
+            this.nextItemListsSize = 0;
+        }
+        @Override
+        public boolean offer(TEntity item) {
+            return addAll(Collections.singletonList(item));
+        }
+        /**
+         * Appends the items after the queued ones, a list is walked in place rather than copied.
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean addAll(Collection<? extends TEntity> c) {
+            if (c.isEmpty()) {
+                return false;
+            }
+            this.nextItemLists.add(c instanceof List ? (List<TEntity>) c : new ArrayList<>(c));
+            this.nextItemListsSize += c.size();
+            return true;
+        }
+        @Override
+        public TEntity poll() {
+            return moveToNextItem() ? cursor.next() : null;
+        }
+        @Override
+        public TEntity remove() {
+            moveToNextItem();
+            return cursor.next();
+        }
+        @Override
+        public TEntity peek() {
+            if (!moveToNextItem()) {
+                return null;
+            }
+            TEntity item = cursor.next();
+            cursor.previous();
+            return item;
+        }
+        @Override
+        public int size() {
+            return items.size() - cursor.nextIndex() + nextItemListsSize;
+        }
+        @Override
+        public void clear() {
+            reset(Collections.<TEntity>emptyList());
+        }
+        @Override
+        @Nonnull
+        public Iterator<TEntity> iterator() {
+            final List<TEntity> remainingItems = items.subList(cursor.nextIndex(), items.size());
+            if (nextItemLists.isEmpty()) {
+                return Collections.unmodifiableList(remainingItems).iterator();
+            }
+            final List<TEntity> queuedItems = new ArrayList<>(size());
+            queuedItems.addAll(remainingItems);
+            for (List<TEntity> nextItems : nextItemLists) {
+                queuedItems.addAll(nextItems);
+            }
+            return Collections.unmodifiableList(queuedItems).iterator();
+        }
+        private boolean moveToNextItem() {
+            while (!cursor.hasNext() && !nextItemLists.isEmpty()) {
+                items = nextItemLists.poll();
+                cursor = items.listIterator();
+                nextItemListsSize -= items.size();
+            }
+            return cursor.hasNext();
+        }
+    }
+    private static final class PrefetchedPage<TCollectionPage> {
+        private final String link;
+        private final TCollectionPage page;
+        PrefetchedPage(String link, TCollectionPage page) {
+            this.link = link;
+            this.page = page;
+        }
+    }
+
     /**
      * Enum to represent the possible states of the PageIterator.
      */
@@ -0,0 +1,318 @@
+package com.microsoft.graph.core.tasks;
+
+import com.microsoft.graph.core.CoreConstants;
+import com.microsoft.graph.core.ErrorConstants;
+import com.microsoft.graph.core.content.BatchRequestContent;
+import com.microsoft.graph.core.content.BatchResponseContent;
+import com.microsoft.graph.core.requests.AsyncRequestSender;
+import com.microsoft.graph.core.requests.BatchRequestBuilder;
+import com.microsoft.graph.core.requests.RetryDelays;
+import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.RequestAdapter;
+import com.microsoft.kiota.RequestInformation;
+
+import jakarta.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives many PageIterators at once, such as one per mailbox for the same collection.
+ * The items of up to maxConcurrency pages are processed at the same time on the executor,
+ * and the next page requests of the iterators are folded into $batch requests of up to 20 steps.
+ * Throttled or unavailable page requests are retried after the longest Retry-After seen, during which no batch is sent.
+ * Each iterator stops at the end of its collection or when its callback returns false, a failure only stops the iterator it belongs to.
+ */
+public class PageIteratorCoordinator {
+    private final RequestAdapter requestAdapter;
+    private final Executor executor;
+    private final int maxConcurrency;
+    private final BatchRequestBuilder batchRequestBuilder;
+    private final List<PageIterator<?, ?>> pageIterators = new ArrayList<>();
+    private int maxBatchSize = CoreConstants.BatchRequest.MAX_REQUESTS;
+    private int maxRetries = 3;
+    private final Object lock = new Object();
+    private final ArrayDeque<IteratorState> pagesToProcess = new ArrayDeque<>();
+    private final ArrayDeque<IteratorState> pagesToFetch = new ArrayDeque<>();
+    private final Map<PageIterator<?, ?>, Throwable> failures = new LinkedHashMap<>();
+    private CompletableFuture<Map<PageIterator<?, ?>, Throwable>> result;
+    private int activeIterators;
+    private int pagesInProcess;
+    private int batchesInFlight;
+    private long throttledUntilNanos;
+    private boolean throttleDelayScheduled;
+    /**
+     * Instantiates a new PageIteratorCoordinator.
+     * On Java 21 and above, an executor which starts a virtual thread per task can be used.
+     * @param requestAdapter the request adapter to send the $batch requests with.
+     * @param executor the executor to process the pages on.
+     * @param maxConcurrency the maximum number of pages processed, and of $batch requests in flight, at the same time.
+     */
+    public PageIteratorCoordinator(@Nonnull RequestAdapter requestAdapter, @Nonnull Executor executor, int maxConcurrency) {
+        this.requestAdapter = Objects.requireNonNull(requestAdapter, ErrorConstants.Messages.NULL_PARAMETER + "requestAdapter");
+        this.executor = Objects.requireNonNull(executor, ErrorConstants.Messages.NULL_PARAMETER + "executor");
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be greater than 0");
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.batchRequestBuilder = new BatchRequestBuilder(requestAdapter);
+    }
+    /**
+     * Adds a page iterator to drive. Iterators prefetching pages fetch them on their own and cannot be coordinated.
+     * @param pageIterator the page iterator to drive.
+     * @return the coordinator itself.
+     */
+    @Nonnull
+    public PageIteratorCoordinator add(@Nonnull PageIterator<?, ?> pageIterator) {
+        Objects.requireNonNull(pageIterator, ErrorConstants.Messages.NULL_PARAMETER + "pageIterator");
+        if (pageIterator.getPrefetchDepth() > 0) {
+            throw new IllegalArgumentException("A page iterator with a prefetch depth cannot be coordinated");
+        }
+        synchronized (lock) {
+            if (result != null) {
+                throw new IllegalStateException("Page iterators cannot be added once the iteration started");
+            }
+            pageIterators.add(pageIterator);
+        }
+        return this;
+    }
+    /**
+     * Sets the maximum number of page requests folded into a $batch request.
+     * @param maxBatchSize the maximum number of steps per $batch request, up to 20.
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize < 1 || maxBatchSize > CoreConstants.BatchRequest.MAX_REQUESTS) {
+            throw new IllegalArgumentException("maxBatchSize must be between 1 and " + CoreConstants.BatchRequest.MAX_REQUESTS);
+        }
+        this.maxBatchSize = maxBatchSize;
+    }
+    /**
+     * Gets the maximum number of page requests folded into a $batch request.
+     * @return the maximum number of steps per $batch request.
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+    /**
+     * Sets the number of times a throttled or unavailable page request is retried before its iterator fails.
+     * @param maxRetries the maximum number of retries per page.
+     */
+    public void setMaxRetries(int maxRetries) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries must not be negative");
+        }
+        this.maxRetries = maxRetries;
+    }
+    /**
+     * Gets the number of times a throttled or unavailable page request is retried before its iterator fails.
+     * @return the maximum number of retries per page.
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+    /**
+     * Iterates all the page iterators, blocking until each one completed, paused or failed.
+     * @return the failure of each iterator which failed, empty if all iterators succeeded.
+     */
+    @Nonnull
+    public Map<PageIterator<?, ?>, Throwable> iterate() {
+        return iterateAsync().join();
+    }
+    /**
+     * Iterates all the page iterators without blocking the calling thread.
+     * Iterators which paused are resumed by a later call.
+     * @return a future completed with the failure of each iterator which failed once every iterator completed, paused or failed.
+     */
+    @Nonnull
+    public CompletableFuture<Map<PageIterator<?, ?>, Throwable>> iterateAsync() {
+        final CompletableFuture<Map<PageIterator<?, ?>, Throwable>> iteration = new CompletableFuture<>();
+        synchronized (lock) {
+            if (result != null) {
+                throw new IllegalStateException("The page iterators are already being iterated");
+            }
+            result = iteration;
+            failures.clear();
+            for (PageIterator<?, ?> pageIterator : pageIterators) {
+                pagesToProcess.add(new IteratorState(pageIterator));
+            }
+            activeIterators = pageIterators.size();
+            throttledUntilNanos = System.nanoTime();
+        }
+        dispatch();
+        return iteration;
+    }
+    /**
+     * Starts processing the pages and sending the $batch requests allowed by the concurrency limit and the throttling delay.
+     */
+    private void dispatch() {
+        final List<IteratorState> pagesStarted = new ArrayList<>();
+        final List<List<IteratorState>> batchesStarted = new ArrayList<>();
+        CompletableFuture<Map<PageIterator<?, ?>, Throwable>> completedResult = null;
+        Map<PageIterator<?, ?>, Throwable> iterationFailures = null;
+        long throttleDelayNanos = -1;
+        synchronized (lock) {
+            if (result == null) {
+                return;
+            }
+            while (pagesInProcess < maxConcurrency && !pagesToProcess.isEmpty()) {
+                pagesInProcess++;
+                pagesStarted.add(pagesToProcess.poll());
+            }
+            long remainingThrottleNanos = throttledUntilNanos - System.nanoTime();
+            if (!pagesToFetch.isEmpty() && remainingThrottleNanos > 0) {
+                if (!throttleDelayScheduled) {
+                    throttleDelayScheduled = true;
+                    throttleDelayNanos = remainingThrottleNanos;
+                }
+            } else {
+                while (batchesInFlight < maxConcurrency && (pagesToFetch.size() >= maxBatchSize
+                        || !pagesToFetch.isEmpty() && pagesInProcess == 0 && pagesToProcess.isEmpty())) {
+                    List<IteratorState> batch = new ArrayList<>(Math.min(maxBatchSize, pagesToFetch.size()));
+                    while (batch.size() < maxBatchSize && !pagesToFetch.isEmpty()) {
+                        batch.add(pagesToFetch.poll());
+                    }
+                    batchesInFlight++;
+                    batchesStarted.add(batch);
+                }
+            }
+            if (activeIterators == 0) {
+                completedResult = result;
+                iterationFailures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+                result = null;
+            }
+        }
+        if (completedResult != null) {
+            completedResult.complete(iterationFailures);
+            return;
+        }
+        if (throttleDelayNanos > 0) {
+            AsyncRequestSender.delay(throttleDelayNanos, TimeUnit.NANOSECONDS).thenRun(() -> {
+                synchronized (lock) {
+                    throttleDelayScheduled = false;
+                }
+                dispatch();
+            });
+        }
+        for (IteratorState page : pagesStarted) {
+            processPage(page);
+        }
+        for (List<IteratorState> batch : batchesStarted) {
+            fetchPages(batch);
+        }
+    }
+    private void processPage(@Nonnull final IteratorState state) {
+        try {
+            executor.execute(() -> {
+                boolean needsNextPage = false;
+                RequestInformation nextPageRequest = null;
+                Throwable failure = null;
+                try {
+                    needsNextPage = state.pageIterator.iterateCurrentPage();
+                    if (needsNextPage) {
+                        nextPageRequest = state.pageIterator.getNextPageRequest();
+                    }
+                } catch (Throwable ex) {
+                    failure = ex;
+                }
+                synchronized (lock) {
+                    pagesInProcess--;
+                    if (failure != null) {
+                        failIterator(state, failure);
+                    } else if (nextPageRequest != null) {
+                        state.nextPageRequest = nextPageRequest;
+                        pagesToFetch.add(state);
+                    } else {
+                        activeIterators--;
+                    }
+                }
+                dispatch();
+            });
+        } catch (RuntimeException ex) {
+            synchronized (lock) {
+                pagesInProcess--;
+                failIterator(state, ex);
+            }
+            dispatch();
+        }
+    }
+    private void fetchPages(@Nonnull final List<IteratorState> batch) {
+        final Map<String, IteratorState> pagesByRequestId = new LinkedHashMap<>();
+        CompletableFuture<BatchResponseContent> batchResponse;
+        try {
+            BatchRequestContent batchRequestContent = new BatchRequestContent(requestAdapter, new ArrayList<>());
+            for (IteratorState state : batch) {
+                pagesByRequestId.put(batchRequestContent.addBatchRequestStep(state.nextPageRequest), state);
+            }
+            batchResponse = batchRequestBuilder.postAsync(batchRequestContent, null);
+        } catch (RuntimeException ex) {
+            batchResponse = new CompletableFuture<>();
+            batchResponse.completeExceptionally(ex);
+        }
+        batchResponse.whenComplete((response, ex) -> {
+            if (ex != null) {
+                Throwable failure = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                synchronized (lock) {
+                    batchesInFlight--;
+                    for (IteratorState state : batch) {
+                        retryOrFail(state, failure);
+                    }
+                }
+                dispatch();
+                return;
+            }
+            for (Map.Entry<String, IteratorState> page : pagesByRequestId.entrySet()) {
+                Throwable failure = null;
+                try {
+                    page.getValue().pageIterator.acceptNextPage(response, page.getKey());
+                } catch (Throwable pageException) {
+                    failure = pageException;
+                }
+                synchronized (lock) {
+                    if (failure == null) {
+                        page.getValue().retries = 0;
+                        pagesToProcess.add(page.getValue());
+                    } else {
+                        retryOrFail(page.getValue(), failure);
+                    }
+                }
+            }
+            synchronized (lock) {
+                batchesInFlight--;
+            }
+            dispatch();
+        });
+    }
+    private void retryOrFail(@Nonnull IteratorState state, @Nonnull Throwable failure) {
+        if (state.retries < maxRetries && failure instanceof ApiException) {
+            long retryDelayNanos = RetryDelays.getRetryDelayNanos((ApiException) failure, state.retries);
+            if (retryDelayNanos >= 0) {
+                state.retries++;
+                long now = System.nanoTime();
+                throttledUntilNanos = now + Math.max(throttledUntilNanos - now, retryDelayNanos);
+                pagesToFetch.add(state);
+                return;
+            }
+        }
+        failIterator(state, failure);
+    }
+    private void failIterator(@Nonnull IteratorState state, @Nonnull Throwable failure) {
+        failures.put(state.pageIterator, failure);
+        activeIterators--;
+    }
+    private static final class IteratorState {
+        private final PageIterator<?, ?> pageIterator;
+        private RequestInformation nextPageRequest;
+        private int retries;
+        IteratorState(PageIterator<?, ?> pageIterator) {
+            this.pageIterator = pageIterator;
+        }
+    }
+}
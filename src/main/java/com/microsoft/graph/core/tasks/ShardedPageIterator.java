@@ -0,0 +1,294 @@
+package com.microsoft.graph.core.tasks;
+
+import com.microsoft.graph.core.ErrorConstants;
+import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.HttpMethod;
+import com.microsoft.kiota.RequestAdapter;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.serialization.AdditionalDataHolder;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParsableFactory;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Enumerates a collection partitioned into shards, such as $filter ranges on createdDateTime or id prefixes, with one PageIterator per shard.
+ * The shards are iterated in parallel and their items are merged into a single callback, which must be thread safe.
+ * Each shard keeps its own nextLink and deltaLink: iterating again resumes the paused shards and runs the delta query of the completed ones.
+ * @param <TEntity> The type of the entity returned in the collection. This type must implement {@link Parsable}
+ * @param <TCollectionPage> The Microsoft Graph collection response type returned in the collection response. This type must implement {@link Parsable} and {@link AdditionalDataHolder}
+ */
+public class ShardedPageIterator<TEntity extends Parsable, TCollectionPage extends Parsable & AdditionalDataHolder> {
+    private final RequestAdapter requestAdapter;
+    private final ParsableFactory<TCollectionPage> collectionPageFactory;
+    private final List<String> shardKeys;
+    private final Function<String, RequestInformation> firstPageRequest;
+    private final Function<TEntity, Boolean> processPageItemCallback;
+    private final Executor executor;
+    private final int maxConcurrentShards;
+    private final Map<String, String> initialDeltaLinks;
+    private final Consumer<PageIterator.Builder<TEntity, TCollectionPage>> shardConfigurator;
+    private final ConcurrentHashMap<String, PageIterator<TEntity, TCollectionPage>> shardIterators = new ConcurrentHashMap<>();
+    private ShardedPageIterator(@Nonnull Builder<TEntity, TCollectionPage> builder) {
+        this.requestAdapter = Objects.requireNonNull(builder.requestAdapter, ErrorConstants.Messages.NULL_PARAMETER + "requestAdapter");
+        this.collectionPageFactory = Objects.requireNonNull(builder.collectionPageFactory, ErrorConstants.Messages.NULL_PARAMETER + "collectionPageFactory");
+        this.shardKeys = Collections.unmodifiableList(new ArrayList<>(new LinkedHashSet<>(Objects.requireNonNull(builder.shardKeys, ErrorConstants.Messages.NULL_PARAMETER + "shardKeys"))));
+        this.firstPageRequest = Objects.requireNonNull(builder.firstPageRequest, ErrorConstants.Messages.NULL_PARAMETER + "firstPageRequest");
+        this.processPageItemCallback = Objects.requireNonNull(builder.processPageItemCallback, ErrorConstants.Messages.NULL_PARAMETER + "processPageItemCallback");
+        this.executor = Objects.requireNonNull(builder.executor, ErrorConstants.Messages.NULL_PARAMETER + "executor");
+        this.maxConcurrentShards = builder.maxConcurrentShards;
+        this.initialDeltaLinks = new HashMap<>(builder.deltaLinks);
+        this.shardConfigurator = builder.shardConfigurator;
+    }
+    /**
+     * Iterates all the shards, blocking until each one completed or paused.
+     * @throws ApiException if a request was unable to complete for any reason.
+     * @throws ReflectiveOperationException if the entity or collection page could not be instantiated or if they are of invalid types.
+     */
+    public void iterate() throws ApiException, ReflectiveOperationException {
+        try {
+            iterateAsync().join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof ReflectiveOperationException) {
+                throw (ReflectiveOperationException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw ex;
+        }
+    }
+    /**
+     * Iterates the shards on the executor, with up to maxConcurrentShards shards iterated at the same time.
+     * A shard pauses when the callback returns false for one of its items, the other shards keep going.
+     * Once a shard fails no further shard is started, and the future completes with the first failure once the started shards stopped.
+     * @return a future completed once every shard completed or paused.
+     */
+    @Nonnull
+    public CompletableFuture<Void> iterateAsync() {
+        final AtomicInteger nextShard = new AtomicInteger();
+        final AtomicBoolean failed = new AtomicBoolean();
+        final CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.min(maxConcurrentShards, shardKeys.size())];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = CompletableFuture.runAsync(() -> {
+                int index;
+                while (!failed.get() && (index = nextShard.getAndIncrement()) < shardKeys.size()) {
+                    try {
+                        iterateShard(shardKeys.get(index));
+                    } catch (ReflectiveOperationException | RuntimeException ex) {
+                        failed.set(true);
+                        throw new CompletionException(ex);
+                    }
+                }
+            }, executor);
+        }
+        return CompletableFuture.allOf(workers);
+    }
+    private void iterateShard(@Nonnull String shardKey) throws ReflectiveOperationException {
+        PageIterator<TEntity, TCollectionPage> shardIterator = shardIterators.get(shardKey);
+        if (shardIterator == null) {
+            String deltaLink = initialDeltaLinks.get(shardKey);
+            RequestInformation shardRequest;
+            if (deltaLink == null) {
+                shardRequest = Objects.requireNonNull(firstPageRequest.apply(shardKey), "The first page request of shard " + shardKey + " is null");
+            } else {
+                shardRequest = new RequestInformation();
+                shardRequest.httpMethod = HttpMethod.GET;
+                shardRequest.urlTemplate = deltaLink;
+            }
+            TCollectionPage firstPage = requestAdapter.send(shardRequest, null, collectionPageFactory);
+            if (firstPage == null) {
+                throw new ApiException("The first page of shard " + shardKey + " has no content");
+            }
+            PageIterator.Builder<TEntity, TCollectionPage> builder = new PageIterator.Builder<TEntity, TCollectionPage>()
+                .requestAdapter(requestAdapter)
+                .collectionPage(firstPage)
+                .collectionPageFactory(collectionPageFactory)
+                .processPageItemCallback(processPageItemCallback);
+            if (shardConfigurator != null) {
+                shardConfigurator.accept(builder);
+            }
+            shardIterator = builder.build();
+            shardIterators.put(shardKey, shardIterator);
+        }
+        if (shardIterator.getPageIteratorState() != PageIterator.PageIteratorState.COMPLETE) {
+            shardIterator.iterate();
+        }
+    }
+    /**
+     * Gets the keys of the shards, in the order they are started.
+     * @return the keys of the shards.
+     */
+    @Nonnull
+    public List<String> getShardKeys() {
+        return shardKeys;
+    }
+    /**
+     * Gets the state of each shard, shards which were not started yet are NOT_STARTED.
+     * @return the state of each shard by shard key.
+     */
+    @Nonnull
+    public Map<String, PageIterator.PageIteratorState> getShardStates() {
+        Map<String, PageIterator.PageIteratorState> states = new LinkedHashMap<>();
+        for (String shardKey : shardKeys) {
+            PageIterator<TEntity, TCollectionPage> shardIterator = shardIterators.get(shardKey);
+            states.put(shardKey, shardIterator == null ? PageIterator.PageIteratorState.NOT_STARTED : shardIterator.getPageIteratorState());
+        }
+        return states;
+    }
+    /**
+     * Gets the deltaLink of each shard which reached the end of a delta query.
+     * They can be persisted and passed to {@link Builder#deltaLinks(Map)} to start the next delta round in another process.
+     * @return the deltaLink of each shard by shard key.
+     */
+    @Nonnull
+    public Map<String, String> getDeltaLinks() {
+        Map<String, String> deltaLinks = new LinkedHashMap<>();
+        for (String shardKey : shardKeys) {
+            PageIterator<TEntity, TCollectionPage> shardIterator = shardIterators.get(shardKey);
+            String deltaLink = shardIterator == null ? initialDeltaLinks.get(shardKey) : shardIterator.getDeltaLink();
+            if (deltaLink != null && !deltaLink.isEmpty()) {
+                deltaLinks.put(shardKey, deltaLink);
+            }
+        }
+        return deltaLinks;
+    }
+    /**
+     * Gets the page iterator of a shard.
+     * @param shardKey the key of the shard.
+     * @return the page iterator of the shard, null if the shard was not started yet.
+     */
+    @Nullable
+    public PageIterator<TEntity, TCollectionPage> getShardIterator(@Nonnull String shardKey) {
+        return shardIterators.get(Objects.requireNonNull(shardKey, ErrorConstants.Messages.NULL_PARAMETER + "shardKey"));
+    }
+    /**
+     * A builder class for building a ShardedPageIterator.
+     * @param <TEntity> The type of the entity returned in the collection. This type must implement {@link Parsable}
+     * @param <TCollectionPage> The Microsoft Graph collection response type returned in the collection response. This type must implement {@link Parsable} and {@link AdditionalDataHolder}
+     */
+    public static class Builder<TEntity extends Parsable, TCollectionPage extends Parsable & AdditionalDataHolder> {
+        private RequestAdapter requestAdapter;
+        private ParsableFactory<TCollectionPage> collectionPageFactory;
+        private Collection<String> shardKeys;
+        private Function<String, RequestInformation> firstPageRequest;
+        private Function<TEntity, Boolean> processPageItemCallback;
+        private Executor executor;
+        private int maxConcurrentShards;
+        private final Map<String, String> deltaLinks = new HashMap<>();
+        private Consumer<PageIterator.Builder<TEntity, TCollectionPage>> shardConfigurator;
+        /**
+         * Constructor for the Builder class of a ShardedPageIterator.
+         */
+        public Builder() {
+            // Default constructor
+        }
+        /**
+         * Sets the request adapter to use for requests.
+         * @param requestAdapter the request adapter to use for requests.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> requestAdapter(@Nonnull RequestAdapter requestAdapter) {
+            this.requestAdapter = Objects.requireNonNull(requestAdapter);
+            return this;
+        }
+        /**
+         * Sets the factory to use for creating the collection pages.
+         * @param collectionPageFactory the factory to use for creating the collection pages.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> collectionPageFactory(@Nonnull ParsableFactory<TCollectionPage> collectionPageFactory) {
+            this.collectionPageFactory = Objects.requireNonNull(collectionPageFactory);
+            return this;
+        }
+        /**
+         * Sets the shards of the collection, each shard key is mapped to the request of its first page by the partitioning function.
+         * For example, shard keys naming months can be mapped to requests filtering on a createdDateTime range.
+         * The shards must not overlap, otherwise the items they share are processed more than once. Duplicate shard keys are only iterated once.
+         * @param shardKeys the keys of the shards.
+         * @param firstPageRequest the partitioning function returning the request of the first page of a shard.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> shards(@Nonnull Collection<String> shardKeys, @Nonnull Function<String, RequestInformation> firstPageRequest) {
+            this.shardKeys = Objects.requireNonNull(shardKeys);
+            this.firstPageRequest = Objects.requireNonNull(firstPageRequest);
+            return this;
+        }
+        /**
+         * Sets the callback to be called for each item of every shard, it is called concurrently by the shards.
+         * @param processPageItemCallback the thread safe callback to be called for each item.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> processPageItemCallback(@Nonnull Function<TEntity, Boolean> processPageItemCallback) {
+            this.processPageItemCallback = Objects.requireNonNull(processPageItemCallback);
+            return this;
+        }
+        /**
+         * Sets the executor to iterate the shards on, with up to maxConcurrentShards shards iterated at the same time.
+         * On Java 21 and above, an executor which starts a virtual thread per task can be used.
+         * @param executor the executor to iterate the shards on.
+         * @param maxConcurrentShards the maximum number of shards iterated at the same time.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> executor(@Nonnull Executor executor, int maxConcurrentShards) {
+            if (maxConcurrentShards < 1) {
+                throw new IllegalArgumentException("maxConcurrentShards must be greater than 0");
+            }
+            this.executor = Objects.requireNonNull(executor);
+            this.maxConcurrentShards = maxConcurrentShards;
+            return this;
+        }
+        /**
+         * Sets the deltaLinks recorded by a previous enumeration, the shards which have one start from it instead of their first page request.
+         * @param deltaLinks the deltaLink of each shard by shard key.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> deltaLinks(@Nonnull Map<String, String> deltaLinks) {
+            this.deltaLinks.putAll(Objects.requireNonNull(deltaLinks));
+            return this;
+        }
+        /**
+         * Sets a configurator applied to the PageIterator builder of each shard, for example to retry page requests or to record checkpoints per shard.
+         * @param shardConfigurator the configurator to apply to the PageIterator builder of each shard.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> shardConfigurator(@Nonnull Consumer<PageIterator.Builder<TEntity, TCollectionPage>> shardConfigurator) {
+            this.shardConfigurator = Objects.requireNonNull(shardConfigurator);
+            return this;
+        }
+        /**
+         * Builds the ShardedPageIterator object.
+         * Will fail if the request adapter, collection page factory, shards, callback or executor is not set.
+         * @return the ShardedPageIterator.
+         */
+        @Nonnull
+        public ShardedPageIterator<TEntity, TCollectionPage> build() {
+            return new ShardedPageIterator<>(this);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.microsoft.graph.core.content;
 
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import com.microsoft.graph.core.CoreConstants;
 import com.microsoft.graph.core.ErrorConstants;
 import com.microsoft.graph.core.BaseClient;
@@ -12,7 +14,10 @@ import com.microsoft.kiota.authentication.AnonymousAuthenticationProvider;
 import com.microsoft.kiota.authentication.AuthenticationProvider;
 import com.microsoft.kiota.http.OkHttpRequestAdapter;
 import com.microsoft.kiota.http.middleware.UrlReplaceHandler;
+import jakarta.annotation.Nonnull;
 import okhttp3.*;
+import okio.Buffer;
+import okio.BufferedSink;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -423,6 +428,141 @@ class BatchRequestContentTest {
         requestContentString = requestContentString.replaceAll("\\s", "").replace("\n", "");
         assertEquals(expectedJson, requestContentString);
     }
+    @Test
+    void BatchRequestContent_GetBatchRequestBodyMatchesBatchRequestContent() throws Exception {
+        BatchRequestContent batchRequestContent = new BatchRequestContent(client);
+        for(int i = 0; i < CoreConstants.BatchRequest.MAX_REQUESTS; i++) {
+            Request request = new Request.Builder()
+                .url(requestUrl)
+                .post(RequestBody.create("{\"displayName\":\"" + i + "\"}", MediaType.get(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+                .build();
+            batchRequestContent.addBatchRequestStep(new BatchRequestStep(String.valueOf(i), request));
+        }
+        String streamedContent = readInputStream(batchRequestContent.getBatchRequestContent());
+
+        RequestBody requestBody = batchRequestContent.getBatchRequestBody();
+        okio.Buffer sink = new okio.Buffer();
+        requestBody.writeTo(sink);
+
+        assertEquals(CoreConstants.MimeTypeNames.APPLICATION_JSON, Objects.requireNonNull(requestBody.contentType()).toString());
+        assertEquals(streamedContent, sink.readUtf8());
+        assertTrue(streamedContent.startsWith("{\"requests\":[{\"id\":"));
+        assertTrue(streamedContent.endsWith("}]}"));
+    }
+    @Test
+    void BatchRequestContent_GetBatchRequestContentCopiesJsonBodiesAsIs() throws Exception {
+        String bodyString = "{ \"displayName\" : \"Harrys Bar\", \"capacity\": 1.50 }";
+        Request request = new Request.Builder().url(requestUrl).post(RequestBody.create(bodyString, MediaType.get(CoreConstants.MimeTypeNames.APPLICATION_JSON))).build();
+        BatchRequestContent batchRequestContent = new BatchRequestContent(client, Arrays.asList(new BatchRequestStep("1", request)));
+
+        String requestContentString = readInputStream(batchRequestContent.getBatchRequestContent());
+        assertTrue(requestContentString.contains("\"body\":" + bodyString + ","));
+
+        batchRequestContent.setJsonBodyValidationEnabled(false);
+        assertFalse(batchRequestContent.isJsonBodyValidationEnabled());
+        requestContentString = readInputStream(batchRequestContent.getBatchRequestContent());
+        assertTrue(requestContentString.contains("\"body\":" + bodyString + ","));
+    }
+    @Test
+    void BatchRequestContent_WriteBatchRequestContentWritesUncheckedJsonBodiesStraightToTheSink() throws Exception {
+        String bodyString = "{\"displayName\":\"Caf\u00e9 \\u2615\"}";
+        Buffer sink = new Buffer();
+        List<BufferedSink> bodySinks = new ArrayList<>();
+        RequestBody requestBody = new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return MediaType.get(CoreConstants.MimeTypeNames.APPLICATION_JSON);
+            }
+            @Override
+            public void writeTo(@Nonnull BufferedSink bodySink) throws IOException {
+                bodySinks.add(bodySink);
+                bodySink.writeUtf8(bodyString);
+            }
+        };
+        Request request = new Request.Builder().url(requestUrl).post(requestBody).build();
+        BatchRequestContent batchRequestContent = new BatchRequestContent(client, Arrays.asList(new BatchRequestStep("1", request)));
+        batchRequestContent.setJsonBodyValidationEnabled(false);
+
+        batchRequestContent.writeBatchRequestContent(sink);
+
+        assertEquals(Collections.singletonList(sink), bodySinks);
+        String requestContentString = sink.readUtf8();
+        assertTrue(requestContentString.contains("\"method\":\"POST\",\"body\":" + bodyString + ",\"headers\":"));
+        assertEquals("Caf\u00e9 \u2615", JsonParser.parseString(requestContentString).getAsJsonObject().getAsJsonArray("requests").get(0).getAsJsonObject()
+            .getAsJsonObject("body").get("displayName").getAsString());
+    }
+    @Test
+    void BatchRequestContent_GetBatchRequestContentNormalizesLenientJsonBodies() throws Exception {
+        String bodyString = "{'displayName': 'Harrys Bar'}";
+        Request request = new Request.Builder().url(requestUrl).post(RequestBody.create(bodyString, MediaType.get(CoreConstants.MimeTypeNames.APPLICATION_JSON))).build();
+        BatchRequestContent batchRequestContent = new BatchRequestContent(client, Arrays.asList(new BatchRequestStep("1", request)));
+
+        assertTrue(batchRequestContent.isJsonBodyValidationEnabled());
+        String requestContentString = readInputStream(batchRequestContent.getBatchRequestContent());
+        assertTrue(requestContentString.contains("\"body\":{\"displayName\":\"Harrys Bar\"},"));
+    }
+    @Test
+    void BatchRequestContent_GetBatchRequestContentEncodesBinaryBodiesAsBase64() throws Exception {
+        byte[] photo = new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0x00, (byte) 0x80, 0x22, 0x5C};
+        Request photoRequest = new Request.Builder().url(requestUrl).put(RequestBody.create(photo, MediaType.get("image/jpeg"))).build();
+        Request textRequest = new Request.Builder().url(requestUrl).post(RequestBody.create("caf\u00e9", MediaType.get("text/plain; charset=utf-8"))).build();
+        byte[] video = new byte[100000];
+        new Random(42).nextBytes(video);
+        Request videoRequest = new Request.Builder().url(requestUrl).put(RequestBody.create(video, MediaType.get("video/mp4"))).build();
+        BatchRequestContent batchRequestContent = new BatchRequestContent(client, Arrays.asList(new BatchRequestStep("1", photoRequest), new BatchRequestStep("2", textRequest), new BatchRequestStep("3", videoRequest)));
+
+        String requestContentString = readInputStream(batchRequestContent.getBatchRequestContent());
+
+        assertTrue(requestContentString.contains("\"body\":\"" + Base64.getEncoder().encodeToString(photo) + "\","));
+        assertTrue(requestContentString.contains("\"body\":\"caf\u00e9\","));
+        JsonObject videoStep = JsonParser.parseString(requestContentString).getAsJsonObject().getAsJsonArray("requests").get(2).getAsJsonObject();
+        assertArrayEquals(video, Base64.getDecoder().decode(videoStep.get("body").getAsString()));
+        assertEquals("video/mp4", videoStep.getAsJsonObject("headers").get("Content-Type").getAsString());
+        Buffer sink = new Buffer();
+        batchRequestContent.writeBatchRequestContent(sink);
+        assertEquals(requestContentString, sink.readUtf8());
+    }
+    @Test
+    void BatchRequestContent_AddBatchRequestStepUsesTheRequestIdGeneratorAndKeepsInsertionOrder() {
+        BatchRequestContent batchRequestContent = new BatchRequestContent(client);
+        String generatedId = batchRequestContent.addBatchRequestStep(defaultTestRequest);
+        assertEquals(4, UUID.fromString(generatedId).version());
+
+        int[] counter = new int[1];
+        batchRequestContent.setRequestIdGenerator(() -> String.valueOf(++counter[0]));
+        Map<String, BatchRequestStep> view = batchRequestContent.getBatchRequestStepsView();
+        for (int i = 0; i < 12; i++) {
+            batchRequestContent.addBatchRequestStep(defaultTestRequest);
+        }
+
+        assertEquals(13, batchRequestContent.size());
+        assertEquals(13, view.size());
+        assertEquals(Arrays.asList(generatedId, "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12"), new ArrayList<>(view.keySet()));
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(generatedId));
+
+        counter[0] = 0;
+        assertThrows(IllegalStateException.class, () -> batchRequestContent.addBatchRequestStep(defaultTestRequest));
+        assertEquals(13, batchRequestContent.size());
+    }
+    @Test
+    void BatchRequestContentCollection_SharesTheRequestIdGeneratorAcrossBatches() {
+        BatchRequestContentCollection collection = new BatchRequestContentCollection(client, 2);
+        int[] counter = new int[1];
+        collection.setRequestIdGenerator(() -> "step" + (++counter[0]));
+        for (int i = 0; i < 5; i++) {
+            collection.addBatchRequestStep(defaultTestRequest);
+        }
+        assertFalse(collection.addBatchRequestStep(new BatchRequestStep("step1", defaultTestRequest)));
+        assertTrue(collection.addBatchRequestStep(new BatchRequestStep("step6", defaultTestRequest)));
+        assertTrue(collection.removeBatchRequestStepWithId("step2"));
+
+        assertEquals(5, collection.size());
+        List<BatchRequestContent> batches = collection.getBatchRequestsForExecution();
+        assertEquals(3, batches.size());
+        assertEquals(Arrays.asList("step1"), new ArrayList<>(batches.get(0).getBatchRequestStepsView().keySet()));
+        assertEquals(Arrays.asList("step3", "step4"), new ArrayList<>(batches.get(1).getBatchRequestStepsView().keySet()));
+        assertEquals(Arrays.asList("step5", "step6"), new ArrayList<>(batches.get(2).getBatchRequestStepsView().keySet()));
+    }
     private static String readInputStream(InputStream stream) throws Exception {
         ByteArrayOutputStream result = new ByteArrayOutputStream();
         byte[] buffer = new byte[1024];
@@ -0,0 +1,89 @@
+package com.microsoft.graph.core.content;
+
+import com.microsoft.graph.core.BaseClient;
+import com.microsoft.graph.core.models.BatchRequestStep;
+import com.microsoft.graph.core.requests.IBaseClient;
+import com.microsoft.kiota.authentication.AnonymousAuthenticationProvider;
+import okhttp3.Request;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchRequestStepPackerTest {
+    static final String requestUrl = "https://graph.microsoft.com/v1.0/me";
+    private final IBaseClient client = new BaseClient(new AnonymousAuthenticationProvider(), requestUrl);
+    private final Request defaultTestRequest = new Request.Builder().url(requestUrl).build();
+
+    @Test
+    void keepsChainsStraddlingTheBatchLimitInOneBatch() {
+        BatchRequestContentCollection collection = new BatchRequestContentCollection(client);
+        collection.setDependencyAwarePackingEnabled(true);
+        for(int i = 0; i < 19; i++) {
+            assertTrue(collection.addBatchRequestStep(new BatchRequestStep("independent" + i, defaultTestRequest)));
+        }
+        assertTrue(collection.addBatchRequestStep(new BatchRequestStep("chain0", defaultTestRequest)));
+        for(int i = 1; i < 5; i++) {
+            assertTrue(collection.addBatchRequestStep(new BatchRequestStep("chain" + i, defaultTestRequest, Collections.singletonList("chain" + (i - 1)))));
+        }
+
+        List<BatchRequestContent> batches = collection.getBatchRequestsForExecution();
+
+        assertEquals(2, batches.size());
+        BatchRequestContent chainBatch = batches.get(0).getBatchRequestSteps().containsKey("chain0") ? batches.get(0) : batches.get(1);
+        for(int i = 0; i < 5; i++) {
+            assertTrue(chainBatch.getBatchRequestSteps().containsKey("chain" + i));
+        }
+        assertEquals(24, batches.get(0).getBatchRequestSteps().size() + batches.get(1).getBatchRequestSteps().size());
+    }
+    @Test
+    void packsIndependentComponentsIntoFewestBatches() {
+        List<BatchRequestStep> requestSteps = new ArrayList<>();
+        for(String component : new String[] {"a", "b", "c", "d"}) {
+            int size = component.equals("a") || component.equals("c") ? 3 : 2;
+            for(int i = 0; i < size; i++) {
+                requestSteps.add(new BatchRequestStep(component + i, defaultTestRequest,
+                    i == 0 ? Collections.emptyList() : Collections.singletonList(component + (i - 1))));
+            }
+        }
+
+        List<List<BatchRequestStep>> batches = BatchRequestStepPacker.pack(requestSteps, 5);
+
+        assertEquals(2, batches.size());
+        for(List<BatchRequestStep> batch : batches) {
+            assertEquals(5, batch.size());
+            Set<String> seen = new HashSet<>();
+            for(BatchRequestStep requestStep : batch) {
+                assertTrue(seen.containsAll(requestStep.getDependsOn()));
+                seen.add(requestStep.getRequestId());
+            }
+        }
+    }
+    @Test
+    void splitsChainsLongerThanTheLimitInTopologicalOrder() {
+        List<BatchRequestStep> requestSteps = new ArrayList<>();
+        for(int i = 4; i >= 0; i--) {
+            requestSteps.add(new BatchRequestStep("step" + i, defaultTestRequest,
+                i == 0 ? Collections.emptyList() : Collections.singletonList("step" + (i - 1))));
+        }
+
+        List<List<BatchRequestStep>> batches = BatchRequestStepPacker.pack(requestSteps, 2);
+
+        assertEquals(3, batches.size());
+        assertEquals("step0", batches.get(0).get(0).getRequestId());
+        assertEquals("step2", batches.get(1).get(0).getRequestId());
+        assertTrue(batches.get(1).get(0).getDependsOn().isEmpty());
+        assertEquals(Collections.singletonList("step2"), batches.get(1).get(1).getDependsOn());
+        assertEquals("step4", batches.get(2).get(0).getRequestId());
+    }
+    @Test
+    void rejectsCyclesAndUnknownDependencies() {
+        List<BatchRequestStep> cycle = Arrays.asList(
+            new BatchRequestStep("1", defaultTestRequest, Collections.singletonList("2")),
+            new BatchRequestStep("2", defaultTestRequest, Collections.singletonList("1")));
+        assertThrows(IllegalArgumentException.class, () -> BatchRequestStepPacker.pack(cycle, 20));
+        List<BatchRequestStep> unknown = Collections.singletonList(new BatchRequestStep("1", defaultTestRequest, Collections.singletonList("3")));
+        assertThrows(IllegalArgumentException.class, () -> BatchRequestStepPacker.pack(unknown, 20));
+    }
+}
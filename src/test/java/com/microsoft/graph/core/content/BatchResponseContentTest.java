@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.HttpURLConnection;
 import java.util.Map;
 
@@ -145,6 +146,32 @@ class BatchResponseContentTest {
         assertNull(batchResponseContent.getResponseById("4"));
     }
     @Test
+    void BatchResponseContent_GetResponseByIdMaterializesBodiesOnEachLookup() throws IOException {
+        StringBuilder responseJSON = new StringBuilder("{\"@nextLink\":\"https://graph.microsoft.com/v1.0/$batch?$skiptoken=1\",\"responses\":[");
+        for(int i = 0; i < CoreConstants.BatchRequest.MAX_REQUESTS; i++) {
+            if(i > 0) {
+                responseJSON.append(',');
+            }
+            responseJSON.append("{\"body\": {\"id\": \"").append(i).append("\", \"size\": 1.50, \"tags\": [true, null]},")
+                .append("\"status\": 200, \"id\": \"").append(i).append("\"}");
+        }
+        responseJSON.append("]}");
+        ResponseBody body = ResponseBody.create(responseJSON.toString(), MediaType.parse("application/json"));
+        Response response = defaultBuilder.code(HttpURLConnection.HTTP_OK).body(body).build();
+        BatchResponseContent batchResponseContent = new BatchResponseContent(response);
+
+        assertEquals("https://graph.microsoft.com/v1.0/$batch?$skiptoken=1", batchResponseContent.getNextLink());
+        assertEquals(CoreConstants.BatchRequest.MAX_REQUESTS, batchResponseContent.getResponsesStatusCode().size());
+        for(int i = CoreConstants.BatchRequest.MAX_REQUESTS - 1; i >= 0; i--) {
+            Response stepResponse = batchResponseContent.getResponseById(String.valueOf(i));
+            assertNotNull(stepResponse);
+            assertEquals(HttpURLConnection.HTTP_OK, stepResponse.code());
+            assertEquals("{\"id\":\"" + i + "\",\"size\":1.50,\"tags\":[true,null]}", stepResponse.body().string());
+        }
+        assertEquals("{\"id\":\"7\",\"size\":1.50,\"tags\":[true,null]}", batchResponseContent.getResponseById("7").body().string());
+        assertEquals("See status code for details", batchResponseContent.getResponseById("7").message());
+    }
+    @Test
     void BatchResponseContent_GetResponseStreamById() throws IOException {
         String responseJSON = "{"+
             "\"responses\": [" +
@@ -301,4 +328,62 @@ class BatchResponseContentTest {
         assertEquals("2019-07-30T22:00:00.0000000", event.getStart().getDateTime());
         assertEquals("UTC", event.getEnd().getTimeZone());
     }
+    @Test
+    void BatchResponseContent_GetResponsesByIdDeserializesSuccessfulJsonBodies() {
+        registry.contentTypeAssociatedFactories.put(CoreConstants.MimeTypeNames.APPLICATION_JSON, new JsonParseNodeFactory());
+        BatchResponseContent batchResponseContent = createBatchResponse(
+            "{\"id\":\"1\",\"status\":200,\"body\":{\"displayName\":\"Adele Vance\"}},"
+            + "{\"id\":\"2\",\"status\":200,\"headers\":{\"Content-Type\":\"application/json;odata.metadata=minimal\"},\"body\":{\"displayName\":\"Alex Wilber\"}},"
+            + "{\"id\":\"3\",\"status\":404,\"body\":{\"error\":{\"code\":\"Request_ResourceNotFound\"}}},"
+            + "{\"id\":\"4\",\"status\":204}");
+
+        Map<String, TestUser> users = batchResponseContent.getResponsesById(TestUser::createFromDiscriminatorValue);
+
+        assertEquals(2, users.size());
+        assertEquals("Adele Vance", users.get("1").getDisplayName());
+        assertEquals("Alex Wilber", users.get("2").getDisplayName());
+        assertEquals("Alex Wilber", batchResponseContent.getResponseById("2", TestUser::createFromDiscriminatorValue).getDisplayName());
+        assertThrows(ApiException.class, () -> batchResponseContent.getResponseById("3", TestUser::createFromDiscriminatorValue));
+        BatchResponseContentCollection collection = new BatchResponseContentCollection();
+        collection.addBatchResponse(java.util.Arrays.asList("1", "2", "3", "4"), batchResponseContent);
+        assertEquals(users.keySet(), collection.getResponsesById(TestUser::createFromDiscriminatorValue).keySet());
+    }
+    @Test
+    void BatchResponseContent_GetResponseByIdDecodesBase64BinaryBodies() throws IOException {
+        byte[] photo = new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0x00, (byte) 0x80};
+        BatchResponseContent batchResponseContent = createBatchResponse(
+            "{\"id\":\"1\",\"status\":200,\"headers\":{\"Content-Type\":\"image/jpeg\"},\"body\":\"" + java.util.Base64.getEncoder().encodeToString(photo) + "\"},"
+            + "{\"id\":\"2\",\"status\":200,\"body\":\"plain\",\"headers\":{\"Content-Type\":\"text/plain\"}},"
+            + "{\"id\":\"3\",\"status\":200,\"body\":\"json string\"},"
+            + "{\"id\":\"4\",\"status\":200,\"body\":\"<value>YWJj</value>\",\"headers\":{\"Content-Type\":\"application/xml\"}},"
+            + "{\"id\":\"5\",\"status\":200,\"body\":\"not base64!\",\"headers\":{\"Content-Type\":\"application/octet-stream\"}}");
+
+        assertArrayEquals(photo, batchResponseContent.getResponseById("1").body().bytes());
+        assertEquals("plain", batchResponseContent.getResponseById("2").body().string());
+        assertEquals("\"json string\"", batchResponseContent.getResponseById("3").body().string());
+        assertEquals("<value>YWJj</value>", batchResponseContent.getResponseById("4").body().string());
+        assertThrows(UncheckedIOException.class, () -> batchResponseContent.getResponseById("5"));
+    }
+    @Test
+    void BatchResponseContentCollection_RoutesRequestIdsToTheFirstBatchHoldingThem() {
+        BatchResponseContentCollection collection = new BatchResponseContentCollection();
+        collection.addBatchResponse(java.util.Arrays.asList("1", "2"), createBatchResponse("{\"id\":\"1\",\"status\":200},{\"id\":\"2\",\"status\":429}"));
+        collection.addBatchResponse(java.util.Collections.singletonList("2"), createBatchResponse("{\"id\":\"2\",\"status\":204}"));
+
+        assertEquals(200, collection.getResponseById("1").code());
+        assertEquals(429, collection.getResponseById("2").code());
+        assertNull(collection.getResponseById("3"));
+        Map<String, Integer> statusCodes = collection.getResponsesStatusCodes();
+        assertEquals(2, statusCodes.size());
+        assertEquals(204, statusCodes.get("2"));
+
+        collection.addBatchResponse(java.util.Collections.singletonList("3"), createBatchResponse("{\"id\":\"3\",\"status\":201}"));
+        statusCodes.clear();
+        assertEquals(3, collection.getResponsesStatusCodes().size());
+        assertEquals(201, collection.getResponseById("3").code());
+    }
+    private BatchResponseContent createBatchResponse(String responses) {
+        ResponseBody responseBody = ResponseBody.create("{\"responses\":[" + responses + "]}", MediaType.get("application/json"));
+        return new BatchResponseContent(defaultBuilder.code(HttpURLConnection.HTTP_OK).body(responseBody).build());
+    }
 }
@@ -0,0 +1,48 @@
+package com.microsoft.graph.core.requests;
+
+import com.microsoft.graph.core.testModels.TestDrive;
+import com.microsoft.kiota.HttpMethod;
+import com.microsoft.kiota.RequestAdapter;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParsableFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AsyncRequestSenderTest {
+
+    @Test
+    void sendsBlockingRequestAdaptersOnTheGivenExecutor() throws Exception {
+        RequestInformation requestInformation = new RequestInformation();
+        requestInformation.httpMethod = HttpMethod.GET;
+        requestInformation.urlTemplate = "https://a.b.c/drive";
+        HashMap<String, ParsableFactory<? extends Parsable>> errorMappings = new HashMap<>();
+        TestDrive drive = new TestDrive();
+        String[] senderThread = new String[1];
+        RequestAdapter requestAdapter = mock(RequestAdapter.class);
+        when(requestAdapter.send(same(requestInformation), same(errorMappings), any())).thenAnswer(invocation -> {
+            senderThread[0] = Thread.currentThread().getName();
+            return drive;
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "test-executor"));
+        try {
+            TestDrive result = AsyncRequestSender.send(requestAdapter, requestInformation, errorMappings, TestDrive::createFromDiscriminatorValue, executor).get(10, TimeUnit.SECONDS);
+
+            assertSame(drive, result);
+            assertEquals("test-executor", senderThread[0]);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
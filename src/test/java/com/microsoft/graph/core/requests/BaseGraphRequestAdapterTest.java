@@ -0,0 +1,180 @@
+package com.microsoft.graph.core.requests;
+
+import com.microsoft.graph.core.CoreConstants;
+import com.microsoft.graph.core.testModels.TestDrive;
+import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.HttpMethod;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.ResponseHandler;
+import com.microsoft.kiota.authentication.AnonymousAuthenticationProvider;
+import com.microsoft.kiota.serialization.JsonParseNodeFactory;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParsableFactory;
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.ParseNodeFactoryRegistry;
+import com.microsoft.kiota.serialization.SerializationWriter;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BaseGraphRequestAdapterTest {
+
+    @Test
+    void sendAsyncDeserializesTheBody() throws Exception {
+        BaseGraphRequestAdapter adapter = getAdapter(createResponse(200, "{\"id\":\"drive\",\"name\":\"Documents\"}"));
+
+        TestDrive drive = adapter.sendAsync(getRequestInformation(), TestDrive::createFromDiscriminatorValue).get(10, TimeUnit.SECONDS);
+
+        assertEquals("drive", drive.id);
+        assertEquals("Documents", drive.name);
+        assertNull(getAdapter(createResponse(204, "")).sendAsync(getRequestInformation(), TestDrive::createFromDiscriminatorValue).get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void sendAsyncThrowsTheErrorOfTheMatchingErrorMapping() throws Exception {
+        HashMap<String, ParsableFactory<? extends Parsable>> errorMappings = new HashMap<>();
+        errorMappings.put("5XX", TestError::createFromDiscriminatorValue);
+        BaseGraphRequestAdapter adapter = getAdapter(createResponse(503, "{\"code\":\"serviceNotAvailable\"}"));
+
+        CompletableFuture<TestDrive> result = adapter.sendAsync(getRequestInformation(), errorMappings, TestDrive::createFromDiscriminatorValue);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+        TestError error = assertInstanceOf(TestError.class, exception.getCause());
+        assertEquals("serviceNotAvailable", error.code);
+        assertEquals(503, error.getResponseStatusCode());
+    }
+
+    @Test
+    void sendAsyncThrowsWhenNoErrorMappingMatches() throws Exception {
+        HashMap<String, ParsableFactory<? extends Parsable>> errorMappings = new HashMap<>();
+        errorMappings.put("5XX", TestError::createFromDiscriminatorValue);
+        BaseGraphRequestAdapter adapter = getAdapter(createResponse(404, "{\"code\":\"itemNotFound\"}"));
+
+        CompletableFuture<TestDrive> result = adapter.sendAsync(getRequestInformation(), errorMappings, TestDrive::createFromDiscriminatorValue);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+        ApiException apiException = assertInstanceOf(ApiException.class, exception.getCause());
+        assertEquals(404, apiException.getResponseStatusCode());
+        assertTrue(apiException.getMessage().contains("no error class is registered for this code 404"));
+    }
+
+    @Test
+    void sendAsyncHandsTheResponseToTheResponseHandlerOfTheRequest() throws Exception {
+        Response response = createResponse(500, "{\"code\":\"generalException\"}");
+        BaseGraphRequestAdapter adapter = getAdapter(response);
+        HashMap<String, ParsableFactory<? extends Parsable>> errorMappings = new HashMap<>();
+        TestDrive handledDrive = new TestDrive();
+        RequestInformation requestInformation = getRequestInformation();
+        requestInformation.setResponseHandler(new ResponseHandler() {
+            @Nullable
+            @Override
+            @SuppressWarnings("unchecked")
+            public <NativeResponseType, ModelType> ModelType handleResponse(@Nonnull NativeResponseType nativeResponse, @Nullable HashMap<String, ParsableFactory<? extends Parsable>> handlerErrorMappings) {
+                assertSame(response, nativeResponse);
+                assertSame(errorMappings, handlerErrorMappings);
+                return (ModelType) handledDrive;
+            }
+        });
+
+        assertSame(handledDrive, adapter.sendAsync(requestInformation, errorMappings, TestDrive::createFromDiscriminatorValue).get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void sendNativeAsyncResolvesTheBaseUrlOfTheAdapter() throws Exception {
+        List<String> requestedUrls = Collections.synchronizedList(new ArrayList<>());
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(chain -> {
+            requestedUrls.add(chain.request().url().toString());
+            return createResponse(200, "{\"id\":\"drive\"}").newBuilder().request(chain.request()).build();
+        }).build();
+        BaseGraphRequestAdapter adapter = new BaseGraphRequestAdapter(new AnonymousAuthenticationProvider(), "https://graph.microsoft.com/v1.0", client);
+        RequestInformation requestInformation = new RequestInformation();
+        requestInformation.httpMethod = HttpMethod.GET;
+        requestInformation.urlTemplate = "{+baseurl}/me/drive";
+
+        TestDrive drive = adapter.sendAsync(requestInformation, TestDrive::createFromDiscriminatorValue).get(10, TimeUnit.SECONDS);
+
+        assertEquals("drive", drive.id);
+        assertEquals(Collections.singletonList("https://graph.microsoft.com/v1.0/me/drive"), requestedUrls);
+    }
+
+    private static BaseGraphRequestAdapter getAdapter(Response response) {
+        ParseNodeFactoryRegistry.defaultInstance.contentTypeAssociatedFactories.put(CoreConstants.MimeTypeNames.APPLICATION_JSON, new JsonParseNodeFactory());
+        OkHttpClient mockClient = mock(OkHttpClient.class);
+        Call remoteCall = mock(Call.class);
+        doAnswer((Answer<Void>) invocation -> {
+            Callback callback = invocation.getArgument(0);
+            callback.onResponse(remoteCall, response);
+            return null;
+        }).when(remoteCall).enqueue(any(Callback.class));
+        when(mockClient.dispatcher()).thenReturn(new Dispatcher());
+        when(mockClient.newCall(any())).thenReturn(remoteCall);
+        return new BaseGraphRequestAdapter(new AnonymousAuthenticationProvider(), "https://a.b.c/", mockClient);
+    }
+    private static RequestInformation getRequestInformation() {
+        RequestInformation requestInformation = new RequestInformation();
+        requestInformation.httpMethod = HttpMethod.GET;
+        requestInformation.urlTemplate = "https://a.b.c/drive";
+        return requestInformation;
+    }
+    private static Response createResponse(int code, String body) {
+        return new Response.Builder()
+            .request(new Request.Builder().url("https://a.b.c/drive").build())
+            .protocol(Protocol.HTTP_1_1)
+            .code(code)
+            .message("")
+            .body(ResponseBody.create(body, MediaType.parse(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+            .build();
+    }
+
+    private static class TestError extends ApiException implements Parsable {
+        private static final long serialVersionUID = 1L;
+        String code;
+
+        @Nonnull
+        @Override
+        public HashMap<String, Consumer<ParseNode>> getFieldDeserializers() {
+            HashMap<String, Consumer<ParseNode>> props = new HashMap<>();
+            props.put("code", (n) -> this.code = n.getStringValue());
+            return props;
+        }
+
+        @Override
+        public void serialize(@Nonnull SerializationWriter writer) {
+            writer.writeStringValue("code", code);
+        }
+
+        static TestError createFromDiscriminatorValue(ParseNode parseNode) {
+            return new TestError();
+        }
+    }
+}
@@ -3,18 +3,53 @@ package com.microsoft.graph.core.requests;
 import com.microsoft.graph.core.BaseClient;
 import com.microsoft.graph.core.CoreConstants;
 import com.microsoft.graph.core.content.BatchRequestContent;
+import com.microsoft.graph.core.content.BatchRequestContentCollection;
+import com.microsoft.graph.core.content.BatchResponseContent;
+import com.microsoft.graph.core.content.BatchResponseContentCollection;
 import com.microsoft.graph.core.models.BatchRequestStep;
+import com.microsoft.kiota.RequestAdapter;
 import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.RequestOption;
+import com.microsoft.kiota.ResponseHandlerOption;
 import com.microsoft.kiota.authentication.AnonymousAuthenticationProvider;
 import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class BatchRequestBuilderTest {
 
@@ -36,4 +71,322 @@ class BatchRequestBuilderTest {
         assertEquals(client.getRequestAdapter(), batchRequestBuilder.getRequestAdapter());
 
     }
+
+    @Test
+    void BatchRequestBuilder_PostAsyncSendsBlockingRequestAdaptersOffTheCommonPool() throws Exception {
+        BaseClient client = new BaseClient(new AnonymousAuthenticationProvider(), "https://localhost");
+        BatchRequestContent requestContent = new BatchRequestContent(client);
+        String requestId = requestContent.addBatchRequestStep(new Request.Builder().url("https://graph.microsoft.com/v1.0/me/").build());
+        RequestAdapter requestAdapter = mock(RequestAdapter.class);
+        when(requestAdapter.getBaseUrl()).thenReturn("https://graph.microsoft.com/v1.0");
+        List<String> senderThreads = Collections.synchronizedList(new ArrayList<>());
+        when(requestAdapter.sendPrimitive(any(RequestInformation.class), any(), eq(InputStream.class))).thenAnswer(invocation -> {
+            senderThreads.add(Thread.currentThread().getName());
+            echoBatchResponse(invocation.getArgument(0));
+            return null;
+        });
+        BatchRequestBuilder batchRequestBuilder = new BatchRequestBuilder(requestAdapter);
+
+        BatchResponseContent responseContent = batchRequestBuilder.postAsync(requestContent, null).get(10, TimeUnit.SECONDS);
+
+        assertEquals(200, responseContent.getResponseById(requestId).code());
+        assertEquals(Collections.singletonList("graph-async-request"), senderThreads);
+    }
+
+    @Test
+    void BatchRequestBuilder_PostConcurrentlyLimitsBatchesInFlight() throws Exception {
+        BaseClient client = new BaseClient(new AnonymousAuthenticationProvider(), "https://localhost");
+        BatchRequestContentCollection collection = new BatchRequestContentCollection(client, 2);
+        for (int i = 0; i < 10; i++) {
+            collection.addBatchRequestStep(new Request.Builder().url("https://graph.microsoft.com/v1.0/users/" + i).build());
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        RequestAdapter requestAdapter = mock(RequestAdapter.class);
+        when(requestAdapter.getBaseUrl()).thenReturn("https://graph.microsoft.com/v1.0");
+        when(requestAdapter.sendPrimitive(any(RequestInformation.class), any(), eq(InputStream.class))).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+                echoBatchResponse(invocation.getArgument(0));
+                return null;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            BatchRequestBuilder batchRequestBuilder = new BatchRequestBuilder(requestAdapter);
+            BatchResponseContentCollection responses = batchRequestBuilder.postConcurrently(collection, null, 3, executor).get(10, TimeUnit.SECONDS);
+
+            assertTrue(maxInFlight.get() <= 3);
+            assertEquals(10, responses.getResponsesStatusCodes().size());
+            for (String id : collection.getBatchRequestSteps().keySet()) {
+                assertEquals(200, responses.getResponseById(id).code());
+            }
+            assertThrows(IllegalArgumentException.class, () -> batchRequestBuilder.postConcurrently(collection, null, 0, executor));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void BatchRequestBuilder_PostWithRetriesRetriesThrottledStepsWithTheirDependents() throws Exception {
+        BaseClient client = new BaseClient(new AnonymousAuthenticationProvider(), "https://localhost");
+        BatchRequestContentCollection collection = new BatchRequestContentCollection(client);
+        collection.addBatchRequestStep(new BatchRequestStep("1", new Request.Builder().url("https://graph.microsoft.com/v1.0/users/1").build()));
+        collection.addBatchRequestStep(new BatchRequestStep("2", new Request.Builder().url("https://graph.microsoft.com/v1.0/users/2").build(), Arrays.asList("1")));
+        collection.addBatchRequestStep(new BatchRequestStep("3", new Request.Builder().url("https://graph.microsoft.com/v1.0/users/3").build()));
+        List<String> batchRequests = Collections.synchronizedList(new ArrayList<>());
+        RequestAdapter requestAdapter = mock(RequestAdapter.class);
+        when(requestAdapter.getBaseUrl()).thenReturn("https://graph.microsoft.com/v1.0");
+        when(requestAdapter.sendPrimitive(any(RequestInformation.class), any(), eq(InputStream.class))).thenAnswer(invocation -> {
+            boolean firstAttempt = batchRequests.isEmpty();
+            batchRequests.add(echoBatchResponse(invocation.getArgument(0), id -> {
+                if (firstAttempt && id.equals("1")) {
+                    return "\"status\":429,\"headers\":{\"Retry-After\":\"0\"}";
+                } else if (firstAttempt && id.equals("2")) {
+                    return "\"status\":424";
+                }
+                return "\"status\":200";
+            }));
+            return null;
+        });
+
+        BatchResponseContentCollection responses = new BatchRequestBuilder(requestAdapter).postWithRetries(collection, null, 2);
+
+        assertEquals(2, batchRequests.size());
+        assertTrue(batchRequests.get(1).contains("\"dependsOn\":[\"1\"]"));
+        assertFalse(batchRequests.get(1).contains("\"id\":\"3\""));
+        for (String id : Arrays.asList("1", "2", "3")) {
+            assertEquals(200, responses.getResponseById(id).code());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new BatchRequestBuilder(requestAdapter).postWithRetriesAsync(collection, null, -1));
+    }
+
+    @Test
+    void BatchRequestBuilder_PostWithRetriesWaitsForTheLongestRetryAfterAndStopsAfterMaxRetries() throws Exception {
+        BaseClient client = new BaseClient(new AnonymousAuthenticationProvider(), "https://localhost");
+        BatchRequestContentCollection collection = new BatchRequestContentCollection(client);
+        for (String id : Arrays.asList("1", "2", "3")) {
+            collection.addBatchRequestStep(new BatchRequestStep(id, new Request.Builder().url("https://graph.microsoft.com/v1.0/users/" + id).build()));
+        }
+        List<String> batchRequests = Collections.synchronizedList(new ArrayList<>());
+        List<Long> postedAt = Collections.synchronizedList(new ArrayList<>());
+        RequestAdapter requestAdapter = mock(RequestAdapter.class);
+        when(requestAdapter.getBaseUrl()).thenReturn("https://graph.microsoft.com/v1.0");
+        when(requestAdapter.sendPrimitive(any(RequestInformation.class), any(), eq(InputStream.class))).thenAnswer(invocation -> {
+            boolean firstAttempt = batchRequests.isEmpty();
+            postedAt.add(System.nanoTime());
+            batchRequests.add(echoBatchResponse(invocation.getArgument(0), id -> {
+                if (id.equals("3")) {
+                    return "\"status\":429,\"headers\":{\"Retry-After\":\"0\"}";
+                } else if (firstAttempt && id.equals("1")) {
+                    return "\"status\":429,\"headers\":{\"Retry-After\":\"0\"}";
+                } else if (firstAttempt && id.equals("2")) {
+                    return "\"status\":503,\"headers\":{\"Retry-After\":\"1\"}";
+                }
+                return "\"status\":200";
+            }));
+            return null;
+        });
+
+        BatchResponseContentCollection responses = new BatchRequestBuilder(requestAdapter).postWithRetries(collection, null, 2);
+
+        assertEquals(3, batchRequests.size());
+        assertTrue(postedAt.get(1) - postedAt.get(0) >= TimeUnit.MILLISECONDS.toNanos(900));
+        assertTrue(batchRequests.get(1).contains("\"id\":\"1\"") && batchRequests.get(1).contains("\"id\":\"2\""));
+        assertFalse(batchRequests.get(2).contains("\"id\":\"1\"") || batchRequests.get(2).contains("\"id\":\"2\""));
+        assertEquals(200, responses.getResponseById("1").code());
+        assertEquals(200, responses.getResponseById("2").code());
+        assertEquals(429, responses.getResponseById("3").code());
+    }
+
+    @Test
+    void BatchRequestBuilder_PostWithRetriesResolvesTheBaseUrlOfARealRequestAdapter() throws Exception {
+        BaseClient client = new BaseClient(new AnonymousAuthenticationProvider(), "https://localhost");
+        BatchRequestContentCollection collection = new BatchRequestContentCollection(client);
+        collection.addBatchRequestStep(new BatchRequestStep("1", new Request.Builder().url("https://graph.microsoft.com/v1.0/users/1").build()));
+        collection.addBatchRequestStep(new BatchRequestStep("2", new Request.Builder().url("https://graph.microsoft.com/v1.0/users/2").build()));
+        List<String> batchRequests = Collections.synchronizedList(new ArrayList<>());
+        BaseGraphRequestAdapter requestAdapter = echoBatchRequestAdapter(batchRequests, id ->
+            batchRequests.size() == 1 && id.equals("1") ? "\"status\":429,\"headers\":{\"Retry-After\":\"0\"}" : "\"status\":200");
+
+        BatchResponseContentCollection responses = new BatchRequestBuilder(requestAdapter).postWithRetries(collection, null, 2);
+
+        assertEquals(2, batchRequests.size());
+        for (String batchRequest : batchRequests) {
+            assertTrue(batchRequest.startsWith("https://graph.microsoft.com/v1.0/$batch "));
+        }
+        assertFalse(batchRequests.get(1).contains("\"id\":\"2\""));
+        assertEquals(200, responses.getResponseById("1").code());
+        assertEquals(200, responses.getResponseById("2").code());
+    }
+
+    @Test
+    void BatchRequestBuilder_ConcurrentPostsWaitForTheBatchesOfASplitChain() throws Exception {
+        BaseClient client = new BaseClient(new AnonymousAuthenticationProvider(), "https://localhost");
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        RequestAdapter requestAdapter = mock(RequestAdapter.class);
+        when(requestAdapter.getBaseUrl()).thenReturn("https://graph.microsoft.com/v1.0");
+        when(requestAdapter.sendPrimitive(any(RequestInformation.class), any(), eq(InputStream.class))).thenAnswer(invocation -> {
+            RequestInformation requestInformation = invocation.getArgument(0);
+            String requestContent = new String(readAllBytes(requestInformation.content), StandardCharsets.UTF_8);
+            Matcher matcher = Pattern.compile("\"id\":\"([^\"]+)\"").matcher(requestContent);
+            List<String> ids = new ArrayList<>();
+            while (matcher.find()) {
+                ids.add(matcher.group(1));
+            }
+            events.add("start " + ids);
+            //The first batch of the chain is the slowest one, a batch posted without waiting for it would start before it ends
+            Thread.sleep(ids.contains("1") ? 200 : 10);
+            events.add("end " + ids);
+            requestInformation.content = new ByteArrayInputStream(requestContent.getBytes(StandardCharsets.UTF_8));
+            echoBatchResponse(requestInformation);
+            return null;
+        });
+        BatchRequestBuilder batchRequestBuilder = new BatchRequestBuilder(requestAdapter);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            for (int post = 0; post < 3; post++) {
+                BatchRequestContentCollection collection = new BatchRequestContentCollection(client, 2);
+                collection.setDependencyAwarePackingEnabled(true);
+                for (int i = 1; i <= 5; i++) {
+                    Request request = new Request.Builder().url("https://graph.microsoft.com/v1.0/users/" + i).build();
+                    collection.addBatchRequestStep(i == 1 ? new BatchRequestStep("1", request) : new BatchRequestStep(String.valueOf(i), request, Arrays.asList(String.valueOf(i - 1))));
+                }
+                events.clear();
+                if (post == 0) {
+                    batchRequestBuilder.postAsync(collection, null).get(10, TimeUnit.SECONDS);
+                } else if (post == 1) {
+                    batchRequestBuilder.postConcurrently(collection, null, 3, executor).get(10, TimeUnit.SECONDS);
+                } else {
+                    batchRequestBuilder.postStreaming(collection, null, 3, responseStep -> assertEquals(200, responseStep.getStatusCode())).get(10, TimeUnit.SECONDS);
+                }
+
+                assertEquals(Collections.singleton(0), collection.getBatchRequestPrerequisites(1));
+                assertEquals(Collections.singleton(1), collection.getBatchRequestPrerequisites(2));
+                assertEquals(Arrays.asList("start [1, 2]", "end [1, 2]", "start [3, 4]", "end [3, 4]", "start [5]", "end [5]"), events);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void BatchRequestBuilder_PostStreamingHandsOverEachStepAsItsBatchCompletes() throws Exception {
+        BaseClient client = new BaseClient(new AnonymousAuthenticationProvider(), "https://localhost");
+        BatchRequestContentCollection collection = new BatchRequestContentCollection(client, 2);
+        for (int i = 0; i < 5; i++) {
+            collection.addBatchRequestStep(new Request.Builder().url("https://graph.microsoft.com/v1.0/users/" + i).build());
+        }
+        RequestAdapter requestAdapter = mock(RequestAdapter.class);
+        when(requestAdapter.getBaseUrl()).thenReturn("https://graph.microsoft.com/v1.0");
+        when(requestAdapter.sendPrimitive(any(RequestInformation.class), any(), eq(InputStream.class))).thenAnswer(invocation -> {
+            echoBatchResponse(invocation.getArgument(0));
+            return null;
+        });
+        BatchRequestBuilder batchRequestBuilder = new BatchRequestBuilder(requestAdapter);
+        List<String> consumedIds = new ArrayList<>();
+
+        batchRequestBuilder.postStreaming(collection, null, 2, responseStep -> {
+            assertEquals(200, responseStep.getStatusCode());
+            consumedIds.add(responseStep.getRequestId());
+        }).get(10, TimeUnit.SECONDS);
+
+        assertEquals(5, consumedIds.size());
+        assertTrue(consumedIds.containsAll(collection.getBatchRequestSteps().keySet()));
+        BatchRequestContentCollection failingCollection = new BatchRequestContentCollection(client, 2);
+        failingCollection.addBatchRequestStep(new Request.Builder().url("https://graph.microsoft.com/v1.0/users/0").build());
+        CompletableFuture<Void> failed = batchRequestBuilder.postStreaming(failingCollection, null, 1, responseStep -> {
+            throw new IllegalStateException("Unable to consume the step");
+        });
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> failed.get(10, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    void BatchRequestBuilder_PostStreamingResolvesTheBaseUrlOfARealRequestAdapter() throws Exception {
+        BaseClient client = new BaseClient(new AnonymousAuthenticationProvider(), "https://localhost");
+        BatchRequestContentCollection collection = new BatchRequestContentCollection(client, 2);
+        for (int i = 0; i < 5; i++) {
+            collection.addBatchRequestStep(new Request.Builder().url("https://graph.microsoft.com/v1.0/users/" + i).build());
+        }
+        List<String> batchRequests = Collections.synchronizedList(new ArrayList<>());
+        BatchRequestBuilder batchRequestBuilder = new BatchRequestBuilder(echoBatchRequestAdapter(batchRequests, id -> "\"status\":200"));
+        List<String> consumedIds = Collections.synchronizedList(new ArrayList<>());
+
+        batchRequestBuilder.postStreaming(collection, null, 2, responseStep -> {
+            assertEquals(200, responseStep.getStatusCode());
+            consumedIds.add(responseStep.getRequestId());
+        }).get(10, TimeUnit.SECONDS);
+
+        assertEquals(3, batchRequests.size());
+        for (String batchRequest : batchRequests) {
+            assertTrue(batchRequest.startsWith("https://graph.microsoft.com/v1.0/$batch "));
+        }
+        assertEquals(5, consumedIds.size());
+        assertTrue(consumedIds.containsAll(collection.getBatchRequestSteps().keySet()));
+    }
+
+    /**
+     * Answers a mocked batch request with a successful response for each of its steps, through the response handler of the request.
+     */
+    private static void echoBatchResponse(RequestInformation requestInformation) throws IOException {
+        echoBatchResponse(requestInformation, id -> "\"status\":200");
+    }
+    /**
+     * Answers a mocked batch request through the response handler of the request.
+     * @param stepResponse gives the properties of the response of each step, after its id, from the id of the step.
+     * @return the content of the batch request.
+     */
+    private static String echoBatchResponse(RequestInformation requestInformation, Function<String, String> stepResponse) throws IOException {
+        String requestContent = new String(readAllBytes(requestInformation.content), StandardCharsets.UTF_8);
+        Response response = createEchoBatchResponse(new Request.Builder().url("https://graph.microsoft.com/v1.0/$batch").build(), requestContent, stepResponse);
+        for (RequestOption option : requestInformation.getRequestOptions()) {
+            if (option instanceof ResponseHandlerOption) {
+                ((ResponseHandlerOption) option).getResponseHandler().handleResponse(response, null);
+            }
+        }
+        return requestContent;
+    }
+    /**
+     * Creates a real request adapter whose OkHttpClient answers each batch request like {@link #echoBatchResponse(RequestInformation, Function)}.
+     * @param batchRequests receives the url and content of each batch request.
+     */
+    private static BaseGraphRequestAdapter echoBatchRequestAdapter(List<String> batchRequests, Function<String, String> stepResponse) {
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(chain -> {
+            Buffer requestContent = new Buffer();
+            Objects.requireNonNull(chain.request().body()).writeTo(requestContent);
+            String content = requestContent.readUtf8();
+            batchRequests.add(chain.request().url() + " " + content);
+            return createEchoBatchResponse(chain.request(), content, stepResponse);
+        }).build();
+        return new BaseGraphRequestAdapter(new AnonymousAuthenticationProvider(), "https://graph.microsoft.com/v1.0", client);
+    }
+    private static Response createEchoBatchResponse(Request request, String requestContent, Function<String, String> stepResponse) {
+        StringBuilder responseContent = new StringBuilder("{\"responses\":[");
+        Matcher matcher = Pattern.compile("\"id\":\"([^\"]+)\"").matcher(requestContent);
+        boolean first = true;
+        while (matcher.find()) {
+            responseContent.append(first ? "" : ",").append("{\"id\":\"").append(matcher.group(1)).append("\",").append(stepResponse.apply(matcher.group(1))).append("}");
+            first = false;
+        }
+        return new Response.Builder()
+            .request(request)
+            .protocol(Protocol.HTTP_1_1)
+            .code(200)
+            .message("OK")
+            .body(ResponseBody.create(responseContent.append("]}").toString(), MediaType.get(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+            .build();
+    }
+    private static byte[] readAllBytes(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return outputStream.toByteArray();
+    }
 }
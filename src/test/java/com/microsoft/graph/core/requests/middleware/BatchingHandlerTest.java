@@ -0,0 +1,245 @@
+package com.microsoft.graph.core.requests.middleware;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.microsoft.graph.core.CoreConstants;
+import okhttp3.Call;
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchingHandlerTest {
+
+    @Test
+    void coalescesConcurrentRequestsIntoOneBatch() throws Exception {
+        final List<String> sentUrls = Collections.synchronizedList(new ArrayList<>());
+        final List<Headers> sentHeaders = Collections.synchronizedList(new ArrayList<>());
+        final List<JsonObject> sentSteps = Collections.synchronizedList(new ArrayList<>());
+        final OkHttpClient client = new OkHttpClient.Builder()
+            .addInterceptor(new BatchingHandler(3, Duration.ofSeconds(5)))
+            .addInterceptor(chain -> {
+                final Request request = chain.request();
+                sentUrls.add(request.url().encodedPath());
+                sentHeaders.add(request.headers());
+                final Buffer content = new Buffer();
+                request.body().writeTo(content);
+                final JsonObject batchRequest = JsonParser.parseString(content.readUtf8()).getAsJsonObject();
+                final StringBuilder batchResponse = new StringBuilder("{\"responses\":[");
+                for (JsonElement step : batchRequest.getAsJsonArray(CoreConstants.BatchRequest.REQUESTS)) {
+                    sentSteps.add(step.getAsJsonObject());
+                    batchResponse.append(batchResponse.charAt(batchResponse.length() - 1) == '[' ? "" : ",")
+                        .append("{\"id\":\"").append(step.getAsJsonObject().get("id").getAsString())
+                        .append("\",\"status\":200,\"body\":{\"url\":\"").append(step.getAsJsonObject().get("url").getAsString()).append("\"}}");
+                }
+                return new Response.Builder()
+                    .request(request)
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(200)
+                    .message("OK")
+                    .body(ResponseBody.create(batchResponse.append("]}").toString(), MediaType.get(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+                    .build();
+            })
+            .build();
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final List<Future<String>> bodies = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                final String url = "https://graph.microsoft.com/v1.0/users/" + i;
+                bodies.add(executor.submit(() -> {
+                    final Request request = new Request.Builder()
+                        .url(url)
+                        .header("Authorization", "Bearer token")
+                        .header(CoreConstants.Headers.SDK_VERSION_HEADER_NAME, "graph-java-core/3.0.0")
+                        .header(CoreConstants.Headers.CLIENT_REQUEST_ID, url)
+                        .header("If-Match", "etag")
+                        .header("ConsistencyLevel", "eventual")
+                        .build();
+                    try (Response response = client.newCall(request).execute()) {
+                        assertEquals(200, response.code());
+                        assertEquals(url, response.request().url().toString());
+                        return response.body().string();
+                    }
+                }));
+            }
+            for (int i = 0; i < 3; i++) {
+                assertEquals("{\"url\":\"/users/" + i + "\"}", bodies.get(i).get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(Collections.singletonList("/v1.0/$batch"), sentUrls);
+            final Headers batchHeaders = sentHeaders.get(0);
+            assertEquals("Bearer token", batchHeaders.get("Authorization"));
+            assertEquals("graph-java-core/3.0.0", batchHeaders.get(CoreConstants.Headers.SDK_VERSION_HEADER_NAME));
+            assertNull(batchHeaders.get(CoreConstants.Headers.CLIENT_REQUEST_ID));
+            assertNull(batchHeaders.get("If-Match"));
+            assertNull(batchHeaders.get("ConsistencyLevel"));
+            assertEquals(3, sentSteps.size());
+            for (JsonObject step : sentSteps) {
+                final JsonObject stepHeaders = step.getAsJsonObject(CoreConstants.BatchRequest.HEADERS);
+                assertEquals("etag", stepHeaders.get("If-Match").getAsString());
+                assertEquals("https://graph.microsoft.com/v1.0" + step.get("url").getAsString(), stepHeaders.get(CoreConstants.Headers.CLIENT_REQUEST_ID).getAsString());
+                assertFalse(stepHeaders.has("Authorization"));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    @Test
+    void sendsALoneRequestAsIs() throws Exception {
+        final List<String> sentUrls = Collections.synchronizedList(new ArrayList<>());
+        final OkHttpClient client = new OkHttpClient.Builder()
+            .addInterceptor(new BatchingHandler(20, Duration.ofMillis(1)))
+            .addInterceptor(chain -> {
+                sentUrls.add(chain.request().url().encodedPath());
+                return new Response.Builder()
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(204)
+                    .message("No Content")
+                    .body(ResponseBody.create("", null))
+                    .build();
+            })
+            .build();
+
+        try (Response response = client.newCall(new Request.Builder().url("https://graph.microsoft.com/v1.0/me").build()).execute()) {
+            assertEquals(204, response.code());
+        }
+        assertEquals(Collections.singletonList("/v1.0/me"), sentUrls);
+        assertThrows(IllegalArgumentException.class, () -> new BatchingHandler(21, Duration.ZERO));
+    }
+    @Test
+    void sendsRequestsToOtherHostsOrServiceVersionsAsIs() throws Exception {
+        final List<String> sentUrls = Collections.synchronizedList(new ArrayList<>());
+        final OkHttpClient client = new OkHttpClient.Builder()
+            .addInterceptor(new BatchingHandler(2, Duration.ofSeconds(30)))
+            .addInterceptor(chain -> {
+                sentUrls.add(chain.request().url().toString());
+                return new Response.Builder()
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(204)
+                    .message("No Content")
+                    .body(ResponseBody.create("", null))
+                    .build();
+            })
+            .build();
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final List<Future<Integer>> codes = new ArrayList<>();
+            for (String url : new String[] {"https://tenant.sharepoint.com/_api/v2.0/drives/1", "https://graph.microsoft.com/v2.0/drives/1"}) {
+                codes.add(executor.submit(() -> {
+                    final Request request = new Request.Builder()
+                        .url(url)
+                        .header("Authorization", "Bearer token")
+                        .header(CoreConstants.Headers.SDK_VERSION_HEADER_NAME, "graph-java-core/3.0.0")
+                        .header(CoreConstants.Headers.CLIENT_REQUEST_ID, url)
+                        .header("If-Match", "etag")
+                        .header("ConsistencyLevel", "eventual")
+                        .build();
+                    try (Response response = client.newCall(request).execute()) {
+                        return response.code();
+                    }
+                }));
+            }
+            for (Future<Integer> code : codes) {
+                assertEquals(204, code.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(2, sentUrls.size());
+            assertTrue(sentUrls.stream().noneMatch(url -> url.endsWith("$batch")));
+        } finally {
+            executor.shutdown();
+        }
+    }
+    @Test
+    void releasesTheCallersOfABatchWhenItFailsWithAnError() throws Exception {
+        final OkHttpClient client = new OkHttpClient.Builder()
+            .addInterceptor(new BatchingHandler(2, Duration.ofSeconds(30)))
+            .addInterceptor(chain -> {
+                throw new AssertionError("Unexpected failure");
+            })
+            .build();
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final List<Future<Response>> responses = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                final Request request = new Request.Builder().url("https://graph.microsoft.com/v1.0/users/" + i).build();
+                responses.add(executor.submit(() -> client.newCall(request).execute()));
+            }
+            final List<Class<?>> failures = new ArrayList<>();
+            for (Future<Response> response : responses) {
+                failures.add(assertThrows(ExecutionException.class, () -> response.get(10, TimeUnit.SECONDS)).getCause().getClass());
+            }
+            assertTrue(failures.contains(AssertionError.class));
+            assertTrue(failures.contains(IOException.class));
+        } finally {
+            executor.shutdown();
+        }
+    }
+    @Test
+    void stopsWaitingForTheBatchWhenTheCallIsCanceled() throws Exception {
+        final CountDownLatch batchSent = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final OkHttpClient client = new OkHttpClient.Builder()
+            .addInterceptor(new BatchingHandler(2, Duration.ofSeconds(30)))
+            .addInterceptor(chain -> {
+                batchSent.countDown();
+                try {
+                    release.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("Released");
+            })
+            .build();
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final List<Call> calls = new ArrayList<>();
+            final List<Future<Response>> responses = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                final Call call = client.newCall(new Request.Builder().url("https://graph.microsoft.com/v1.0/users/" + i).build());
+                calls.add(call);
+                responses.add(executor.submit(call::execute));
+            }
+            assertTrue(batchSent.await(10, TimeUnit.SECONDS));
+            for (Call call : calls) {
+                call.cancel();
+            }
+            //The caller which sent the batch is still blocked in it, the other one returns as soon as it sees the cancelation
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (responses.stream().noneMatch(Future::isDone) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            final Future<Response> follower = responses.get(0).isDone() ? responses.get(0) : responses.get(1);
+            final ExecutionException failure = assertThrows(ExecutionException.class, () -> follower.get(0, TimeUnit.SECONDS));
+            assertInstanceOf(IOException.class, failure.getCause());
+            assertEquals("Canceled", failure.getCause().getMessage());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+}
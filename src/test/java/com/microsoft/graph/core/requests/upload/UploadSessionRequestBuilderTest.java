@@ -0,0 +1,64 @@
+package com.microsoft.graph.core.requests.upload;
+
+import com.microsoft.graph.core.CoreConstants;
+import com.microsoft.graph.core.models.IUploadSession;
+import com.microsoft.graph.core.requests.BaseGraphRequestAdapter;
+import com.microsoft.graph.core.testModels.TestDriveItem;
+import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.authentication.AnonymousAuthenticationProvider;
+import com.microsoft.kiota.serialization.JsonParseNodeFactory;
+import com.microsoft.kiota.serialization.ParseNodeFactoryRegistry;
+import okhttp3.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UploadSessionRequestBuilderTest {
+
+    @Test
+    void getAsyncEnqueuesRequestAndReturnsExpectedUploadSession() throws Exception {
+        ParseNodeFactoryRegistry.defaultInstance.contentTypeAssociatedFactories.put(CoreConstants.MimeTypeNames.APPLICATION_JSON, new JsonParseNodeFactory());
+        OkHttpClient mockClient = UploadSliceRequestTest.getMockClient(createResponse(200,
+            "{\"expirationDateTime\":\"2015-01-29T09:21:55.523Z\",\"nextExpectedRanges\":[\"12345-\"]}"));
+        UploadSessionRequestBuilder<TestDriveItem> sessionRequestBuilder = getSessionRequestBuilder(mockClient);
+
+        IUploadSession session = sessionRequestBuilder.getAsync().get(10, TimeUnit.SECONDS);
+
+        verify(mockClient.newCall(any()), times(1)).enqueue(any(Callback.class));
+        verify(mockClient.newCall(any()), never()).execute();
+        assertEquals("12345-", session.getNextExpectedRanges().get(0));
+    }
+
+    @Test
+    void deleteAsyncEnqueuesRequestAndFailsOnErrorResponse() throws Exception {
+        OkHttpClient mockClient = UploadSliceRequestTest.getMockClient(createResponse(204, ""));
+
+        getSessionRequestBuilder(mockClient).deleteAsync().get(10, TimeUnit.SECONDS);
+
+        verify(mockClient.newCall(any()), times(1)).enqueue(any(Callback.class));
+        verify(mockClient.newCall(any()), never()).execute();
+        CompletableFuture<Void> failedDelete = getSessionRequestBuilder(UploadSliceRequestTest.getMockClient(createResponse(404, ""))).deleteAsync();
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> failedDelete.get(10, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof ApiException);
+        assertEquals(404, ((ApiException) exception.getCause()).getResponseStatusCode());
+    }
+
+    private static UploadSessionRequestBuilder<TestDriveItem> getSessionRequestBuilder(OkHttpClient client) {
+        BaseGraphRequestAdapter adapter = new BaseGraphRequestAdapter(new AnonymousAuthenticationProvider(), "https://a.b.c/", client);
+        return new UploadSessionRequestBuilder<>("https://a.b.c/session", adapter, TestDriveItem::createFromDiscriminatorValue);
+    }
+    private static Response createResponse(int code, String body) {
+        return new Response.Builder()
+            .request(new Request.Builder().url("https://a.b.c/session").build())
+            .protocol(Protocol.HTTP_1_1)
+            .message("")
+            .body(ResponseBody.create(body, MediaType.parse(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+            .code(code)
+            .build();
+    }
+}
@@ -3,6 +3,7 @@ package com.microsoft.graph.core.requests.upload;
 import com.microsoft.graph.core.CoreConstants;
 import com.microsoft.graph.core.models.UploadResult;
 import com.microsoft.graph.core.models.UploadSession;
+import com.microsoft.graph.core.requests.BaseGraphRequestAdapter;
 import com.microsoft.graph.core.testModels.TestDriveItem;
 import com.microsoft.kiota.authentication.AnonymousAuthenticationProvider;
 import com.microsoft.kiota.http.OkHttpRequestAdapter;
@@ -17,6 +18,8 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.time.OffsetDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static com.microsoft.kiota.serialization.ParseNodeFactoryRegistry.defaultInstance;
 import static org.junit.jupiter.api.Assertions.*;
@@ -67,6 +70,56 @@ class UploadSliceRequestTest {
         assertEquals(2, session.getNextExpectedRanges().size());
     }
 
+    @Test
+    void putAsyncEnqueuesRequestAndReturnsExpectedUploadSession() throws Exception {
+        registry.contentTypeAssociatedFactories.put(CoreConstants.MimeTypeNames.APPLICATION_JSON, new JsonParseNodeFactory());
+        ParsableFactory<TestDriveItem> factory = TestDriveItem::createFromDiscriminatorValue;
+        ResponseBody body = ResponseBody.create(
+            "{\n" +
+                "   \"expirationDateTime\": \"2015-01-29T09:21:55.523Z\",\n" +
+                "   \"nextExpectedRanges\": [\n" +
+                "   \"201-999\"\n" +
+                "   ]" +
+                "}", MediaType.parse(CoreConstants.MimeTypeNames.APPLICATION_JSON));
+        Response response = new Response.Builder()
+            .request(new Request.Builder().post(mock(RequestBody.class)).url("https://a.b.c/").build())
+            .protocol(Protocol.HTTP_1_1)
+            .message("Accepted")
+            .body(body)
+            .code(HttpURLConnection.HTTP_ACCEPTED)
+            .build();
+
+        OkHttpClient mockClient = getMockClient(response);
+        final BaseGraphRequestAdapter adapter = new BaseGraphRequestAdapter(new AnonymousAuthenticationProvider(), "https://a.b.c/", mockClient);
+
+        UploadSliceRequestBuilder<TestDriveItem> sliceRequestBuilder = new UploadSliceRequestBuilder<>(
+            "https://a.b.c/", adapter, 0, 200 , 1000, factory);
+
+        UploadResult<TestDriveItem> result = sliceRequestBuilder.putAsync(new ByteArrayInputStream(new byte[201])).get(10, TimeUnit.SECONDS);
+
+        verify(mockClient.newCall(any()), times(1)).enqueue(any(Callback.class));
+        verify(mockClient.newCall(any()), never()).execute();
+        assertFalse(result.isUploadSuccessful());
+        assertEquals("201-999", result.uploadSession.getNextExpectedRanges().get(0));
+    }
+
+    @Test
+    void putAsyncCancellationCancelsTheCall() throws IOException {
+        OkHttpClient mockClient = mock(OkHttpClient.class);
+        Call remoteCall = mock(Call.class);
+        when(mockClient.dispatcher()).thenReturn(new Dispatcher());
+        when(mockClient.newCall(any())).thenReturn(remoteCall);
+        final BaseGraphRequestAdapter adapter = new BaseGraphRequestAdapter(new AnonymousAuthenticationProvider(), "https://a.b.c/", mockClient);
+        UploadSliceRequestBuilder<TestDriveItem> sliceRequestBuilder = new UploadSliceRequestBuilder<>(
+            "https://a.b.c/", adapter, 0, 200 , 1000, TestDriveItem::createFromDiscriminatorValue);
+
+        CompletableFuture<UploadResult<TestDriveItem>> put = sliceRequestBuilder.putAsync(new ByteArrayInputStream(new byte[201]));
+        put.cancel(true);
+
+        verify(remoteCall, times(1)).enqueue(any(Callback.class));
+        verify(remoteCall, times(1)).cancel();
+    }
+
     public static OkHttpClient getMockClient(final Response response) throws IOException {
         final OkHttpClient mockClient = mock(OkHttpClient.class);
         final Call remoteCall = mock(Call.class);
@@ -0,0 +1,50 @@
+package com.microsoft.graph.core.tasks;
+
+import com.microsoft.kiota.RequestInformation;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptivePageSizeTunerTest {
+    @Test
+    void appliesPageSizeToNextLink() {
+        AdaptivePageSizeTuner tuner = new AdaptivePageSizeTuner(10, 999, 100);
+        RequestInformation requestInformation = new RequestInformation();
+        requestInformation.urlTemplate = "https://graph.microsoft.com/v1.0/users?$top=10&$skiptoken=abc";
+
+        assertSame(requestInformation, tuner.apply(requestInformation));
+        assertEquals("https://graph.microsoft.com/v1.0/users?$top=100&$skiptoken=abc", requestInformation.urlTemplate);
+        assertEquals("https://graph.microsoft.com/v1.0/users?$skiptoken=abc&$top=100",
+            AdaptivePageSizeTuner.withPageSize("https://graph.microsoft.com/v1.0/users?$skiptoken=abc&%24top=5", 100));
+        assertEquals("https://graph.microsoft.com/v1.0/users?$skiptoken=abc&$top=100",
+            AdaptivePageSizeTuner.withPageSize("https://graph.microsoft.com/v1.0/users?$skiptoken=abc", 100));
+        assertEquals("https://graph.microsoft.com/v1.0/users?$top=100",
+            AdaptivePageSizeTuner.withPageSize("https://graph.microsoft.com/v1.0/users", 100));
+    }
+    @Test
+    void growsWhileThroughputImprovesAndBacksOffWhenThrottled() {
+        AdaptivePageSizeTuner tuner = new AdaptivePageSizeTuner(10, 500, 100);
+
+        tuner.onPageReceived(100, TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(150, tuner.getPageSize());
+        tuner.onPageReceived(150, TimeUnit.MILLISECONDS.toNanos(120));
+        assertEquals(225, tuner.getPageSize());
+        tuner.onPageReceived(225, TimeUnit.MILLISECONDS.toNanos(400));
+        assertEquals(150, tuner.getPageSize());
+
+        tuner.onThrottled();
+        assertEquals(75, tuner.getPageSize());
+        tuner.onPageReceived(75, TimeUnit.MILLISECONDS.toNanos(10));
+        tuner.onPageReceived(75, TimeUnit.MILLISECONDS.toNanos(10));
+        assertEquals(75, tuner.getPageSize());
+
+        for (int i = 0; i < 10; i++) {
+            tuner.onThrottled();
+        }
+        assertEquals(10, tuner.getPageSize());
+        assertThrows(IllegalArgumentException.class, () -> new AdaptivePageSizeTuner(0, 10, 5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptivePageSizeTuner(10, 5, 5));
+    }
+}
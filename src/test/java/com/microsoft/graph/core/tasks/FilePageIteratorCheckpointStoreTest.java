@@ -0,0 +1,49 @@
+package com.microsoft.graph.core.tasks;
+
+import com.microsoft.graph.core.models.PageIteratorCheckpoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilePageIteratorCheckpointStoreTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void savedCheckpointIsLoadedByANewStore() throws IOException {
+        String key = "users/delta?$select=id,displayName";
+        new FilePageIteratorCheckpointStore(directory).save(key, new PageIteratorCheckpoint("https://graph.microsoft.com/v1.0/users/delta?$skiptoken=a=b", null, 7));
+
+        PageIteratorCheckpoint checkpoint = new FilePageIteratorCheckpointStore(directory).load(key);
+
+        assertNotNull(checkpoint);
+        assertEquals("https://graph.microsoft.com/v1.0/users/delta?$skiptoken=a=b", checkpoint.getNextLink());
+        assertEquals("", checkpoint.getDeltaLink());
+        assertEquals(7, checkpoint.getItemOffset());
+        assertNull(new FilePageIteratorCheckpointStore(directory).load("another key"));
+    }
+    @Test
+    void saveReplacesPreviousCheckpointWithoutLeavingTemporaryFiles() throws IOException {
+        FilePageIteratorCheckpointStore store = new FilePageIteratorCheckpointStore(directory);
+        store.save("key", new PageIteratorCheckpoint("https://a.b.c/next", "", 3));
+        store.save("key", new PageIteratorCheckpoint("", "https://a.b.c/delta", 0));
+
+        PageIteratorCheckpoint checkpoint = store.load("key");
+        assertEquals("", checkpoint.getNextLink());
+        assertEquals("https://a.b.c/delta", checkpoint.getDeltaLink());
+        assertEquals(0, checkpoint.getItemOffset());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+
+        store.delete("key");
+        assertNull(store.load("key"));
+        store.delete("key");
+    }
+}
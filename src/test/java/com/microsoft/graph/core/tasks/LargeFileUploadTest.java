@@ -1,21 +1,68 @@
 package com.microsoft.graph.core.tasks;
 
+import com.microsoft.graph.core.CoreConstants;
+import com.microsoft.graph.core.models.IUploadSource;
+import com.microsoft.graph.core.models.UploadResult;
+import com.microsoft.graph.core.requests.BaseGraphRequestAdapter;
+import com.microsoft.graph.core.requests.upload.ByteBufferUploadSource;
+import com.microsoft.graph.core.requests.upload.FileChannelUploadSource;
+import com.microsoft.graph.core.requests.upload.InputStreamUploadSource;
 import com.microsoft.graph.core.requests.upload.UploadSliceRequestBuilder;
 import com.microsoft.graph.core.testModels.TestDriveItem;
 import com.microsoft.graph.core.models.UploadSession;
+import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.RequestAdapter;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.RequestOption;
+import com.microsoft.kiota.ResponseHandlerOption;
 import com.microsoft.kiota.authentication.AuthenticationProvider;
 import com.microsoft.kiota.http.OkHttpRequestAdapter;
+import com.microsoft.kiota.serialization.JsonParseNodeFactory;
+import com.microsoft.kiota.serialization.ParseNodeFactoryRegistry;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
 import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 class LargeFileUploadTest {
 
@@ -54,7 +101,7 @@ class LargeFileUploadTest {
         ArrayList<UploadSliceRequestBuilder<TestDriveItem>> builders = (ArrayList<UploadSliceRequestBuilder<TestDriveItem>>) task.getUploadSliceRequests();
 
         assertEquals(5, builders.size()); //We expect 5 slices for a 1,000,000 byte stream
-        UploadSliceRequestBuilder slice = builders.get(0);
+        UploadSliceRequestBuilder<TestDriveItem> slice = builders.get(0);
         assertEquals(0, slice.getRangeBegin());
         assertEquals(204799,slice.getRangeEnd());
         assertEquals(204800, slice.getRangeLength());
@@ -74,7 +121,7 @@ class LargeFileUploadTest {
         ArrayList<UploadSliceRequestBuilder<TestDriveItem>> builders = (ArrayList<UploadSliceRequestBuilder<TestDriveItem>>) task.getUploadSliceRequests();
 
         assertEquals(1, builders.size());
-        UploadSliceRequestBuilder onlySlice = builders.get(0);
+        UploadSliceRequestBuilder<TestDriveItem> onlySlice = builders.get(0);
         assertEquals(0, onlySlice.getRangeBegin());
         assertEquals(size-1, onlySlice.getRangeEnd());
         assertEquals(size, onlySlice.getRangeLength());
@@ -96,14 +143,232 @@ class LargeFileUploadTest {
 
         assertEquals(4, builders.size());
         long currentRangeBegins = 0;
-        for(UploadSliceRequestBuilder slice : builders) {
+        for(UploadSliceRequestBuilder<TestDriveItem> slice : builders) {
             assertEquals(size, slice.getTotalSessionLength());
             assertEquals(currentRangeBegins, slice.getRangeBegin());
             currentRangeBegins += maxSliceSize;
         }
 
-        UploadSliceRequestBuilder lastSlice = builders.get(3);
+        UploadSliceRequestBuilder<TestDriveItem> lastSlice = builders.get(3);
         assertEquals(size%maxSliceSize, lastSlice.getRangeLength());
         assertEquals(size-1, lastSlice.getRangeEnd());
     }
+    @Test
+    void UploadsSlicesConcurrentlyAndRetriesFailedSlice() throws Exception {
+        uploadSlicesConcurrentlyAndRetryFailedSlice(uploadData -> new InputStreamUploadSource(new ByteArrayInputStream(uploadData), uploadData.length));
+    }
+    @Test
+    void UploadsFileSlicesConcurrentlyAndRetriesFailedSlice() throws Exception {
+        Path file = Files.createTempFile("largeFileUpload", ".bin");
+        try {
+            uploadSlicesConcurrentlyAndRetryFailedSlice(uploadData -> {
+                Files.write(file, uploadData);
+                return new FileChannelUploadSource(file);
+            });
+        } finally {
+            Files.delete(file);
+        }
+    }
+    @Test
+    void UploadsByteBufferSlicesConcurrentlyAndRetriesFailedSlice() throws Exception {
+        uploadSlicesConcurrentlyAndRetryFailedSlice(uploadData -> new ByteBufferUploadSource(ByteBuffer.wrap(uploadData)));
+    }
+    @Test
+    void RetriesSlicesWithTheirOwnBudgetAndCancelsSlicesInFlight() throws Exception {
+        ParseNodeFactoryRegistry.defaultInstance.contentTypeAssociatedFactories.put(CoreConstants.MimeTypeNames.APPLICATION_JSON, new JsonParseNodeFactory());
+        byte[] mockData = new byte[300];
+        AtomicInteger failures = new AtomicInteger();
+        List<Call> pendingCalls = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> deniedSlice = new CompletableFuture<>();
+        OkHttpClient mockClient = mock(OkHttpClient.class);
+        when(mockClient.dispatcher()).thenReturn(new Dispatcher());
+        when(mockClient.newCall(any())).thenAnswer(invocation -> {
+            Request request = invocation.getArgument(0);
+            String contentRange = Objects.requireNonNull(request.header("Content-Range"));
+            long rangeBegin = Long.parseLong(contentRange.substring("bytes ".length(), contentRange.indexOf('-')));
+            Call call = mock(Call.class);
+            doAnswer(enqueue -> {
+                Callback callback = enqueue.getArgument(0);
+                if (rangeBegin == 0 && failures.getAndIncrement() < 1) {
+                    callback.onResponse(call, createResponse(500, "{\"error\":{\"code\":\"generalException\"}}"));
+                } else if (rangeBegin == 0) {
+                    callback.onResponse(call, createResponse(202, "{\"expirationDateTime\":\"2019-11-07T06:39:31.499Z\",\"nextExpectedRanges\":[\"100-\"]}"));
+                    deniedSlice.complete(null);
+                } else if (rangeBegin == 100) {
+                    //The second slice is only denied once the first one went through its retry
+                    deniedSlice.thenRun(() -> {
+                        try {
+                            callback.onResponse(call, createResponse(403, "{\"error\":{\"code\":\"accessDenied\"}}"));
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    });
+                } else {
+                    pendingCalls.add(call);
+                }
+                return null;
+            }).when(call).enqueue(any(Callback.class));
+            return call;
+        });
+        BaseGraphRequestAdapter graphAdapter = new BaseGraphRequestAdapter(mock(AuthenticationProvider.class), "http://localhost", mockClient);
+        UploadSession session = new UploadSession();
+        session.setNextExpectedRanges(Arrays.asList("0-"));
+        session.setUploadUrl("http://localhost");
+        session.setExpirationDateTime(OffsetDateTime.parse("2019-11-07T06:39:31.499Z"));
+        LargeFileUploadTask<TestDriveItem> task = new LargeFileUploadTask<TestDriveItem>(graphAdapter, session, new ByteArrayInputStream(mockData), mockData.length, 100, TestDriveItem::createFromDiscriminatorValue);
+        task.setMaxConcurrentSlices(3);
+        task.setMaxSliceTries(2);
+
+        ApiException exception = assertThrows(ApiException.class, () -> task.upload(1, null));
+
+        assertEquals(403, exception.getResponseStatusCode());
+        assertEquals(2, failures.get());
+        assertEquals(1, pendingCalls.size());
+        verify(pendingCalls.get(0), times(1)).cancel();
+        assertEquals(2, task.getMaxSliceTries());
+        assertThrows(IllegalArgumentException.class, () -> task.setMaxSliceTries(0));
+    }
+    @Test
+    void UploadsSlicesAsynchronouslyInOrder() throws Exception {
+        ParseNodeFactoryRegistry.defaultInstance.contentTypeAssociatedFactories.put(CoreConstants.MimeTypeNames.APPLICATION_JSON, new JsonParseNodeFactory());
+        UploadSession session = new UploadSession();
+        session.setNextExpectedRanges(Arrays.asList("0-"));
+        session.setUploadUrl("http://localhost");
+        session.setExpirationDateTime(OffsetDateTime.parse("2019-11-07T06:39:31.499Z"));
+        byte[] mockData = new byte[500000];
+        int maxSliceSize = 200*1024;
+        List<Long> receivedRanges = Collections.synchronizedList(new ArrayList<>());
+        RequestAdapter mockAdapter = mock(RequestAdapter.class);
+        when(mockAdapter.sendPrimitive(any(RequestInformation.class), any(), eq(InputStream.class))).thenAnswer(invocation -> {
+            RequestInformation requestInformation = invocation.getArgument(0);
+            String contentRange = requestInformation.headers.get("Content-Range").iterator().next();
+            long rangeBegin = Long.parseLong(contentRange.substring("bytes ".length(), contentRange.indexOf('-')));
+            long rangeEnd = Long.parseLong(contentRange.substring(contentRange.indexOf('-') + 1, contentRange.indexOf('/')));
+            receivedRanges.add(rangeBegin);
+            respond(requestInformation, rangeEnd + 1 == mockData.length ?
+                createResponse(201, "{\"id\":\"uploadedItem\"}") :
+                createResponse(202, "{\"expirationDateTime\":\"2019-11-07T06:39:31.499Z\",\"nextExpectedRanges\":[\"" + (rangeEnd + 1) + "-\"]}"));
+            return null;
+        });
+        long[] lastProgress = {0};
+        LargeFileUploadTask<TestDriveItem> task = new LargeFileUploadTask<TestDriveItem>(mockAdapter, session, new ByteArrayInputStream(mockData), mockData.length, maxSliceSize, TestDriveItem::createFromDiscriminatorValue);
+
+        UploadResult<TestDriveItem> result = task.uploadAsync(3, (current, max) -> lastProgress[0] = current).get(10, TimeUnit.SECONDS);
+
+        assertTrue(result.isUploadSuccessful());
+        assertEquals(Arrays.asList(0L, (long) maxSliceSize, 2L * maxSliceSize), receivedRanges);
+        assertEquals(mockData.length, lastProgress[0]);
+    }
+    @Test
+    void UploadAsyncFailsOnServiceError() throws Exception {
+        ParseNodeFactoryRegistry.defaultInstance.contentTypeAssociatedFactories.put(CoreConstants.MimeTypeNames.APPLICATION_JSON, new JsonParseNodeFactory());
+        UploadSession session = new UploadSession();
+        session.setNextExpectedRanges(Arrays.asList("0-"));
+        session.setUploadUrl("http://localhost");
+        session.setExpirationDateTime(OffsetDateTime.parse("2019-11-07T06:39:31.499Z"));
+        RequestAdapter mockAdapter = mock(RequestAdapter.class);
+        when(mockAdapter.sendPrimitive(any(RequestInformation.class), any(), eq(InputStream.class))).thenAnswer(invocation -> {
+            respond(invocation.getArgument(0), createResponse(500, "{\"error\":{\"code\":\"generalException\"}}"));
+            return null;
+        });
+        byte[] mockData = new byte[1000];
+        LargeFileUploadTask<TestDriveItem> task = new LargeFileUploadTask<TestDriveItem>(mockAdapter, session, new ByteArrayInputStream(mockData), mockData.length, TestDriveItem::createFromDiscriminatorValue);
+
+        CompletableFuture<UploadResult<TestDriveItem>> result = task.uploadAsync();
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof ApiException);
+    }
+    private static void respond(RequestInformation requestInformation, Response response) {
+        for (RequestOption option : requestInformation.getRequestOptions()) {
+            if (option instanceof ResponseHandlerOption) {
+                ((ResponseHandlerOption) option).getResponseHandler().handleResponse(response, null);
+            }
+        }
+    }
+    private interface UploadSourceFactory {
+        IUploadSource create(byte[] uploadData) throws IOException;
+    }
+    private void uploadSlicesConcurrentlyAndRetryFailedSlice(UploadSourceFactory uploadSourceFactory) throws Exception {
+        ParseNodeFactoryRegistry.defaultInstance.contentTypeAssociatedFactories.put(CoreConstants.MimeTypeNames.APPLICATION_JSON, new JsonParseNodeFactory());
+        UploadSession session = new UploadSession();
+        session.setNextExpectedRanges(Arrays.asList("0-"));
+        session.setUploadUrl("http://localhost");
+        session.setExpirationDateTime(OffsetDateTime.parse("2019-11-07T06:39:31.499Z"));
+
+        byte[] mockData = new byte[1000000];
+        for (int i = 0; i < mockData.length; i++) {
+            mockData[i] = (byte) i;
+        }
+        int maxSliceSize = 200*1024;
+        Set<Long> receivedRanges = ConcurrentHashMap.newKeySet();
+        AtomicBoolean failedOnce = new AtomicBoolean();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        RequestAdapter mockAdapter = mock(RequestAdapter.class);
+        when(mockAdapter.sendPrimitive(any(RequestInformation.class), any(), eq(InputStream.class))).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+                RequestInformation requestInformation = invocation.getArgument(0);
+                String contentRange = requestInformation.headers.get("Content-Range").iterator().next();
+                long rangeBegin = Long.parseLong(contentRange.substring("bytes ".length(), contentRange.indexOf('-')));
+                long rangeEnd = Long.parseLong(contentRange.substring(contentRange.indexOf('-') + 1, contentRange.indexOf('/')));
+                byte[] content = readAllBytes(requestInformation.content);
+                assertArrayEquals(Arrays.copyOfRange(mockData, (int) rangeBegin, (int) rangeEnd + 1), content);
+
+                Response response;
+                if (rangeBegin == maxSliceSize && failedOnce.compareAndSet(false, true)) {
+                    response = createResponse(500, "{\"error\":{\"code\":\"generalException\"}}");
+                } else {
+                    receivedRanges.add(rangeBegin);
+                    response = receivedRanges.size() == 5 ?
+                        createResponse(201, "{\"id\":\"uploadedItem\"}") :
+                        createResponse(202, "{\"expirationDateTime\":\"2019-11-07T06:39:31.499Z\",\"nextExpectedRanges\":[\"" + (rangeEnd + 1) + "-\"]}");
+                }
+                for (RequestOption option : requestInformation.getRequestOptions()) {
+                    if (option instanceof ResponseHandlerOption) {
+                        ((ResponseHandlerOption) option).getResponseHandler().handleResponse(response, null);
+                    }
+                }
+                return null;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+
+        UploadResult<TestDriveItem> result;
+        long[] lastProgress = {0};
+        LargeFileUploadTask<TestDriveItem> task;
+        try (IUploadSource uploadSource = uploadSourceFactory.create(mockData)) {
+            task = new LargeFileUploadTask<TestDriveItem>(mockAdapter, session, uploadSource, maxSliceSize, TestDriveItem::createFromDiscriminatorValue);
+            task.setMaxConcurrentSlices(3);
+            result = task.upload(3, (current, max) -> lastProgress[0] = current);
+        }
+
+        assertTrue(result.isUploadSuccessful());
+        assertTrue(failedOnce.get());
+        assertEquals(5, receivedRanges.size());
+        assertTrue(maxInFlight.get() > 1 && maxInFlight.get() <= 3);
+        assertEquals(mockData.length, lastProgress[0]);
+        assertThrows(IllegalArgumentException.class, () -> task.setMaxConcurrentSlices(0));
+    }
+    private static Response createResponse(int code, String body) {
+        return new Response.Builder()
+            .request(new Request.Builder().url("http://localhost").build())
+            .protocol(Protocol.HTTP_1_1)
+            .code(code)
+            .message("")
+            .body(ResponseBody.create(body, MediaType.parse(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+            .build();
+    }
+    private static byte[] readAllBytes(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return outputStream.toByteArray();
+    }
 }
@@ -0,0 +1,194 @@
+package com.microsoft.graph.core.tasks;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.microsoft.graph.core.CoreConstants;
+import com.microsoft.graph.core.requests.BaseGraphRequestAdapter;
+import com.microsoft.graph.core.testModels.TestEventItem;
+import com.microsoft.graph.core.testModels.TestEventsResponse;
+import com.microsoft.kiota.RequestAdapter;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.RequestOption;
+import com.microsoft.kiota.ResponseHandlerOption;
+import com.microsoft.kiota.authentication.AnonymousAuthenticationProvider;
+import com.microsoft.kiota.serialization.JsonParseNodeFactory;
+import com.microsoft.kiota.serialization.ParseNodeFactoryRegistry;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PageIteratorCoordinatorTest {
+    private static final String USERS_URL = "https://graph.microsoft.com/v1.0/users/";
+
+    @Test
+    void foldsNextPageRequestsIntoBatchesAndRetriesThrottledSteps() throws Exception {
+        ParseNodeFactoryRegistry.defaultInstance.contentTypeAssociatedFactories.put(CoreConstants.MimeTypeNames.APPLICATION_JSON, new JsonParseNodeFactory());
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean throttled = new AtomicBoolean();
+        RequestAdapter requestAdapter = mock(RequestAdapter.class);
+        when(requestAdapter.getBaseUrl()).thenReturn("https://graph.microsoft.com/v1.0");
+        when(requestAdapter.convertToNativeRequest(any(RequestInformation.class))).thenAnswer(invocation ->
+            new Request.Builder().url(((RequestInformation) invocation.getArgument(0)).urlTemplate).build());
+        when(requestAdapter.sendPrimitive(any(RequestInformation.class), any(), eq(InputStream.class))).thenAnswer(invocation -> {
+            RequestInformation requestInformation = invocation.getArgument(0);
+            String batchResponse = createBatchResponse(new InputStreamReader(requestInformation.content, StandardCharsets.UTF_8), batchSizes, throttled);
+            Response response = new Response.Builder()
+                .request(new Request.Builder().url("https://graph.microsoft.com/v1.0/$batch").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create(batchResponse, MediaType.get(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+                .build();
+            for (RequestOption option : requestInformation.getRequestOptions()) {
+                if (option instanceof ResponseHandlerOption) {
+                    ((ResponseHandlerOption) option).getResponseHandler().handleResponse(response, null);
+                }
+            }
+            return null;
+        });
+
+        Set<String> processedItems = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            PageIteratorCoordinator coordinator = new PageIteratorCoordinator(requestAdapter, executor, 3);
+            for (String user : new String[] {"u1", "u2", "u3"}) {
+                coordinator.add(new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+                    .requestAdapter(requestAdapter)
+                    .collectionPage(createFirstPage(user))
+                    .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+                    .processPageItemCallback(item -> processedItems.add(item.getSubject()))
+                    .build());
+            }
+
+            Map<PageIterator<?, ?>, Throwable> failures = coordinator.iterateAsync().get(10, TimeUnit.SECONDS);
+
+            assertTrue(failures.isEmpty());
+            assertEquals(12, processedItems.size());
+            assertTrue(processedItems.contains("u2 Last 1"));
+            assertEquals(4, batchSizes.stream().mapToInt(Integer::intValue).sum());
+            assertTrue(batchSizes.size() < 4);
+        } finally {
+            executor.shutdown();
+        }
+    }
+    @Test
+    void foldsNextPageRequestsIntoBatchesThroughARealRequestAdapter() throws Exception {
+        ParseNodeFactoryRegistry.defaultInstance.contentTypeAssociatedFactories.put(CoreConstants.MimeTypeNames.APPLICATION_JSON, new JsonParseNodeFactory());
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        List<String> batchUrls = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean throttled = new AtomicBoolean();
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(chain -> {
+            batchUrls.add(chain.request().url().toString());
+            Buffer requestContent = new Buffer();
+            Objects.requireNonNull(chain.request().body()).writeTo(requestContent);
+            String batchResponse = createBatchResponse(new InputStreamReader(requestContent.inputStream(), StandardCharsets.UTF_8), batchSizes, throttled);
+            return new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create(batchResponse, MediaType.get(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+                .build();
+        }).build();
+        RequestAdapter requestAdapter = new BaseGraphRequestAdapter(new AnonymousAuthenticationProvider(), "https://graph.microsoft.com/v1.0", client);
+
+        Set<String> processedItems = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            PageIteratorCoordinator coordinator = new PageIteratorCoordinator(requestAdapter, executor, 3);
+            for (String user : new String[] {"u1", "u2", "u3"}) {
+                coordinator.add(new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+                    .requestAdapter(requestAdapter)
+                    .collectionPage(createFirstPage(user))
+                    .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+                    .processPageItemCallback(item -> processedItems.add(item.getSubject()))
+                    .build());
+            }
+
+            Map<PageIterator<?, ?>, Throwable> failures = coordinator.iterateAsync().get(10, TimeUnit.SECONDS);
+
+            assertTrue(failures.isEmpty());
+            assertEquals(12, processedItems.size());
+            assertEquals(4, batchSizes.stream().mapToInt(Integer::intValue).sum());
+            assertFalse(batchUrls.isEmpty());
+            for (String batchUrl : batchUrls) {
+                assertEquals("https://graph.microsoft.com/v1.0/$batch", batchUrl);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    @Test
+    void rejectsPrefetchingIterators() throws Exception {
+        PageIteratorCoordinator coordinator = new PageIteratorCoordinator(mock(RequestAdapter.class), Runnable::run, 1);
+        PageIterator<TestEventItem, TestEventsResponse> pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(mock(RequestAdapter.class))
+            .collectionPage(createFirstPage("u1"))
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .prefetchDepth(1)
+            .build();
+        assertThrows(IllegalArgumentException.class, () -> coordinator.add(pageIterator));
+        assertThrows(IllegalArgumentException.class, () -> coordinator.setMaxBatchSize(21));
+    }
+    /**
+     * Answers each step of a batch request with the last page of its user, throttling the first step for u2 once.
+     */
+    private static String createBatchResponse(Reader requestContent, List<Integer> batchSizes, AtomicBoolean throttled) {
+        JsonObject batchRequest = JsonParser.parseReader(requestContent).getAsJsonObject();
+        batchSizes.add(batchRequest.getAsJsonArray("requests").size());
+        StringBuilder batchResponse = new StringBuilder("{\"responses\":[");
+        for (JsonElement step : batchRequest.getAsJsonArray("requests")) {
+            String id = step.getAsJsonObject().get("id").getAsString();
+            String url = step.getAsJsonObject().get("url").getAsString();
+            batchResponse.append(batchResponse.charAt(batchResponse.length() - 1) == '[' ? "" : ",");
+            if (url.startsWith("/users/u2") && throttled.compareAndSet(false, true)) {
+                batchResponse.append("{\"id\":\"").append(id).append("\",\"status\":429,\"headers\":{\"Retry-After\":\"0\"},\"body\":{\"error\":{\"code\":\"TooManyRequests\"}}}");
+            } else {
+                String user = url.substring("/users/".length(), url.indexOf('/', "/users/".length()));
+                batchResponse.append("{\"id\":\"").append(id).append("\",\"status\":200,\"body\":")
+                    .append("{\"value\":[{\"subject\":\"").append(user).append(" Last 0\"},{\"subject\":\"").append(user).append(" Last 1\"}]}}");
+            }
+        }
+        return batchResponse.append("]}").toString();
+    }
+    private static TestEventsResponse createFirstPage(String user) {
+        TestEventsResponse page = new TestEventsResponse();
+        page.setValue(new LinkedList<>());
+        page.setOdataNextLink(USERS_URL + user + "/events?$skip=2");
+        for (int i = 0; i < 2; i++) {
+            TestEventItem item = new TestEventItem();
+            item.setSubject(user + " First " + i);
+            page.getValue().add(item);
+        }
+        return page;
+    }
+}
@@ -2,29 +2,63 @@ package com.microsoft.graph.core.tasks;
 
 import com.microsoft.graph.core.BaseClient;
 import com.microsoft.graph.core.CoreConstants;
+import com.microsoft.graph.core.content.BatchResponseContent;
+import com.microsoft.graph.core.models.PageIteratorCheckpoint;
+import com.microsoft.graph.core.requests.BaseGraphRequestAdapter;
+import com.microsoft.graph.core.testModels.BaseCollectionPaginationCountResponse;
 import com.microsoft.graph.core.testModels.TestEventItem;
 import com.microsoft.graph.core.testModels.TestEventsDeltaResponse;
 import com.microsoft.graph.core.testModels.TestEventsResponse;
 import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.ApiExceptionBuilder;
+import com.microsoft.kiota.RequestAdapter;
 import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.ResponseHeaders;
 import com.microsoft.kiota.authentication.AuthenticationProvider;
 import com.microsoft.kiota.http.OkHttpRequestAdapter;
 import com.microsoft.kiota.serialization.Parsable;
 import com.microsoft.kiota.serialization.ParsableFactory;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
 import org.junit.jupiter.api.Test;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class PageIteratorTest {
 
@@ -266,6 +300,474 @@ class PageIteratorTest {
         assertEquals(PageIterator.PageIteratorState.PAUSED, pageIterator.getPageIteratorState());
     }
     @Test
+    void given_CollectionPage_It_Iterates_Across_Pages_Async() throws Exception {
+        TestEventsResponse originalPage = new TestEventsResponse();
+        originalPage.setValue(new LinkedList<>());
+        originalPage.setOdataNextLink("http://localhost/events?$skip=11");
+        int inputEventCount = 17;
+        for(int i = 0; i < inputEventCount; i++) {
+            TestEventItem testEventItem = new TestEventItem();
+            testEventItem.setSubject("Test Event: " + i);
+            originalPage.getValue().add(testEventItem);
+        }
+
+        TestEventsResponse secondPage = new TestEventsResponse();
+        secondPage.setValue(new LinkedList<>());
+        int secondPageEventCount = 5;
+        for(int i = 0; i < secondPageEventCount; i++) {
+            TestEventItem testEventItem = new TestEventItem();
+            testEventItem.setSubject("Second Page Test Event: " + i);
+            secondPage.getValue().add(testEventItem);
+        }
+
+        AtomicInteger processedItems = new AtomicInteger();
+        MockAdapter mockAdapter = new MockAdapter(mock(AuthenticationProvider.class), secondPage);
+
+        pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(mockAdapter)
+            .collectionPage(originalPage)
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .processPageItemCallback(item -> {
+                processedItems.incrementAndGet();
+                return true;
+            })
+            .build();
+
+        pageIterator.iterateAsync().get(10, TimeUnit.SECONDS);
+
+        assertEquals(inputEventCount + secondPageEventCount, processedItems.get());
+        assertEquals(PageIterator.PageIteratorState.COMPLETE, pageIterator.getPageIteratorState());
+    }
+    @Test
+    void given_PrefetchDepth_It_Fetches_Next_Pages_While_Processing_And_Resumes_After_Pause() throws Exception {
+        TestEventsResponse firstPage = createPage("First", 3, "http://localhost/events?$skip=3");
+        Map<String, TestEventsResponse> nextPages = new HashMap<>();
+        nextPages.put("http://localhost/events?$skip=3", createPage("Second", 3, "http://localhost/events?$skip=6"));
+        nextPages.put("http://localhost/events?$skip=6", createPage("Third", 3, null));
+
+        List<String> requestedPages = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch prefetchedTwoPages = new CountDownLatch(2);
+        RequestAdapter mockAdapter = mock(RequestAdapter.class);
+        when(mockAdapter.send(any(RequestInformation.class), any(), any())).thenAnswer(invocation -> {
+            RequestInformation requestInformation = invocation.getArgument(0);
+            requestedPages.add(requestInformation.urlTemplate);
+            prefetchedTwoPages.countDown();
+            return nextPages.get(requestInformation.urlTemplate);
+        });
+
+        List<String> processedItems = new ArrayList<>();
+        pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(mockAdapter)
+            .collectionPage(firstPage)
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .prefetchDepth(2)
+            .processPageItemCallback(item -> {
+                if (processedItems.isEmpty()) {
+                    try {
+                        assertTrue(prefetchedTwoPages.await(10, TimeUnit.SECONDS));
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                processedItems.add(item.getSubject());
+                return !item.getSubject().equals("First 1");
+            })
+            .build();
+
+        pageIterator.iterate();
+        assertEquals(PageIterator.PageIteratorState.PAUSED, pageIterator.getPageIteratorState());
+        assertEquals(Arrays.asList("First 0", "First 1"), processedItems);
+
+        pageIterator.resume();
+        assertEquals(PageIterator.PageIteratorState.COMPLETE, pageIterator.getPageIteratorState());
+        assertEquals(Arrays.asList("First 0", "First 1", "First 2", "Second 0", "Second 1", "Second 2", "Third 0", "Third 1", "Third 2"), processedItems);
+        assertEquals(Arrays.asList("http://localhost/events?$skip=3", "http://localhost/events?$skip=6"), requestedPages);
+    }
+    @Test
+    void given_Concurrent_Item_Processing_It_Processes_All_Items_Within_Concurrency_Limit() throws Exception {
+        RequestAdapter mockAdapter = createPagedAdapter();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Set<String> processedItems = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+                .requestAdapter(mockAdapter)
+                .collectionPage(createPage("First", 3, "http://localhost/events?$skip=3"))
+                .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+                .processPageItemsConcurrently(executor, 3, false)
+                .processPageItemCallback(item -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    processedItems.add(item.getSubject());
+                    inFlight.decrementAndGet();
+                    return true;
+                })
+                .build();
+
+            pageIterator.iterate();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(9, processedItems.size());
+        assertTrue(maxInFlight.get() > 1 && maxInFlight.get() <= 3);
+        assertEquals(0, inFlight.get());
+        assertEquals(PageIterator.PageIteratorState.COMPLETE, pageIterator.getPageIteratorState());
+    }
+    @Test
+    void given_Ordered_Concurrent_Item_Processing_It_Pauses_When_Callback_Returns_False() throws Exception {
+        RequestAdapter mockAdapter = createPagedAdapter();
+        List<String> processedItems = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+                .requestAdapter(mockAdapter)
+                .collectionPage(createPage("First", 3, "http://localhost/events?$skip=3"))
+                .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+                .processPageItemsConcurrently(executor, 2, true)
+                .processPageItemCallback(item -> {
+                    processedItems.add(item.getSubject());
+                    return !item.getSubject().equals("Second 1") || processedItems.contains("Third 0");
+                })
+                .build();
+
+            pageIterator.iterate();
+            assertEquals(PageIterator.PageIteratorState.PAUSED, pageIterator.getPageIteratorState());
+            assertTrue(processedItems.containsAll(Arrays.asList("First 0", "First 1", "First 2", "Second 0", "Second 1")));
+            assertFalse(processedItems.contains("Third 0"));
+
+            pageIterator.resume();
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(9, processedItems.size());
+        assertEquals(9, new HashSet<>(processedItems).size());
+        assertEquals(PageIterator.PageIteratorState.COMPLETE, pageIterator.getPageIteratorState());
+    }
+    @Test
+    void given_Stream_It_Requests_Pages_Only_When_Items_Are_Consumed() throws Exception {
+        RequestAdapter mockAdapter = createPagedAdapter();
+        pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(mockAdapter)
+            .collectionPage(createPage("First", 3, "http://localhost/events?$skip=3"))
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .build();
+
+        List<String> firstItems = pageIterator.stream().limit(2).map(TestEventItem::getSubject).collect(Collectors.toList());
+        assertEquals(Arrays.asList("First 0", "First 1"), firstItems);
+        verify(mockAdapter, never()).send(any(RequestInformation.class), any(), any());
+
+        List<String> remainingItems = pageIterator.stream().map(TestEventItem::getSubject).collect(Collectors.toList());
+        assertEquals(Arrays.asList("First 2", "Second 0", "Second 1", "Second 2", "Third 0", "Third 1", "Third 2"), remainingItems);
+        verify(mockAdapter, times(2)).send(any(RequestInformation.class), any(), any());
+        assertEquals(PageIterator.PageIteratorState.COMPLETE, pageIterator.getPageIteratorState());
+        assertFalse(pageIterator.iterator().hasNext());
+    }
+    @Test
+    void given_Iterator_It_Shares_Its_Position_With_Callback_Iteration() throws Exception {
+        List<String> processedItems = new ArrayList<>();
+        pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(createPagedAdapter())
+            .collectionPage(createPage("First", 3, "http://localhost/events?$skip=3"))
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .processPageItemCallback(item -> processedItems.add(item.getSubject()))
+            .build();
+
+        Iterator<TestEventItem> iterator = pageIterator.iterator();
+        for (int i = 0; i < 4; i++) {
+            assertTrue(iterator.hasNext());
+            iterator.next();
+        }
+        assertEquals("http://localhost/events?$skip=3", pageIterator.getNextLink());
+
+        pageIterator.resume();
+        assertEquals(Arrays.asList("Second 1", "Second 2", "Third 0", "Third 1", "Third 2"), processedItems);
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+    @Test
+    void given_Next_Page_Accepted_While_Items_Are_Queued_It_Walks_Them_After_The_Queued_Items() throws Exception {
+        pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(createPagedAdapter())
+            .collectionPage(createPage("First", 3, "http://localhost/events?$skip=3"))
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .build();
+        Iterator<TestEventItem> iterator = pageIterator.iterator();
+        assertEquals("First 0", iterator.next().getSubject());
+
+        Response batchResponse = new Response.Builder()
+            .request(new Request.Builder().url("https://graph.microsoft.com/v1.0/$batch").build())
+            .protocol(Protocol.HTTP_1_1)
+            .code(200)
+            .message("OK")
+            .body(ResponseBody.create("{\"responses\":[{\"id\":\"1\",\"status\":200,\"headers\":{\"Content-Type\":\"application/json\"},"
+                + "\"body\":{\"value\":[{\"subject\":\"Second 0\"},{\"subject\":\"Second 1\"}]}}]}", MediaType.get(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+            .build();
+        pageIterator.acceptNextPage(new BatchResponseContent(batchResponse), "1");
+
+        List<String> remainingItems = pageIterator.stream().map(TestEventItem::getSubject).collect(Collectors.toList());
+        assertEquals(Arrays.asList("First 1", "First 2", "Second 0", "Second 1"), remainingItems);
+    }
+    @Test
+    void given_No_Callback_Iterate_Will_Throw_IllegalStateException() throws Exception {
+        pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(createPagedAdapter())
+            .collectionPage(createPage("First", 3, null))
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .build();
+
+        assertThrows(IllegalStateException.class, () -> pageIterator.iterate());
+        assertEquals(3, pageIterator.stream().count());
+    }
+    @Test
+    void given_Checkpoint_Store_It_Resumes_A_Paused_Iteration_In_A_New_PageIterator() throws Exception {
+        InMemoryPageIteratorCheckpointStore checkpointStore = new InMemoryPageIteratorCheckpointStore();
+        List<String> processedItems = new ArrayList<>();
+        pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(createPagedAdapter())
+            .collectionPage(createPage("First", 3, "http://localhost/events?$skip=3"))
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .checkpointStore(checkpointStore, "events")
+            .processPageItemCallback(item -> {
+                processedItems.add(item.getSubject());
+                return !item.getSubject().equals("Second 1");
+            })
+            .build();
+        pageIterator.iterate();
+
+        PageIteratorCheckpoint checkpoint = checkpointStore.load("events");
+        assertNotNull(checkpoint);
+        assertEquals("http://localhost/events?$skip=3", checkpoint.getNextLink());
+        assertEquals(2, checkpoint.getItemOffset());
+
+        RequestAdapter resumedAdapter = createPagedAdapter();
+        List<String> resumedItems = new ArrayList<>();
+        PageIterator<TestEventItem, TestEventsResponse> resumedIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(resumedAdapter)
+            .collectionPage(createPage("First", 3, "http://localhost/events?$skip=3"))
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .checkpointStore(checkpointStore, "events")
+            .processPageItemCallback(item -> resumedItems.add(item.getSubject()))
+            .build();
+        resumedIterator.iterate();
+
+        assertEquals(Arrays.asList("First 0", "First 1", "First 2", "Second 0", "Second 1"), processedItems);
+        assertEquals(Arrays.asList("Second 2", "Third 0", "Third 1", "Third 2"), resumedItems);
+        assertEquals(PageIterator.PageIteratorState.COMPLETE, resumedIterator.getPageIteratorState());
+        assertNull(checkpointStore.load("events"));
+    }
+    @Test
+    void given_Paused_Iteration_It_Resumes_From_The_Same_Item_Without_Modifying_The_Pages() throws Exception {
+        TestEventsResponse firstPage = createPage("First", 3, "http://localhost/events?$skip=3");
+        List<String> processedItems = new ArrayList<>();
+        Set<String> pauseAfterItems = new HashSet<>(Arrays.asList("First 1", "Third 0"));
+        pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(createPagedAdapter())
+            .collectionPage(firstPage)
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .processPageItemCallback(item -> {
+                processedItems.add(item.getSubject());
+                return !pauseAfterItems.remove(item.getSubject());
+            })
+            .build();
+
+        pageIterator.iterate();
+        assertEquals(Arrays.asList("First 0", "First 1"), processedItems);
+        pageIterator.resume();
+        assertEquals(Arrays.asList("First 0", "First 1", "First 2", "Second 0", "Second 1", "Second 2", "Third 0"), processedItems);
+        pageIterator.resume();
+        assertEquals(PageIterator.PageIteratorState.COMPLETE, pageIterator.getPageIteratorState());
+        assertEquals(9, processedItems.size());
+        assertEquals(3, firstPage.getValue().size());
+    }
+    @Test
+    void given_Adaptive_Page_Size_It_Sets_Top_On_Follow_Up_Requests_And_Backs_Off_When_Throttled() throws Exception {
+        List<String> requestedPages = new ArrayList<>();
+        AtomicBoolean throttled = new AtomicBoolean();
+        RequestAdapter mockAdapter = mock(RequestAdapter.class);
+        when(mockAdapter.send(any(RequestInformation.class), any(), any())).thenAnswer(invocation -> {
+            RequestInformation requestInformation = invocation.getArgument(0);
+            requestedPages.add(requestInformation.urlTemplate);
+            if (requestInformation.urlTemplate.startsWith("http://localhost/events?$skip=6") && throttled.compareAndSet(false, true)) {
+                throw new ApiExceptionBuilder().withMessage("Too many requests").withResponseStatusCode(429).build();
+            }
+            return requestInformation.urlTemplate.startsWith("http://localhost/events?$skip=3") ?
+                createPage("Second", 4, "http://localhost/events?$skip=6&$top=4") : createPage("Third", 2, null);
+        });
+        pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(mockAdapter)
+            .collectionPage(createPage("First", 3, "http://localhost/events?$skip=3"))
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .adaptivePageSize(2, 4)
+            .processPageItemCallback(item -> true)
+            .build();
+
+        assertThrows(ApiException.class, () -> pageIterator.iterate());
+        pageIterator.iterate();
+
+        assertEquals(PageIterator.PageIteratorState.COMPLETE, pageIterator.getPageIteratorState());
+        assertEquals(3, requestedPages.size());
+        assertEquals("http://localhost/events?$skip=3&$top=3", requestedPages.get(0));
+        assertEquals("http://localhost/events?$skip=6&$top=4", requestedPages.get(1));
+        assertEquals("http://localhost/events?$skip=6&$top=2", requestedPages.get(2));
+    }
+    @Test
+    void given_Page_Request_Retry_It_Retries_Throttled_Pages_After_Retry_After() throws Exception {
+        ResponseHeaders retryAfterHeaders = new ResponseHeaders();
+        retryAfterHeaders.add("Retry-After", "0");
+        AtomicInteger failuresLeft = new AtomicInteger(2);
+        List<String> requestedPages = new ArrayList<>();
+        RequestAdapter mockAdapter = mock(RequestAdapter.class);
+        when(mockAdapter.send(any(RequestInformation.class), any(), any())).thenAnswer(invocation -> {
+            RequestInformation requestInformation = invocation.getArgument(0);
+            requestedPages.add(requestInformation.urlTemplate);
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new ApiExceptionBuilder().withMessage("Service unavailable").withResponseStatusCode(503).withResponseHeaders(retryAfterHeaders).build();
+            }
+            return createPage("Second", 2, "http://localhost/events?$skip=3");
+        });
+        List<String> processedItems = new ArrayList<>();
+        pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(mockAdapter)
+            .collectionPage(createPage("First", 3, "http://localhost/events?$skip=3"))
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .retryPageRequests(2, Duration.ofMinutes(1))
+            .processPageItemCallback(item -> processedItems.add(item.getSubject()))
+            .build();
+
+        ApiException loopException = assertThrows(ApiException.class, () -> pageIterator.iterate());
+        assertTrue(loopException.getMessage().startsWith("Detected a nextLink loop"));
+        assertEquals(3, requestedPages.size());
+        assertEquals(Arrays.asList("First 0", "First 1", "First 2"), processedItems);
+
+        failuresLeft.set(3);
+        pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(mockAdapter)
+            .collectionPage(createPage("First", 3, "http://localhost/events?$skip=3"))
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .retryPageRequests(2, Duration.ofMinutes(1))
+            .processPageItemCallback(item -> true)
+            .build();
+        CompletionException throttledException = assertThrows(CompletionException.class, () -> pageIterator.iterateAsync().join());
+        assertEquals(503, ((ApiException) throttledException.getCause()).getResponseStatusCode());
+        assertEquals(6, requestedPages.size());
+    }
+    @Test
+    void given_Page_Request_Retry_Discarding_Prefetched_Pages_Cancels_The_Retried_Attempt() throws Exception {
+        ResponseHeaders retryAfterHeaders = new ResponseHeaders();
+        retryAfterHeaders.add("Retry-After", "0");
+        List<CompletableFuture<TestEventsResponse>> attempts = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch retried = new CountDownLatch(1);
+        BaseGraphRequestAdapter mockAdapter = mock(BaseGraphRequestAdapter.class);
+        when(mockAdapter.sendAsync(any(RequestInformation.class), any(), any())).thenAnswer(invocation -> {
+            CompletableFuture<TestEventsResponse> attempt = new CompletableFuture<>();
+            if (attempts.isEmpty()) {
+                attempt.completeExceptionally(new ApiExceptionBuilder().withMessage("Service unavailable").withResponseStatusCode(503).withResponseHeaders(retryAfterHeaders).build());
+            } else {
+                retried.countDown();
+            }
+            attempts.add(attempt);
+            return attempt;
+        });
+        pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(mockAdapter)
+            .collectionPage(createPage("First", 3, "http://localhost/events?$skip=3"))
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .prefetchDepth(1)
+            .retryPageRequests(3, Duration.ofMinutes(1))
+            .processPageItemCallback(item -> {
+                try {
+                    assertTrue(retried.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return false;
+            })
+            .build();
+
+        pageIterator.iterate();
+        pageIterator.discardPrefetchedPages();
+
+        assertEquals(PageIterator.PageIteratorState.PAUSED, pageIterator.getPageIteratorState());
+        assertEquals(2, attempts.size());
+        assertTrue(attempts.get(1).isCancelled());
+    }
+    @Test
+    void given_Chained_Prefetch_Discarding_Prefetched_Pages_Keeps_It_From_Requesting_Its_Page() throws Exception {
+        List<CompletableFuture<TestEventsResponse>> pageRequests = Collections.synchronizedList(new ArrayList<>());
+        BaseGraphRequestAdapter mockAdapter = mock(BaseGraphRequestAdapter.class);
+        when(mockAdapter.sendAsync(any(RequestInformation.class), any(), any())).thenAnswer(invocation -> {
+            //The response of a request already received on another thread can't be canceled anymore
+            CompletableFuture<TestEventsResponse> pageRequest = new CompletableFuture<TestEventsResponse>() {
+                @Override
+                public boolean cancel(boolean mayInterruptIfRunning) {
+                    return false;
+                }
+            };
+            pageRequests.add(pageRequest);
+            return pageRequest;
+        });
+        pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(mockAdapter)
+            .collectionPage(createPage("First", 3, "http://localhost/events?$skip=3"))
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .prefetchDepth(2)
+            .processPageItemCallback(item -> false)
+            .build();
+
+        pageIterator.iterate();
+        pageIterator.discardPrefetchedPages();
+        assertEquals(1, pageRequests.size());
+        pageRequests.get(0).complete(createPage("Second", 3, "http://localhost/events?$skip=6"));
+
+        assertEquals(PageIterator.PageIteratorState.PAUSED, pageIterator.getPageIteratorState());
+        assertEquals(1, pageRequests.size());
+    }
+    private static RequestAdapter createPagedAdapter() {
+        Map<String, TestEventsResponse> nextPages = new HashMap<>();
+        nextPages.put("http://localhost/events?$skip=3", createPage("Second", 3, "http://localhost/events?$skip=6"));
+        nextPages.put("http://localhost/events?$skip=6", createPage("Third", 3, null));
+        RequestAdapter mockAdapter = mock(RequestAdapter.class);
+        when(mockAdapter.send(any(RequestInformation.class), any(), any())).thenAnswer(invocation -> {
+            RequestInformation requestInformation = invocation.getArgument(0);
+            return nextPages.get(requestInformation.urlTemplate);
+        });
+        return mockAdapter;
+    }
+    private static TestEventsResponse createPage(String name, int itemCount, String nextLink) {
+        TestEventsResponse page = new TestEventsResponse();
+        page.setValue(new LinkedList<>());
+        page.setOdataNextLink(nextLink);
+        for(int i = 0; i < itemCount; i++) {
+            TestEventItem testEventItem = new TestEventItem();
+            testEventItem.setSubject(name + " " + i);
+            page.getValue().add(testEventItem);
+        }
+        return page;
+    }
+    @Test
+    void given_CollectionPage_Classes_It_Caches_Their_Accessors_And_Falls_Back_To_Reflection() throws ReflectiveOperationException {
+        TestEventsResponse publicPage = createPage("Public", 2, null);
+        List<TestEventItem> publicItems = PageIterator.extractEntityListFromParsable(publicPage);
+        PageIterator.CollectionPageAccessors publicAccessors = PageIterator.getCollectionPageAccessors(TestEventsResponse.class);
+        assertNotNull(publicAccessors);
+        assertSame(publicPage.getValue(), publicItems);
+        PageIterator.extractEntityListFromParsable(createPage("Public", 1, null));
+        assertSame(publicAccessors, PageIterator.getCollectionPageAccessors(TestEventsResponse.class));
+
+        //The getter of a non public class can't be reached through a public method handle, the accessor invokes the method instead
+        NonPublicEventsResponse nonPublicPage = new NonPublicEventsResponse();
+        nonPublicPage.value = publicPage.getValue();
+        List<TestEventItem> nonPublicItems = PageIterator.extractEntityListFromParsable(nonPublicPage);
+        assertSame(nonPublicPage.value, nonPublicItems);
+        assertSame(PageIterator.getCollectionPageAccessors(NonPublicEventsResponse.class), PageIterator.getCollectionPageAccessors(NonPublicEventsResponse.class));
+    }
+    @Test
     void given_CollectionPage_It_Detects_Next_Link_Loop() throws ReflectiveOperationException {
         TestEventsResponse originalPage = new TestEventsResponse();
         originalPage.setValue(new LinkedList<>());
@@ -399,7 +901,14 @@ class PageIteratorTest {
             mockResponse = response;
         }
 
+        @SuppressWarnings("unchecked")
         public <T extends Parsable> T send(@Nonnull RequestInformation request, @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings, @Nonnull ParsableFactory<T> parsableFactory) {
             return (T) this.mockResponse;
         }
     }
+    class NonPublicEventsResponse extends BaseCollectionPaginationCountResponse {
+        List<TestEventItem> value;
+        public List<TestEventItem> getValue() {
+            return value;
+        }
+    }
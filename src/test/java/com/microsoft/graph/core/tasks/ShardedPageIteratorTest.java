@@ -0,0 +1,145 @@
+package com.microsoft.graph.core.tasks;
+
+import com.microsoft.graph.core.testModels.TestEventItem;
+import com.microsoft.graph.core.testModels.TestEventsDeltaResponse;
+import com.microsoft.kiota.HttpMethod;
+import com.microsoft.kiota.RequestAdapter;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.serialization.ParsableFactory;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ShardedPageIteratorTest {
+    private static final String EVENTS_URL = "https://graph.microsoft.com/v1.0/me/events/delta";
+
+    @Test
+    void iteratesShardsInParallelAndCapturesDeltaLinkPerShard() throws Exception {
+        RequestAdapter requestAdapter = mock(RequestAdapter.class);
+        when(requestAdapter.send(any(RequestInformation.class), any(), ArgumentMatchers.<ParsableFactory<TestEventsDeltaResponse>>any())).thenAnswer(invocation -> {
+            String url = ((RequestInformation) invocation.getArgument(0)).urlTemplate;
+            if (url.endsWith("?shard=a")) {
+                return createPage("a first", EVENTS_URL + "?shard=a&$skip=2", null);
+            } else if (url.endsWith("?shard=a&$skip=2")) {
+                return createPage("a second", null, EVENTS_URL + "?deltatoken=a1");
+            } else if (url.endsWith("?shard=b")) {
+                return createPage("b first", null, EVENTS_URL + "?deltatoken=b1");
+            } else if (url.endsWith("?deltatoken=a1")) {
+                return createPage("a delta", null, EVENTS_URL + "?deltatoken=a2");
+            }
+            throw new IllegalStateException("Unexpected request " + url);
+        });
+
+        Set<String> processedItems = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ShardedPageIterator<TestEventItem, TestEventsDeltaResponse> shardedPageIterator = new ShardedPageIterator.Builder<TestEventItem, TestEventsDeltaResponse>()
+                .requestAdapter(requestAdapter)
+                .collectionPageFactory(TestEventsDeltaResponse::createFromDiscriminatorValue)
+                .shards(Arrays.asList("a", "b"), ShardedPageIteratorTest::createShardRequest)
+                .processPageItemCallback(item -> processedItems.add(item.getSubject()))
+                .executor(executor, 2)
+                .build();
+
+            shardedPageIterator.iterate();
+
+            assertEquals(6, processedItems.size());
+            assertEquals(PageIterator.PageIteratorState.DELTA, shardedPageIterator.getShardStates().get("a"));
+            assertEquals(PageIterator.PageIteratorState.DELTA, shardedPageIterator.getShardStates().get("b"));
+            Map<String, String> deltaLinks = shardedPageIterator.getDeltaLinks();
+            assertEquals(EVENTS_URL + "?deltatoken=a1", deltaLinks.get("a"));
+            assertEquals(EVENTS_URL + "?deltatoken=b1", deltaLinks.get("b"));
+
+            processedItems.clear();
+            ShardedPageIterator<TestEventItem, TestEventsDeltaResponse> deltaRound = new ShardedPageIterator.Builder<TestEventItem, TestEventsDeltaResponse>()
+                .requestAdapter(requestAdapter)
+                .collectionPageFactory(TestEventsDeltaResponse::createFromDiscriminatorValue)
+                .shards(Collections.singletonList("a"), ShardedPageIteratorTest::createShardRequest)
+                .processPageItemCallback(item -> processedItems.add(item.getSubject()))
+                .executor(executor, 1)
+                .deltaLinks(Collections.singletonMap("a", deltaLinks.get("a")))
+                .build();
+
+            deltaRound.iterate();
+
+            assertEquals(2, processedItems.size());
+            assertTrue(processedItems.contains("a delta 1"));
+            assertEquals(EVENTS_URL + "?deltatoken=a2", deltaRound.getDeltaLinks().get("a"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+    @Test
+    void stopsStartingShardsAfterAFailure() {
+        RequestAdapter requestAdapter = mock(RequestAdapter.class);
+        when(requestAdapter.send(any(RequestInformation.class), any(), ArgumentMatchers.<ParsableFactory<TestEventsDeltaResponse>>any())).thenThrow(new IllegalStateException("Shard failed"));
+        ShardedPageIterator<TestEventItem, TestEventsDeltaResponse> shardedPageIterator = new ShardedPageIterator.Builder<TestEventItem, TestEventsDeltaResponse>()
+            .requestAdapter(requestAdapter)
+            .collectionPageFactory(TestEventsDeltaResponse::createFromDiscriminatorValue)
+            .shards(Arrays.asList("a", "b"), ShardedPageIteratorTest::createShardRequest)
+            .processPageItemCallback(item -> true)
+            .executor(Runnable::run, 1)
+            .build();
+
+        assertThrows(IllegalStateException.class, shardedPageIterator::iterate);
+        assertEquals(PageIterator.PageIteratorState.NOT_STARTED, shardedPageIterator.getShardStates().get("b"));
+        assertThrows(IllegalArgumentException.class, () -> new ShardedPageIterator.Builder<TestEventItem, TestEventsDeltaResponse>().executor(Runnable::run, 0));
+    }
+    @Test
+    void iteratesDuplicateShardKeysOnce() throws Exception {
+        RequestAdapter requestAdapter = mock(RequestAdapter.class);
+        List<String> requestedUrls = Collections.synchronizedList(new LinkedList<>());
+        when(requestAdapter.send(any(RequestInformation.class), any(), ArgumentMatchers.<ParsableFactory<TestEventsDeltaResponse>>any())).thenAnswer(invocation -> {
+            String url = ((RequestInformation) invocation.getArgument(0)).urlTemplate;
+            requestedUrls.add(url);
+            return createPage(url.substring(url.indexOf("?shard=") + "?shard=".length()), null, EVENTS_URL + "?deltatoken=1");
+        });
+        List<String> processedItems = Collections.synchronizedList(new LinkedList<>());
+        ShardedPageIterator<TestEventItem, TestEventsDeltaResponse> shardedPageIterator = new ShardedPageIterator.Builder<TestEventItem, TestEventsDeltaResponse>()
+            .requestAdapter(requestAdapter)
+            .collectionPageFactory(TestEventsDeltaResponse::createFromDiscriminatorValue)
+            .shards(Arrays.asList("a", "b", "a"), ShardedPageIteratorTest::createShardRequest)
+            .processPageItemCallback(item -> processedItems.add(item.getSubject()))
+            .executor(Runnable::run, 3)
+            .build();
+
+        shardedPageIterator.iterate();
+
+        assertEquals(Arrays.asList("a", "b"), shardedPageIterator.getShardKeys());
+        assertEquals(Arrays.asList(EVENTS_URL + "?shard=a", EVENTS_URL + "?shard=b"), requestedUrls);
+        assertEquals(4, processedItems.size());
+    }
+    private static RequestInformation createShardRequest(String shardKey) {
+        RequestInformation requestInformation = new RequestInformation();
+        requestInformation.httpMethod = HttpMethod.GET;
+        requestInformation.urlTemplate = EVENTS_URL + "?shard=" + shardKey;
+        return requestInformation;
+    }
+    private static TestEventsDeltaResponse createPage(String subject, String nextLink, String deltaLink) {
+        TestEventsDeltaResponse page = new TestEventsDeltaResponse();
+        List<TestEventItem> items = new LinkedList<>();
+        for (int i = 0; i < 2; i++) {
+            TestEventItem item = new TestEventItem();
+            item.setSubject(subject + " " + i);
+            items.add(item);
+        }
+        page.setValue(items);
+        page.setOdataNextLink(nextLink);
+        page.setOdataDeltaLink(deltaLink);
+        return page;
+    }
+}